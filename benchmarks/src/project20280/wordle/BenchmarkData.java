@@ -0,0 +1,45 @@
+package project20280.wordle;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/*
+ * Inputs shared by the JMH benchmarks: the two bundled dictionaries and fixed random samples of
+ * their words, so every run (and every fork) measures the same words.
+ */
+
+final class BenchmarkData {
+    static final String REGULAR = "project20280/wordle/resources/dictionary.txt";
+    static final String EXTENDED = "project20280/wordle/resources/extended-dictionary.txt";
+    static final long SEED = 20280;
+
+    private BenchmarkData() {}
+
+    /**
+     * Returns a sample of size distinct dictionary indices (all of them if size is larger),
+     * always the same for a given dictionary and size.
+     */
+    static int[] sample(int dictionarySize, int size, long seed) {
+        int[] indices = new int[dictionarySize];
+        for (int i = 0; i < indices.length; i++) indices[i] = i;
+        Random rand = new Random(seed);
+        int n = Math.min(size, dictionarySize);
+        for (int i = 0; i < n; i++) { // partial Fisher-Yates shuffle
+            int j = i + rand.nextInt(indices.length - i);
+            int t = indices[i];
+            indices[i] = indices[j];
+            indices[j] = t;
+        }
+        int[] sample = Arrays.copyOf(indices, n);
+        Arrays.sort(sample); // keep dictionary order
+        return sample;
+    }
+
+    static List<String> words(List<String> dictionary, int[] indices) {
+        List<String> words = new ArrayList<>(indices.length);
+        for (int i : indices) words.add(dictionary.get(i));
+        return words;
+    }
+}
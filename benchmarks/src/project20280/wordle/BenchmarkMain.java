@@ -0,0 +1,36 @@
+package project20280.wordle;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/*
+ * Runs the JMH benchmarks and writes the results as JSON, so runs before and after a change
+ * can be compared (e.g. with https://jmh.morethan.io).
+ *
+ * Takes the usual JMH command line options, for example:
+ *   java project20280.wordle.BenchmarkMain                   (everything, results in jmh-result.json)
+ *   java project20280.wordle.BenchmarkMain Filter -p candidates=100 -rff before.json
+ */
+
+public class BenchmarkMain {
+    static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cmd = new CommandLineOptions(args);
+        OptionsBuilder options = new OptionsBuilder();
+        options.parent(cmd);
+        if (cmd.getIncludes().isEmpty()) options.include("project20280\\.wordle\\..*Benchmark");
+        if (!cmd.getResultFormat().hasValue()) options.resultFormat(ResultFormatType.JSON);
+        if (!cmd.getResult().hasValue()) options.result(DEFAULT_RESULT_FILE);
+
+        try {
+            new Runner(options.build()).run();
+        } catch (RunnerException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
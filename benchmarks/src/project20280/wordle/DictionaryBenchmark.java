@@ -0,0 +1,51 @@
+package project20280.wordle;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Cost of loading a dictionary: readDictionary on the text file, and opening the same words
+ * compiled to a memory-mapped .wdict file (see DictionaryCompiler).
+ */
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DictionaryBenchmark {
+
+    @Param({BenchmarkData.REGULAR, BenchmarkData.EXTENDED})
+    public String dictionary;
+
+    private Wordle wordle;
+    private Path compiled;
+
+    @Setup
+    public void setup() throws IOException {
+        wordle = new Wordle(dictionary);
+        compiled = Files.createTempFile("benchmark", MappedDictionary.EXTENSION);
+        DictionaryCompiler.compile(wordle.getDictionary(), compiled);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(compiled);
+    }
+
+    @Benchmark
+    public List<String> readDictionary() {
+        return wordle.readDictionary(dictionary);
+    }
+
+    @Benchmark
+    public List<String> readMappedDictionary() {
+        return wordle.readDictionary(compiled.toString());
+    }
+}
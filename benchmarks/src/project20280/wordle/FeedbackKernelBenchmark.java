@@ -0,0 +1,73 @@
+package project20280.wordle;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Cost of one pattern matrix row without the matrix: the hints for one guess against every answer.
+ *  -> pairwise: Feedback.compute on the char arrays, one pair at a time (the old way)
+ *  -> kernel:   a FeedbackKernel on packed words, "scalar" or "vector" (Vector API)
+ * The fork runs with the incubator module so both kernels can be measured.
+ */
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class FeedbackKernelBenchmark {
+    private static final int GUESSES = 64; // power of two, see next()
+
+    @Param({BenchmarkData.REGULAR, BenchmarkData.EXTENDED})
+    public String dictionary;
+
+    @Param({"scalar", "vector"})
+    public String kernelName;
+
+    private FeedbackKernel kernel;
+    private char[][] answerChars;
+    private int[] answers;
+    private char[][] guessChars = new char[GUESSES][];
+    private final int[] guesses = new int[GUESSES];
+    private int[] codes;
+    private int next = 0;
+
+    @Setup
+    public void setup() {
+        kernel = FeedbackKernel.byName(kernelName);
+        if (kernel == null) throw new IllegalStateException("Kernel not available: " + kernelName);
+        List<String> words = new Wordle(dictionary).getDictionary();
+        answerChars = new char[words.size()][];
+        answers = new int[words.size()];
+        for (int a = 0; a < answers.length; a++) {
+            answerChars[a] = words.get(a).toCharArray();
+            answers[a] = PackedWord.pack(words.get(a));
+        }
+        int[] sample = BenchmarkData.sample(words.size(), GUESSES, BenchmarkData.SEED + 5);
+        for (int i = 0; i < GUESSES; i++) {
+            guessChars[i] = words.get(sample[i]).toCharArray();
+            guesses[i] = PackedWord.pack(words.get(sample[i]));
+        }
+        codes = new int[answers.length];
+    }
+
+    private int next() {
+        return next++ & (GUESSES - 1);
+    }
+
+    @Benchmark
+    public int[] kernel() {
+        kernel.compute(guesses[next()], answers, answers.length, Feedback.WORD_LENGTH, codes);
+        return codes;
+    }
+
+    @Benchmark
+    public int[] pairwise() {
+        char[] guess = guessChars[next()];
+        for (int a = 0; a < answers.length; a++) codes[a] = Feedback.compute(guess, answerChars[a]);
+        return codes;
+    }
+}
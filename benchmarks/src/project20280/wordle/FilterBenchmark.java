@@ -0,0 +1,76 @@
+package project20280.wordle;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Cost of removing the candidates that don't match a hint, for different numbers of candidates:
+ * the bitset ConstraintIndex filter against scanning a word list and comparing patterns.
+ * A candidates value larger than the dictionary means the whole dictionary.
+ */
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class FilterBenchmark {
+    private static final int HINTS = 256; // power of two, see next()
+
+    @Param({BenchmarkData.REGULAR, BenchmarkData.EXTENDED})
+    public String dictionary;
+
+    @Param({"10", "100", "1000", "100000"})
+    public int candidates;
+
+    private ConstraintIndex index;
+    private CandidateSet start;       // the candidates before the hint
+    private CandidateSet filtered;    // reused output of the bitset filter
+    private List<String> startWords;  // the same candidates as a list
+    private final List<String> kept = new ArrayList<>();
+    private final String[] guesses = new String[HINTS];
+    private final int[] patterns = new int[HINTS];
+    private int next = 0;
+
+    @Setup
+    public void setup() {
+        Wordle wordle = new Wordle(dictionary);
+        List<String> words = wordle.getDictionary();
+        index = wordle.getConstraintIndex();
+
+        int[] sample = BenchmarkData.sample(words.size(), candidates, BenchmarkData.SEED);
+        start = new CandidateSet(words.size());
+        for (int i : sample) start.add(i);
+        filtered = start.copy();
+        startWords = BenchmarkData.words(words, sample);
+
+        // hints a player could get: any guess against one of the candidates
+        int[] g = BenchmarkData.sample(words.size(), HINTS, BenchmarkData.SEED + 2);
+        for (int i = 0; i < HINTS; i++) {
+            guesses[i] = words.get(g[i % g.length]);
+            patterns[i] = Feedback.compute(guesses[i], startWords.get((i * 31) % startWords.size()));
+        }
+    }
+
+    @Benchmark
+    public CandidateSet bitsetFilter() {
+        int i = next++ & (HINTS - 1);
+        filtered.copyFrom(start);
+        index.applyHint(guesses[i], patterns[i], filtered);
+        return filtered;
+    }
+
+    @Benchmark
+    public List<String> scanFilter() {
+        int i = next++ & (HINTS - 1);
+        kept.clear();
+        for (String word : startWords) {
+            if (Feedback.compute(guesses[i], word) == patterns[i]) kept.add(word);
+        }
+        return kept;
+    }
+}
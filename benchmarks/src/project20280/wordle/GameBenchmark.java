@@ -0,0 +1,55 @@
+package project20280.wordle;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Cost of a whole simulated game: a BitsetSolver (reset between games) plays against each target
+ * of a fixed sample in turn, guessing its own suggestion until it wins.
+ */
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class GameBenchmark {
+    private static final int TARGETS = 256; // power of two, see playGame()
+
+    @Param({BenchmarkData.REGULAR, BenchmarkData.EXTENDED})
+    public String dictionary;
+
+    @Param({"ENTROPY", "LETTER_FREQUENCY", "MINIMAX", "EXPECTED_SIZE"})
+    public RankingMode mode;
+
+    private PatternMatrix patterns;
+    private BitsetSolver solver;
+    private int[] targets;
+    private int next = 0;
+
+    @Setup
+    public void setup() {
+        Wordle wordle = new Wordle(dictionary);
+        patterns = wordle.getPatternMatrix();
+        solver = new BitsetSolver(wordle.getSolverTables(), mode);
+        solver.suggestIndex(); // ranks the opening guess once, outside the measurement
+        targets = BenchmarkData.sample(patterns.answerCount(), TARGETS, BenchmarkData.SEED + 3);
+    }
+
+    /**
+     * Returns the number of guesses it took.
+     */
+    @Benchmark
+    public int playGame() {
+        int target = targets[next++ & (TARGETS - 1)];
+        solver.reset();
+        for (int turn = 1; ; turn++) {
+            int guess = solver.suggestIndex();
+            int pattern = patterns.get(guess, target);
+            if (pattern == patterns.allGreen()) return turn;
+            solver.apply(guess, pattern);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package project20280.wordle;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Cost of one hint: Wordle.getHints (pattern matrix lookup), the pattern code on its own,
+ * computing it directly, and the original letter frequency hashmap version.
+ */
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class HintBenchmark {
+    private static final int PAIRS = 1024; // power of two, see next()
+
+    @Param({BenchmarkData.REGULAR, BenchmarkData.EXTENDED})
+    public String dictionary;
+
+    private Wordle wordle;
+    private final String[] guesses = new String[PAIRS];
+    private final String[] targets = new String[PAIRS];
+    private int next = 0;
+
+    @Setup
+    public void setup() {
+        wordle = new Wordle(dictionary);
+        wordle.getPatternMatrix(); // built here, not in the first measured call
+        List<String> words = wordle.getDictionary();
+        int[] g = BenchmarkData.sample(words.size(), PAIRS, BenchmarkData.SEED);
+        int[] t = BenchmarkData.sample(words.size(), PAIRS, BenchmarkData.SEED + 1);
+        for (int i = 0; i < PAIRS; i++) {
+            guesses[i] = words.get(g[i % g.length]);
+            targets[i] = words.get(t[(i * 7) % t.length]);
+        }
+    }
+
+    private int next() {
+        return next++ & (PAIRS - 1);
+    }
+
+    @Benchmark
+    public String[] getHints() {
+        int i = next();
+        return wordle.getHints(targets[i], guesses[i]);
+    }
+
+    @Benchmark
+    public int getPattern() {
+        int i = next();
+        return wordle.getPattern(targets[i], guesses[i]);
+    }
+
+    @Benchmark
+    public int computePattern() {
+        int i = next();
+        return Feedback.compute(guesses[i], targets[i]);
+    }
+
+    @Benchmark
+    public String[] getHintsByLetterFreq() {
+        int i = next();
+        return wordle.getHintsByLetterFreq(targets[i], guesses[i]);
+    }
+}
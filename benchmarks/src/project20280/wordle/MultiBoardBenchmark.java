@@ -0,0 +1,78 @@
+package project20280.wordle;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Turn latency of the multi-board solver (Quordle, Octordle). turn() measures the ranking after the
+ * opening guess, the most expensive turn (the opening itself is cached), on a fixed sample of
+ * target sets; playGame() plays a whole game and returns the number of guesses.
+ */
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class MultiBoardBenchmark {
+    private static final int GAMES = 16; // power of two, see nextGame()
+
+    @Param({BenchmarkData.REGULAR, BenchmarkData.EXTENDED})
+    public String dictionary;
+
+    @Param({"4", "8"})
+    public int boards;
+
+    private PatternMatrix patterns;
+    private MultiBoardSolver solver;
+    private int opening;
+    private int[][] targets;   // [game][board]
+    private int[][] feedback;  // [game][board] hints for the opening
+    private int next = 0;
+
+    @Setup
+    public void setup() {
+        Wordle wordle = new Wordle(dictionary);
+        patterns = wordle.getPatternMatrix();
+        solver = new MultiBoardSolver(wordle.getSolverTables(), boards);
+        opening = solver.suggestIndex(); // ranked once, outside the measurement
+
+        Random random = new Random(BenchmarkData.SEED + 4);
+        targets = new int[GAMES][boards];
+        feedback = new int[GAMES][boards];
+        for (int game = 0; game < GAMES; game++) {
+            for (int b = 0; b < boards; b++) {
+                targets[game][b] = random.nextInt(patterns.answerCount());
+                feedback[game][b] = patterns.get(opening, targets[game][b]);
+            }
+        }
+    }
+
+    private int nextGame() {
+        return next++ & (GAMES - 1);
+    }
+
+    @Benchmark
+    public int turn() {
+        int game = nextGame();
+        solver.reset();
+        solver.apply(opening, feedback[game]);
+        return solver.suggestIndex();
+    }
+
+    @Benchmark
+    public int playGame() {
+        int[] game = targets[nextGame()];
+        int[] hints = new int[boards];
+        solver.reset();
+        for (int turn = 1; ; turn++) {
+            int guess = solver.suggestIndex();
+            for (int b = 0; b < boards; b++) hints[b] = patterns.get(guess, game[b]);
+            solver.apply(guess, hints);
+            if (solver.unsolved() == 0) return turn;
+        }
+    }
+}
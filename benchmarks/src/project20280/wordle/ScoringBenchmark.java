@@ -0,0 +1,69 @@
+package project20280.wordle;
+
+import org.openjdk.jmh.annotations.*;
+
+import project20280.hashtable.ChainHashMap;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Cost of scoring the candidates after a turn, for different numbers of candidates:
+ * buildWordHashmap counting the letters from scratch or with kept LetterStatistics,
+ * and the entropy of every guess (single threaded below EntropyRanker.PARALLEL_THRESHOLD).
+ */
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ScoringBenchmark {
+
+    @Param({BenchmarkData.REGULAR, BenchmarkData.EXTENDED})
+    public String dictionary;
+
+    @Param({"10", "100", "1000", "100000"})
+    public int candidates;
+
+    private List<String> candidateWords;
+    private LetterStatistics letterStats;
+    private EntropyRanker ranker;
+    private int[] candidateIds;
+    private double[] scores;
+
+    @Setup
+    public void setup() {
+        Wordle wordle = new Wordle(dictionary);
+        List<String> words = wordle.getDictionary();
+        candidateIds = BenchmarkData.sample(words.size(), candidates, BenchmarkData.SEED);
+        candidateWords = BenchmarkData.words(words, candidateIds);
+
+        letterStats = new LetterStatistics(words);
+        CandidateSet all = wordle.getConstraintIndex().all();
+        CandidateSet kept = all.copy();
+        kept.clear();
+        for (int i : candidateIds) kept.add(i);
+        letterStats.removeAll(all, kept);
+
+        ranker = wordle.getEntropyRanker();
+        scores = new double[wordle.getPatternMatrix().guessCount()];
+    }
+
+    @Benchmark
+    public ChainHashMap<String, Integer> buildWordHashmap() {
+        return Wordle.buildWordHashmap(candidateWords);
+    }
+
+    @Benchmark
+    public ChainHashMap<String, Integer> buildWordHashmapIncremental() {
+        return Wordle.buildWordHashmap(candidateWords, letterStats);
+    }
+
+    @Benchmark
+    public double[] entropyScores() {
+        ranker.scoreAll(candidateIds, candidateIds.length, scores);
+        return scores;
+    }
+}
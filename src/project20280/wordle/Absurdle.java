@@ -0,0 +1,330 @@
+package project20280.wordle;
+
+import project20280.hashtable.ChainHashMap;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * Adversarial Wordle (as in Absurdle): there is no fixed target.
+ *
+ * After each guess the remaining candidates are split into groups by the hint (pattern code) each
+ * one would give, and the game keeps the largest group and shows its hint. Ties go to the lowest
+ * pattern code, so the all green hint is only shown once a single candidate is left and it is
+ * guessed. The groups are counted straight from the PatternMatrix, one lookup per candidate.
+ *
+ * The game is deterministic, so a list of guesses always plays out the same way, and
+ * shortestWin() searches for the fewest guesses that force a win:
+ *  -> iterative deepening: every sequence of 1 guess, then 2, ... up to a limit
+ *  -> a guess is dropped as soon as one of its groups is too big to be finished in the guesses
+ *     left (at most one candidate before the last guess, at most patternCount - 1 before that, ...)
+ *  -> candidate sets already shown to need more guesses are remembered and skipped
+ *  -> the first guesses are searched in parallel, and the result is the one with the first
+ *     opening in try order, so it is the same on any number of cores
+ */
+
+public final class Absurdle {
+    private final PatternMatrix patterns;
+    private final int[] candidates; // answer indices still possible
+    private final int[] scratch;
+    private final int[] counts;     // group sizes, all zeros between guesses
+    private int count;
+    private int turns;
+    private boolean won;
+
+    public Absurdle(PatternMatrix patterns) {
+        this.patterns = patterns;
+        this.candidates = new int[patterns.answerCount()];
+        this.scratch = new int[patterns.answerCount()];
+        this.counts = new int[patterns.patternCount()];
+        reset();
+    }
+
+    /**
+     * Starts a new game with every answer possible.
+     */
+    public void reset() {
+        for (int a = 0; a < candidates.length; a++) candidates[a] = a;
+        count = candidates.length;
+        turns = 0;
+        won = false;
+    }
+
+    /**
+     * Plays a guess: keeps the largest group of candidates and returns its pattern code.
+     */
+    public int guess(int g) {
+        if (won) throw new IllegalStateException("The game is already won.");
+        int pattern = largestGroup(patterns, g, candidates, count, counts, Integer.MAX_VALUE);
+        count = keep(patterns, g, pattern, candidates, count, scratch);
+        System.arraycopy(scratch, 0, candidates, 0, count);
+        turns++;
+        won = pattern == patterns.allGreen();
+        return pattern;
+    }
+
+    /**
+     * Same as {@link #guess(int)} for a word, which has to be in the dictionary.
+     */
+    public int guess(String word) {
+        int g = patterns.guessIndex(word);
+        if (g < 0) throw new IllegalArgumentException("The word " + word + " is not in the word list.");
+        return guess(g);
+    }
+
+    public boolean isWon() {
+        return won;
+    }
+
+    public int turns() {
+        return turns;
+    }
+
+    public int remaining() {
+        return count;
+    }
+
+    /**
+     * Returns the candidates left (answer indices) as a set.
+     */
+    public CandidateSet getCandidates() {
+        CandidateSet set = new CandidateSet(patterns.answerCount());
+        for (int i = 0; i < count; i++) set.add(candidates[i]);
+        return set;
+    }
+
+    /**
+     * Returns the pattern code of the largest group guess g splits the candidates into (ties to the
+     * lowest code), or -1 as soon as a group has more than limit candidates.
+     *
+     * @param counts scratch array of length patternCount(), must be all zeros (left all zeros)
+     */
+    static int largestGroup(PatternMatrix patterns, int g, int[] candidates, int count, int[] counts, int limit) {
+        PatternTable.Row row = patterns.row(g);
+        int best = -1, bestCount = 0;
+        int i = 0;
+        for (; i < count; i++) {
+            int p = row.get(candidates[i]);
+            int c = ++counts[p];
+            if (c > limit) {
+                i++;
+                best = -1;
+                break;
+            }
+            if (c > bestCount || (c == bestCount && p < best)) {
+                best = p;
+                bestCount = c;
+            }
+        }
+        for (int j = 0; j < i; j++) counts[row.get(candidates[j])] = 0;
+        return best;
+    }
+
+    // copies the candidates giving the pattern for guess g into dst, returns how many
+    static int keep(PatternMatrix patterns, int g, int pattern, int[] candidates, int count, int[] dst) {
+        PatternTable.Row row = patterns.row(g);
+        int n = 0;
+        for (int i = 0; i < count; i++) {
+            if (row.get(candidates[i]) == pattern) dst[n++] = candidates[i];
+        }
+        return n;
+    }
+
+    /**
+     * Returns the shortest list of guess indices that wins against the adversary, or null if it
+     * can't be won in maxGuesses. Searched in parallel on the common fork-join pool.
+     */
+    public static int[] shortestWin(PatternMatrix patterns, int maxGuesses) {
+        return shortestWin(patterns, maxGuesses, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Same as {@link #shortestWin(PatternMatrix, int)} on the given pool.
+     */
+    public static int[] shortestWin(PatternMatrix patterns, int maxGuesses, ForkJoinPool pool) {
+        Search search = new Search(patterns);
+        for (int guesses = 1; guesses <= maxGuesses; guesses++) {
+            int[] win = search.run(guesses, pool);
+            if (win != null) return win;
+        }
+        return null;
+    }
+
+    // The shared read-only part of a search: the opening order and the group size limits
+    private static class Search {
+        final PatternMatrix patterns;
+        final int[] all;        // every answer index
+        final int[] openings;   // first guesses, smallest largest group first
+        final int[] guesses;    // every guess index, leaving out repeats of a word
+        final int[] guessOf;    // answer index -> guess index of the same word
+
+        Search(PatternMatrix patterns) {
+            this.patterns = patterns;
+            this.all = new int[patterns.answerCount()];
+            for (int a = 0; a < all.length; a++) all[a] = a;
+            this.guessOf = new int[all.length];
+            for (int a = 0; a < all.length; a++) guessOf[a] = patterns.guessIndex(patterns.answer(a));
+
+            int distinct = 0;
+            int[] guesses = new int[patterns.guessCount()];
+            for (int g = 0; g < guesses.length; g++) {
+                if (patterns.guessIndex(patterns.guess(g)) == g) guesses[distinct++] = g;
+            }
+            this.guesses = Arrays.copyOf(guesses, distinct);
+
+            // sorted by the size of the group the adversary keeps, then guess index
+            int[] counts = new int[patterns.patternCount()];
+            long[] keyed = new long[this.guesses.length];
+            for (int i = 0; i < keyed.length; i++) {
+                int g = this.guesses[i];
+                int pattern = largestGroup(patterns, g, all, all.length, counts, Integer.MAX_VALUE);
+                PatternTable.Row row = patterns.row(g);
+                int size = 0;
+                for (int a : all) if (row.get(a) == pattern) size++;
+                keyed[i] = ((long) size << 32) | g;
+            }
+            Arrays.sort(keyed);
+            this.openings = new int[keyed.length];
+            for (int i = 0; i < openings.length; i++) openings[i] = (int) keyed[i];
+        }
+
+        // the most candidates that can still be won with the given number of guesses
+        long limit(int guesses) {
+            long limit = 1;
+            for (int k = 1; k < guesses && limit < all.length; k++) limit *= patterns.patternCount() - 1;
+            return Math.min(limit, all.length);
+        }
+
+        int[] run(int guesses, ForkJoinPool pool) {
+            int[][] wins = new int[openings.length][];
+            AtomicInteger firstWin = new AtomicInteger(openings.length); // lowest opening position with a win
+            pool.invoke(new OpeningTask(this, guesses, 0, openings.length, wins, firstWin));
+            int first = firstWin.get();
+            return first < openings.length ? wins[first] : null;
+        }
+    }
+
+    // Searches the openings in [from, to), splitting the range in half until it is small
+    @SuppressWarnings("serial")
+    private static class OpeningTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        final Search search;
+        final int guesses, from, to;
+        final int[][] wins;
+        final AtomicInteger firstWin;
+
+        OpeningTask(Search search, int guesses, int from, int to, int[][] wins, AtomicInteger firstWin) {
+            this.search = search;
+            this.guesses = guesses;
+            this.from = from;
+            this.to = to;
+            this.wins = wins;
+            this.firstWin = firstWin;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 8) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new OpeningTask(search, guesses, from, mid, wins, firstWin),
+                        new OpeningTask(search, guesses, mid, to, wins, firstWin));
+                return;
+            }
+            Solver solver = new Solver(search, guesses);
+            for (int i = from; i < to && i < firstWin.get(); i++) {
+                int[] win = solver.solve(search.openings[i]);
+                if (win == null) continue;
+                wins[i] = win;
+                firstWin.accumulateAndGet(i, Math::min);
+                return; // the later openings in this range can't be first
+            }
+        }
+    }
+
+    // Depth-first search below one opening, with its own arrays and memory of lost positions
+    private static class Solver {
+        final Search search;
+        final PatternMatrix patterns;
+        final int[] path;
+        final int[][] levels;     // candidates at each depth
+        final int[] counts;
+        final ChainHashMap<CandidateSet, Integer> lost = new ChainHashMap<>(); // candidates -> most guesses known not to be enough
+
+        Solver(Search search, int guesses) {
+            this.search = search;
+            this.patterns = search.patterns;
+            this.path = new int[guesses];
+            this.levels = new int[guesses + 1][patterns.answerCount()];
+            this.counts = new int[patterns.patternCount()];
+        }
+
+        int[] solve(int opening) {
+            System.arraycopy(search.all, 0, levels[0], 0, search.all.length);
+            return play(0, search.all.length, opening) ? path.clone() : null;
+        }
+
+        // plays guess g at the depth and tries to finish from there
+        private boolean play(int depth, int count, int g) {
+            int left = path.length - depth - 1; // guesses left after this one
+            int pattern = largestGroup(patterns, g, levels[depth], count, counts, (int) search.limit(left));
+            if (pattern < 0) return false;
+            path[depth] = g;
+            if (pattern == patterns.allGreen()) return depth == path.length - 1; // won (exactly here)
+            if (left == 0) return false;
+            int next = keep(patterns, g, pattern, levels[depth], count, levels[depth + 1]);
+            return finish(depth + 1, next);
+        }
+
+        // tries every guess at the depth for the candidates there
+        private boolean finish(int depth, int count) {
+            int left = path.length - depth;
+            if (left == 1) return count == 1 && play(depth, count, search.guessOf[levels[depth][0]]);
+
+            CandidateSet key = null;
+            if (count > 1) {
+                key = new CandidateSet(patterns.answerCount());
+                for (int i = 0; i < count; i++) key.add(levels[depth][i]);
+                Integer known = lost.get(key);
+                if (known != null && known >= left) return false;
+            }
+            for (int g : search.guesses) {
+                if (play(depth, count, g)) return true;
+            }
+            if (key != null) lost.put(key, left);
+            return false;
+        }
+    }
+
+    /**
+     * Prints the shortest forcing win for a dictionary.
+     * Usage: java project20280.wordle.Absurdle --dictionary=... --max=6
+     */
+    public static void main(String[] args) {
+        String dictionary = Wordle.DEFAULT_DICTIONARY;
+        int max = 6;
+        for (String arg : args) {
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (arg.startsWith("--dictionary=")) dictionary = value;
+            else if (arg.startsWith("--max=")) max = Integer.parseInt(value);
+            else throw new IllegalArgumentException("Unknown argument: " + arg);
+        }
+
+        PatternMatrix patterns = new Wordle(dictionary).getPatternMatrix();
+        long start = System.nanoTime();
+        int[] win = shortestWin(patterns, max);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        if (win == null) {
+            System.out.printf("No win in %d guesses (%.1f s)%n", max, seconds);
+            return;
+        }
+        Absurdle game = new Absurdle(patterns);
+        for (int g : win) {
+            int pattern = game.guess(g);
+            System.out.println(patterns.guess(g) + " " + Feedback.toString(pattern, patterns.wordLength()) + " " + game.remaining());
+        }
+        System.out.printf("Won in %d guesses (%.1f s, %d threads)%n", win.length, seconds, ForkJoinPool.getCommonPoolParallelism());
+    }
+}
@@ -0,0 +1,96 @@
+package project20280.wordle;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AbsurdleTest {
+    private static final List<String> WORDS = List.of("abbey", "kebab", "babes", "kayak", "lobby", "hobby", "cabby", "gabby");
+
+    @Test
+    void testKeepsLargestGroup() {
+        PatternMatrix patterns = new PatternMatrix(WORDS);
+        Absurdle game = new Absurdle(patterns);
+        int pattern = game.guess("kayak");
+
+        // the group kept is the largest one, every candidate in it gives the hint shown
+        int size = 0;
+        for (String word : WORDS) if (Feedback.compute("kayak", word) == pattern) size++;
+        for (String word : WORDS) {
+            int other = Feedback.compute("kayak", word);
+            int otherSize = 0;
+            for (String w : WORDS) if (Feedback.compute("kayak", w) == other) otherSize++;
+            assertTrue(otherSize < size || (otherSize == size && other >= pattern), word);
+        }
+        assertEquals(size, game.remaining());
+        assertFalse(game.isWon());
+    }
+
+    @Test
+    void testOnlyWonWhenCornered() {
+        PatternMatrix patterns = new PatternMatrix(WORDS);
+        Absurdle game = new Absurdle(patterns);
+        for (String word : WORDS) {
+            if (game.isWon()) break;
+            int pattern = game.guess(word);
+            // the all green hint only comes once a single word is left
+            assertEquals(pattern == patterns.allGreen(), game.isWon());
+            if (game.isWon()) assertEquals(1, game.remaining());
+        }
+        assertTrue(game.isWon());
+        assertThrows(IllegalStateException.class, () -> game.guess("abbey"));
+
+        game.reset();
+        assertEquals(WORDS.size(), game.remaining());
+        assertThrows(IllegalArgumentException.class, () -> game.guess("zzzzz"));
+    }
+
+    // the fewest guesses to win, by trying every sequence
+    private static int bruteForce(PatternMatrix patterns, Absurdle game, int[] played, int depth, int max) {
+        if (depth == max) return Integer.MAX_VALUE;
+        int best = Integer.MAX_VALUE;
+        for (int g = 0; g < patterns.guessCount(); g++) {
+            game.reset();
+            for (int i = 0; i < depth; i++) game.guess(played[i]);
+            game.guess(g);
+            if (game.isWon()) return depth + 1;
+            played[depth] = g;
+            best = Math.min(best, bruteForce(patterns, game, played, depth + 1, max));
+        }
+        return best;
+    }
+
+    @Test
+    void testShortestWinMatchesBruteForce() {
+        PatternMatrix patterns = new PatternMatrix(WORDS);
+        int[] win = Absurdle.shortestWin(patterns, 6);
+        assertNotNull(win);
+        assertEquals(bruteForce(patterns, new Absurdle(patterns), new int[4], 0, 4), win.length);
+
+        Absurdle game = new Absurdle(patterns);
+        for (int g : win) game.guess(g);
+        assertTrue(game.isWon());
+        assertNull(Absurdle.shortestWin(patterns, win.length - 1));
+    }
+
+    @Test
+    void testSameWinOnAnyNumberOfThreads() {
+        PatternMatrix patterns = new Wordle().getPatternMatrix();
+        int[] one, three;
+        try (ForkJoinPool pool = new ForkJoinPool(1)) {
+            one = Absurdle.shortestWin(patterns, 4, pool);
+        }
+        try (ForkJoinPool pool = new ForkJoinPool(3)) {
+            three = Absurdle.shortestWin(patterns, 4, pool);
+        }
+        assertNotNull(one);
+        assertArrayEquals(one, three);
+
+        Absurdle game = new Absurdle(patterns);
+        for (int g : one) game.guess(g);
+        assertTrue(game.isWon());
+    }
+}
@@ -0,0 +1,238 @@
+package project20280.wordle;
+
+import java.util.Arrays;
+
+/*
+ * The WordleSolver used by the game and the benchmark.
+ *
+ * The candidates are a bitset filtered with the ConstraintIndex, and the next guess is ranked by
+ * one of the RankingModes. In hard mode only guesses that use every hint so far are ranked (see
+ * HardModeConstraints). Everything that depends only on the dictionary comes from a shared
+ * SolverTables; the per-game state (candidate bitsets and letter counts) is allocated once in the
+ * constructor and overwritten by reset(), and the arrays for ranking are borrowed from the tables,
+ * so playing a turn does not allocate (except while the entropy ranking is large enough to use
+ * all cores).
+ *
+ * With -Dwordle.metrics=true the filter, score and rank times of every turn and the candidates
+ * left are recorded in SolverMetrics.GLOBAL.
+ *
+ * The guesses and hints so far are kept too, so a game can be saved with snapshot() and picked up
+ * again with restore() (see SessionSnapshot).
+ */
+
+public class BitsetSolver implements WordleSolver {
+    private final SolverTables tables;
+    private final RankingMode mode;
+    private final PatternMatrix patterns;
+    private final ConstraintIndex index;
+    private final EntropyRanker ranker;            // only in entropy mode
+    private final PartitionRanker partitionRanker; // only in minimax and expected size mode
+    private final LetterStatistics allLetterStats; // only in letter frequency mode
+
+    private final CandidateSet candidates;
+    private final CandidateSet previous;    // candidates before the last hint
+    private final LetterStatistics letterStats;
+    private HardModeConstraints hardMode = null; // null unless playing in hard mode
+    private int[] guessHistory = new int[8];     // guess index of each turn (-1 for a word not in the list)
+    private int[] patternHistory = new int[8];
+    private int turn = 0;
+    private int suggestion = -1;            // guess index of the current suggestion, -1 if not ranked yet
+
+    public BitsetSolver(SolverTables tables, RankingMode mode) {
+        this.tables = tables;
+        this.mode = mode;
+        this.patterns = tables.getPatternMatrix();
+        this.index = tables.getConstraintIndex();
+        this.ranker = mode == RankingMode.ENTROPY ? tables.getEntropyRanker() : null;
+        this.partitionRanker = mode == RankingMode.MINIMAX || mode == RankingMode.EXPECTED_SIZE ? tables.getPartitionRanker() : null;
+        this.allLetterStats = mode == RankingMode.LETTER_FREQUENCY ? tables.getLetterStatistics() : null;
+
+        this.candidates = index.all();
+        this.previous = index.all();
+        this.letterStats = allLetterStats == null ? null : allLetterStats.copy();
+    }
+
+    @Override
+    public String suggest() {
+        return patterns.guess(suggestIndex());
+    }
+
+    /**
+     * Same as {@link #suggest()}, as an index into the pattern matrix guesses.
+     */
+    public int suggestIndex() {
+        if (suggestion < 0) {
+            if (candidates.isEmpty()) throw new IllegalStateException("No word matches the hints given.");
+            suggestion = turn == 0 ? tables.openingGuess(mode, this::rank) : rank();
+        }
+        return suggestion;
+    }
+
+    @Override
+    public void apply(String guess, int feedback) {
+        long start = SolverMetrics.ENABLED ? System.nanoTime() : 0;
+        previous.copyFrom(candidates);
+        index.applyHint(guess, feedback, candidates);
+        if (SolverMetrics.ENABLED) {
+            SolverMetrics.GLOBAL.recordFilter(System.nanoTime() - start);
+            SolverMetrics.GLOBAL.recordCandidates(turn, candidates.size());
+        }
+        if (hardMode != null) hardMode.apply(guess, feedback);
+        if (letterStats != null) letterStats.removeAll(previous, candidates);
+        if (turn == guessHistory.length) {
+            guessHistory = Arrays.copyOf(guessHistory, 2 * turn);
+            patternHistory = Arrays.copyOf(patternHistory, 2 * turn);
+        }
+        guessHistory[turn] = patterns.guessIndex(guess);
+        patternHistory[turn] = feedback;
+        turn++;
+        suggestion = -1;
+    }
+
+    /**
+     * Same as {@link #apply(String, int)} for a guess given by its index.
+     */
+    public void apply(int guess, int feedback) {
+        apply(patterns.guess(guess), feedback);
+    }
+
+    @Override
+    public void reset() {
+        candidates.fill();
+        if (letterStats != null) letterStats.copyFrom(allLetterStats);
+        if (hardMode != null) hardMode.reset();
+        turn = 0;
+        suggestion = -1;
+    }
+
+    @Override
+    public int remaining() {
+        return candidates.size();
+    }
+
+    /**
+     * Returns the words that still match every hint (read only, changed by apply and reset).
+     */
+    public CandidateSet getCandidates() {
+        return candidates;
+    }
+
+    /**
+     * Returns the letter counts over the candidates (read only), null unless in letter frequency mode.
+     */
+    public LetterStatistics getLetterStatistics() {
+        return letterStats;
+    }
+
+    /**
+     * Turns hard mode on or off. Do this before the first guess of a game (or after reset()).
+     */
+    public void setHardMode(boolean on) {
+        hardMode = on ? new HardModeConstraints(tables.getGuessConstraintIndex()) : null;
+        suggestion = -1;
+    }
+
+    /**
+     * Returns the hard mode constraints of the game so far, or null if not in hard mode.
+     */
+    public HardModeConstraints getHardModeConstraints() {
+        return hardMode;
+    }
+
+    /**
+     * Returns true if the word is in the dictionary and, in hard mode, uses every hint so far.
+     */
+    public boolean isLegal(String guess) {
+        int g = patterns.guessIndex(guess);
+        return g >= 0 && (hardMode == null || hardMode.isLegal(g));
+    }
+
+    /**
+     * Saves the game so far: the guesses and hints, hard mode and the candidates left.
+     *
+     * @throws IllegalStateException if a guess was not in the word list
+     */
+    public SessionSnapshot snapshot() {
+        for (int t = 0; t < turn; t++) {
+            if (guessHistory[t] < 0) throw new IllegalStateException("Can't save a game with a guess that is not in the word list.");
+        }
+        return new SessionSnapshot(patterns.fingerprint(), hardMode != null, Arrays.copyOf(guessHistory, turn),
+                Arrays.copyOf(patternHistory, turn), candidates.copy());
+    }
+
+    /**
+     * Picks up a saved game where it was left, in place of the current one.
+     *
+     * @throws IllegalArgumentException if the snapshot was taken with a different dictionary
+     */
+    public void restore(SessionSnapshot snapshot) {
+        if (snapshot.fingerprint() != patterns.fingerprint() || snapshot.getCandidates().universe() != candidates.universe()) {
+            throw new IllegalArgumentException("The saved game was played with a different dictionary.");
+        }
+        int turns = snapshot.turns();
+        for (int t = 0; t < turns; t++) {
+            if (snapshot.guess(t) < 0 || snapshot.guess(t) >= patterns.guessCount()) {
+                throw new IllegalArgumentException("The saved game has a guess that is not in the word list.");
+            }
+        }
+        setHardMode(snapshot.isHardMode());
+        reset();
+        candidates.copyFrom(snapshot.getCandidates());
+        if (letterStats != null) letterStats.removeAll(index.all(), candidates);
+        if (turns > guessHistory.length) {
+            guessHistory = new int[turns];
+            patternHistory = new int[turns];
+        }
+        for (int t = 0; t < turns; t++) {
+            guessHistory[t] = snapshot.guess(t);
+            patternHistory[t] = snapshot.pattern(t);
+            if (hardMode != null) hardMode.apply(patterns.guess(guessHistory[t]), patternHistory[t]);
+        }
+        turn = turns;
+    }
+
+    public RankingMode getRankingMode() {
+        return mode;
+    }
+
+    private int rank() {
+        if (ranker != null || partitionRanker != null) {
+            CandidateSet allowed = hardMode == null ? null : hardMode.legalGuesses();
+            SolverTables.Scratch scratch = tables.borrowScratch();
+            try {
+                long start = SolverMetrics.ENABLED ? System.nanoTime() : 0;
+                int count = candidates.toArray(scratch.candidateIds());
+                if (partitionRanker != null) { // scores and picks the best in one search
+                    int best = partitionRanker.bestGuess(mode, scratch.candidateIds(), count, candidates, allowed);
+                    if (SolverMetrics.ENABLED) SolverMetrics.GLOBAL.recordScore(System.nanoTime() - start);
+                    return best;
+                }
+                ranker.scoreAll(scratch.candidateIds(), count, scratch.scores(), allowed);
+                long scored = SolverMetrics.ENABLED ? System.nanoTime() : 0;
+                int best = ranker.bestGuess(scratch.scores(), candidates);
+                if (SolverMetrics.ENABLED) {
+                    SolverMetrics.GLOBAL.recordScore(scored - start);
+                    SolverMetrics.GLOBAL.recordRank(System.nanoTime() - scored);
+                }
+                return best;
+            } finally {
+                tables.release(scratch);
+            }
+        }
+
+        // letter frequency: the candidate whose letters are most common among the candidates
+        // (a candidate matches every hint, so it is always legal in hard mode)
+        long start = SolverMetrics.ENABLED ? System.nanoTime() : 0;
+        int best = -1;
+        int bestScore = -1;
+        for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+            int score = letterStats.score(i);
+            if (score > bestScore) {
+                best = i;
+                bestScore = score;
+            }
+        }
+        if (SolverMetrics.ENABLED) SolverMetrics.GLOBAL.recordScore(System.nanoTime() - start);
+        return patterns.guessIndex(patterns.answer(best));
+    }
+}
@@ -0,0 +1,138 @@
+package project20280.wordle;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BitsetSolverTest {
+
+    // plays one game with the solver's suggestions, returns the number of guesses
+    private static int play(WordleSolver solver, String target) {
+        solver.reset();
+        for (int turn = 1; turn <= 20; turn++) {
+            String guess = solver.suggest();
+            int pattern = Feedback.compute(guess, target);
+            if (pattern == Feedback.ALL_GREEN) return turn;
+            solver.apply(guess, pattern);
+        }
+        return fail("no win for " + target);
+    }
+
+    @Test
+    void testSolvesTargets() {
+        SolverTables tables = new SolverTables(new Wordle().getDictionary());
+        for (RankingMode mode : RankingMode.values()) {
+            WordleSolver solver = new BitsetSolver(tables, mode);
+            for (String target : List.of("lobby", "kayak", "crane", "fungi", "abbey")) {
+                assertTrue(play(solver, target) <= 20, mode + " " + target);
+            }
+        }
+    }
+
+    @Test
+    void testSeparateGuessList() {
+        List<String> dictionary = new Wordle().getDictionary();
+        List<String> answers = dictionary.subList(0, 300);
+        List<String> allowed = new Wordle("project20280/wordle/resources/extended-dictionary.txt").getDictionary();
+        SolverTables tables = new SolverTables(answers, allowed, null, PatternStorage.heap());
+        assertEquals(answers, tables.getGuesses().subList(0, answers.size())); // the answers come first
+        assertTrue(tables.getGuesses().size() > allowed.size() / 2);
+
+        PatternMatrix patterns = tables.getPatternMatrix();
+        assertEquals(300, patterns.answerCount());
+        for (RankingMode mode : RankingMode.values()) {
+            BitsetSolver solver = new BitsetSolver(tables, mode);
+            solver.setHardMode(mode == RankingMode.ENTROPY);
+            for (int target = 0; target < answers.size(); target += 23) {
+                solver.reset();
+                int turns = 1;
+                int guess = solver.suggestIndex();
+                while (patterns.get(guess, target) != patterns.allGreen()) {
+                    assertTrue(solver.isLegal(patterns.guess(guess)));
+                    solver.apply(guess, patterns.get(guess, target));
+                    guess = solver.suggestIndex();
+                    assertTrue(++turns <= 8, mode + " " + answers.get(target));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testApplyAndReset() {
+        SolverTables tables = new SolverTables(List.of("abbey", "kebab", "babes", "kayak", "lobby"));
+        BitsetSolver solver = new BitsetSolver(tables, RankingMode.LETTER_FREQUENCY);
+        assertEquals(5, solver.remaining());
+
+        solver.apply("kebab", new String[]{"_", "o", "+", "o", "o"});
+        assertEquals(2, solver.remaining()); // abbey and babes
+        assertEquals(4, solver.getLetterStatistics().letterCount('b')); // letter counts follow the candidates
+
+        solver.apply("kebab", Feedback.ALL_GREEN - 1); // nothing gives this hint
+        assertEquals(0, solver.remaining());
+        assertThrows(IllegalStateException.class, solver::suggest);
+
+        solver.reset();
+        assertEquals(5, solver.remaining());
+        assertEquals(tables.getLetterStatistics().letterCount('b'), solver.getLetterStatistics().letterCount('b'));
+    }
+
+    @Test
+    void testMatchesBenchmark() {
+        // the same guesses as ranking with the plain candidate array (EntropyRanker.bestGuess)
+        Wordle wordle = new Wordle();
+        PatternMatrix patterns = wordle.getPatternMatrix();
+        EntropyRanker ranker = wordle.getEntropyRanker();
+        BitsetSolver solver = new BitsetSolver(wordle.getSolverTables(), RankingMode.ENTROPY);
+        assertEquals("raise", solver.suggest());
+
+        for (int target = 0; target < patterns.answerCount(); target += 97) {
+            solver.reset();
+            int[] candidates = new int[patterns.answerCount()];
+            for (int a = 0; a < candidates.length; a++) candidates[a] = a;
+            int count = candidates.length;
+            for (int turn = 0; turn < 10 && count > 0; turn++) {
+                int guess = ranker.bestGuess(candidates, count);
+                assertEquals(guess, solver.suggestIndex(), patterns.answer(target));
+                int pattern = patterns.get(guess, target);
+                if (pattern == Feedback.ALL_GREEN) break;
+                solver.apply(guess, pattern);
+                int kept = 0;
+                for (int i = 0; i < count; i++) {
+                    if (patterns.get(guess, candidates[i]) == pattern) candidates[kept++] = candidates[i];
+                }
+                count = kept;
+                assertEquals(count, solver.remaining());
+            }
+        }
+    }
+
+    @Test
+    void testSteadyStateDoesNotAllocate() {
+        Wordle wordle = new Wordle();
+        PatternMatrix patterns = wordle.getPatternMatrix();
+        BitsetSolver solver = new BitsetSolver(wordle.getSolverTables(), RankingMode.ENTROPY);
+        int[] targets = {patterns.answerIndex("lobby"), patterns.answerIndex("kayak"), patterns.answerIndex("fungi")};
+        for (int i = 0; i < 3; i++) for (int target : targets) playGame(solver, patterns, target); // warm up
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().threadId();
+        long before = threads.getThreadAllocatedBytes(thread);
+        for (int target : targets) playGame(solver, patterns, target);
+        long allocated = threads.getThreadAllocatedBytes(thread) - before;
+        assertTrue(allocated < 1024, allocated + " bytes allocated");
+    }
+
+    // after the (shared) opening guess at most a few hundred regular dictionary words are left,
+    // which is below EntropyRanker.PARALLEL_THRESHOLD, so every turn here is steady state
+    private static void playGame(BitsetSolver solver, PatternMatrix patterns, int target) {
+        solver.reset();
+        int guess = solver.suggestIndex();
+        while (patterns.get(guess, target) != Feedback.ALL_GREEN) {
+            solver.apply(guess, patterns.get(guess, target));
+            guess = solver.suggestIndex();
+        }
+    }
+}
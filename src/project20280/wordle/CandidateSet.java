@@ -0,0 +1,166 @@
+package project20280.wordle;
+
+import java.util.Arrays;
+
+/*
+ * A set of word indices stored as a bitset (one bit per word of the dictionary, 64 words per long).
+ *
+ * Filtering and intersecting candidate sets works a whole long (64 words) at a time,
+ * which is what the ConstraintIndex relies on to apply a hint without looking at any strings.
+ */
+
+public class CandidateSet {
+    private final long[] bits;
+    private final int universe; // number of words the set can contain (indices 0..universe-1)
+
+    /**
+     * Creates an empty set for word indices 0..universe-1.
+     */
+    public CandidateSet(int universe) {
+        this.universe = universe;
+        this.bits = new long[wordCount(universe)];
+    }
+
+    /**
+     * Creates a set containing every word index 0..universe-1.
+     */
+    public static CandidateSet all(int universe) {
+        CandidateSet set = new CandidateSet(universe);
+        set.fill();
+        return set;
+    }
+
+    static int wordCount(int universe) {
+        return (universe + 63) >>> 6;
+    }
+
+    /**
+     * Adds every word index to the set.
+     */
+    public void fill() {
+        Arrays.fill(bits, -1L);
+        int tail = universe & 63;
+        if (tail != 0) bits[bits.length - 1] = (1L << tail) - 1; // clear the bits past the last word
+    }
+
+    public void clear() {
+        Arrays.fill(bits, 0L);
+    }
+
+    public void add(int index) {
+        bits[index >>> 6] |= 1L << index;
+    }
+
+    public void remove(int index) {
+        bits[index >>> 6] &= ~(1L << index);
+    }
+
+    public boolean contains(int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Keeps only the words that are also in the mask.
+     */
+    public void and(long[] mask) {
+        for (int i = 0; i < bits.length; i++) bits[i] &= mask[i];
+    }
+
+    /**
+     * Removes the words that are in the mask.
+     */
+    public void andNot(long[] mask) {
+        for (int i = 0; i < bits.length; i++) bits[i] &= ~mask[i];
+    }
+
+    /**
+     * Keeps only the words that are also in the other set (e.g. to combine boards).
+     */
+    public void and(CandidateSet other) {
+        and(other.bits);
+    }
+
+    public void or(CandidateSet other) {
+        for (int i = 0; i < bits.length; i++) bits[i] |= other.bits[i];
+    }
+
+    /**
+     * Makes this set a copy of another set over the same universe.
+     */
+    public void copyFrom(CandidateSet other) {
+        System.arraycopy(other.bits, 0, bits, 0, bits.length);
+    }
+
+    public CandidateSet copy() {
+        CandidateSet copy = new CandidateSet(universe);
+        copy.copyFrom(this);
+        return copy;
+    }
+
+    /**
+     * Returns the number of words in the set.
+     */
+    public int size() {
+        int count = 0;
+        for (long word : bits) count += Long.bitCount(word);
+        return count;
+    }
+
+    public boolean isEmpty() {
+        for (long word : bits) {
+            if (word != 0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the first index in the set that is >= from, or -1 if there is none.
+     */
+    public int nextSetBit(int from) {
+        if (from >= universe) return -1;
+        int i = from >>> 6;
+        long word = bits[i] & (-1L << from);
+        while (true) {
+            if (word != 0) return (i << 6) + Long.numberOfTrailingZeros(word);
+            if (++i == bits.length) return -1;
+            word = bits[i];
+        }
+    }
+
+    /**
+     * Writes the indices in the set, in increasing order, into dst.
+     *
+     * @return the number of indices written
+     */
+    public int toArray(int[] dst) {
+        int n = 0;
+        for (int i = 0; i < bits.length; i++) {
+            long word = bits[i];
+            while (word != 0) {
+                dst[n++] = (i << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1; // clear the lowest set bit
+            }
+        }
+        return n;
+    }
+
+    public int universe() {
+        return universe;
+    }
+
+    // raw access for ConstraintIndex
+    long[] bits() {
+        return bits;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof CandidateSet other)) return false;
+        return universe == other.universe && Arrays.equals(bits, other.bits);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(bits);
+    }
+}
@@ -0,0 +1,156 @@
+package project20280.wordle;
+
+import java.util.List;
+
+/*
+ * Bitset index over a word list for applying hints without scanning the words.
+ *
+ * For every (position, letter) there is a mask of the words with that letter in that position,
+ * and for every (letter, k) a mask of the words containing that letter at least k times.
+ * A hint then turns into a handful of AND / AND NOT operations on a CandidateSet:
+ *  -> green at position i:      AND     (i, letter)
+ *  -> yellow or grey at i:      AND NOT (i, letter)   (otherwise it would have been green)
+ *  -> letter shown k times as green/yellow:    AND     (letter, >= k)
+ *  -> ... and also grey somewhere in the guess: AND NOT (letter, >= k+1)  (exactly k copies)
+ * Together these keep exactly the words that would have produced the same hint.
+ *
+ * The same four operations are public (requireAt, excludeAt, requireAtLeast, excludeAtLeast), so
+ * other constraints than hints can be applied too, e.g. the queries of WordQuery.
+ */
+
+public class ConstraintIndex {
+    static final int LETTERS = 26;
+
+    private final int wordLength;
+    private final int size;
+    private final long[][] positionLetter; // [position * 26 + letter]
+    private final long[][] minCount;       // [letter * wordLength + (k - 1)], words with >= k copies of letter
+
+    /**
+     * Builds the index over the words, which must all have the same length.
+     *
+     * @throws IllegalArgumentException if a word has anything but the letters a-z, or the lengths differ
+     */
+    public ConstraintIndex(List<String> words) {
+        this(words.toArray(new String[0]), Feedback.wordLength(words));
+    }
+
+    ConstraintIndex(String[] words, int wordLength) {
+        for (String word : words) {
+            for (int k = 0; k < word.length(); k++) {
+                char c = word.charAt(k);
+                if (c < 'a' || c > 'z') throw new IllegalArgumentException("Not a lowercase word: " + word);
+            }
+        }
+        this.wordLength = wordLength;
+        this.size = words.length;
+        int longs = CandidateSet.wordCount(size);
+        positionLetter = new long[wordLength * LETTERS][longs];
+        minCount = new long[LETTERS * wordLength][longs];
+
+        int[] letterCount = new int[LETTERS];
+        for (int w = 0; w < size; w++) {
+            String word = words[w];
+            long bit = 1L << w;
+            for (int k = 0; k < wordLength; k++) {
+                int letter = word.charAt(k) - 'a';
+                positionLetter[k * LETTERS + letter][w >>> 6] |= bit;
+                letterCount[letter]++;
+                minCount[letter * wordLength + letterCount[letter] - 1][w >>> 6] |= bit;
+            }
+            for (int k = 0; k < wordLength; k++) letterCount[word.charAt(k) - 'a'] = 0;
+        }
+    }
+
+    /**
+     * Removes from the candidates every word that would not have produced this hint for the guess.
+     *
+     * @param guess      the guessed word
+     * @param pattern    the hint as a pattern code (see Feedback)
+     * @param candidates the candidate set to filter in place
+     */
+    public void applyHint(String guess, int pattern, CandidateSet candidates) {
+        // positional constraints
+        int code = pattern;
+        for (int k = 0; k < wordLength; k++, code /= 3) {
+            if (code % 3 == Feedback.GREEN) requireAt(k, guess.charAt(k), candidates);
+            else excludeAt(k, guess.charAt(k), candidates);
+        }
+
+        // letter count constraints, once per distinct letter of the guess
+        for (int k = 0; k < wordLength; k++) {
+            char letter = guess.charAt(k);
+            if (guess.indexOf(letter) < k) continue; // already handled at its first position
+
+            int shown = 0;       // copies marked green or yellow
+            boolean grey = false; // a grey copy means the target has no more than 'shown' copies
+            code = pattern;
+            for (int j = 0; j < wordLength; j++, code /= 3) {
+                if (guess.charAt(j) != letter) continue;
+                if (code % 3 == Feedback.GREY) grey = true;
+                else shown++;
+            }
+            if (shown > 0) requireAtLeast(letter, shown, candidates);
+            if (grey) excludeAtLeast(letter, shown + 1, candidates);
+        }
+    }
+
+    /**
+     * Keeps the words with the letter at the position (0-based).
+     */
+    public void requireAt(int position, char letter, CandidateSet candidates) {
+        candidates.and(letterAt(position, letter));
+    }
+
+    /**
+     * Removes the words with the letter at the position (0-based).
+     */
+    public void excludeAt(int position, char letter, CandidateSet candidates) {
+        candidates.andNot(letterAt(position, letter));
+    }
+
+    /**
+     * Keeps the words with at least k copies of the letter (none if k is more than the word length).
+     */
+    public void requireAtLeast(char letter, int k, CandidateSet candidates) {
+        if (k > wordLength) candidates.clear();
+        else if (k > 0) candidates.and(atLeast(letter, k));
+    }
+
+    /**
+     * Removes the words with at least k copies of the letter (all of them if k is 0 or less).
+     */
+    public void excludeAtLeast(char letter, int k, CandidateSet candidates) {
+        if (k <= 0) candidates.clear();
+        else if (k <= wordLength) candidates.andNot(atLeast(letter, k));
+    }
+
+    /**
+     * Returns the mask of words with the given letter at the given position (0-based).
+     */
+    long[] letterAt(int position, char letter) {
+        return positionLetter[position * LETTERS + letter - 'a'];
+    }
+
+    /**
+     * Returns the mask of words containing the letter at least k times (1 <= k <= word length).
+     */
+    long[] atLeast(char letter, int k) {
+        return minCount[(letter - 'a') * wordLength + k - 1];
+    }
+
+    /**
+     * Returns a new set containing every word of the index.
+     */
+    public CandidateSet all() {
+        return CandidateSet.all(size);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int wordLength() {
+        return wordLength;
+    }
+}
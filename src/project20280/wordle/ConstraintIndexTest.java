@@ -0,0 +1,92 @@
+package project20280.wordle;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConstraintIndexTest {
+
+    @Test
+    void testCandidateSet() {
+        CandidateSet set = CandidateSet.all(130);
+        assertEquals(130, set.size());
+        assertFalse(set.contains(130 - 64 + 64)); // past the end
+        assertTrue(set.contains(129));
+
+        set.remove(0);
+        set.remove(64);
+        set.remove(129);
+        assertEquals(127, set.size());
+        assertEquals(1, set.nextSetBit(0));
+        assertEquals(65, set.nextSetBit(64));
+        assertEquals(-1, set.nextSetBit(129));
+
+        CandidateSet other = new CandidateSet(130);
+        other.add(1);
+        other.add(64);
+        other.add(100);
+        set.and(other);
+        int[] indices = new int[130];
+        assertEquals(2, set.toArray(indices));
+        assertEquals(1, indices[0]);
+        assertEquals(100, indices[1]);
+
+        set.clear();
+        assertTrue(set.isEmpty());
+    }
+
+    @Test
+    void testBadWords() {
+        assertThrows(IllegalArgumentException.class, () -> new ConstraintIndex(List.of("abbey", "Kebab")));
+        assertThrows(IllegalArgumentException.class, () -> new ConstraintIndex(List.of("abbey", "ke-ab")));
+        assertThrows(IllegalArgumentException.class, () -> new ConstraintIndex(List.of("abbey", "kebabs")));
+    }
+
+    @Test
+    void testApplyHint() {
+        List<String> words = List.of("abbey", "kebab", "babes", "keeps", "lobby", "kayak");
+        ConstraintIndex index = new ConstraintIndex(words);
+
+        // "kebab" against "abbey" gives _o+oo: abbey and babes fit
+        CandidateSet candidates = index.all();
+        index.applyHint("kebab", Feedback.compute("kebab", "abbey"), candidates);
+        assertEquals(2, candidates.size());
+        assertTrue(candidates.contains(0));
+        assertTrue(candidates.contains(2));
+
+        // "lobby" against "kayak" is all grey except the y: only kayak fits
+        candidates = index.all();
+        index.applyHint("lobby", Feedback.compute("lobby", "kayak"), candidates);
+        assertEquals(1, candidates.size());
+        assertTrue(candidates.contains(5));
+
+        // all grey for "fungi" rules nothing out here
+        candidates = index.all();
+        index.applyHint("fungi", 0, candidates);
+        assertEquals(words.size(), candidates.size());
+    }
+
+    @Test
+    void testMatchesPatternFilter() { // the bitset filter must keep exactly the words with the same pattern
+        Wordle wordle = new Wordle();
+        PatternMatrix patterns = wordle.getPatternMatrix();
+        ConstraintIndex index = wordle.getConstraintIndex();
+        int n = patterns.answerCount();
+
+        for (int g = 0; g < patterns.guessCount(); g += 7) {
+            String guess = patterns.guess(g);
+            for (int target = g % 11; target < n; target += 97) {
+                int pattern = patterns.get(g, target);
+                CandidateSet candidates = index.all();
+                index.applyHint(guess, pattern, candidates);
+
+                for (int a = 0; a < n; a++) {
+                    assertEquals(patterns.get(g, a) == pattern, candidates.contains(a),
+                            guess + " / " + patterns.answer(target) + " / " + patterns.answer(a));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package project20280.wordle;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/*
+ * Precomputed solver decisions for a fixed dictionary, following the entropy ranking (the only
+ * strategy trees are built for).
+ *
+ * For a given set of candidates the solver always picks the same guess, so the whole game can be
+ * worked out in advance: the root holds the opening guess, and each possible hint leads to a child
+ * node holding the next guess for the candidates left after that hint. At runtime the next guess
+ * is one array lookup per hint received, instead of re-ranking every guess each turn.
+ *
+ * Nodes are numbered in breadth-first order, so in the file the children of a node are simply the
+ * next unused node numbers and only their hint patterns need to be stored.
+ *
+ * File layout (big-endian, DataOutputStream):
+ *   int magic "WDTR", short format version, short ranking mode (always ENTROPY),
+ *   long dictionary fingerprint (PatternMatrix.fingerprint), int guess count, int answer count,
+ *   int node count, then per node: int guess index, byte child count, one byte pattern per child.
+ * Patterns are stored as bytes, so trees are only built for 5-letter words.
+ * Loading checks every field, so a corrupt or cut short file is an IOException rather than a
+ * tree that fails part-way through a game. The node count is checked against the file size before
+ * the node arrays are allocated, so a bad count can't ask for gigabytes.
+ */
+
+public class DecisionTree {
+    public static final String EXTENSION = ".wtree";
+    static final int MAGIC = 0x57445452; // "WDTR"
+    static final short VERSION = 1;
+    static final int NO_NODE = -1;
+    static final int HEADER_BYTES = 28; // magic, version, mode, fingerprint, guess, answer and node counts
+
+    private final long fingerprint;
+    private final int guessCount;
+    private final int answerCount;
+    private final int[] nodeGuess;  // guess index to play at each node
+    private final int[] childCount; // number of hints that lead somewhere from each node
+    private final int[] children;   // [node * NUM_PATTERNS + pattern] -> child node, or NO_NODE
+
+    private DecisionTree(long fingerprint, int guessCount, int answerCount,
+                         int[] nodeGuess, int[] childCount, int[] children) {
+        this.fingerprint = fingerprint;
+        this.guessCount = guessCount;
+        this.answerCount = answerCount;
+        this.nodeGuess = nodeGuess;
+        this.childCount = childCount;
+        this.children = children;
+    }
+
+    /**
+     * Builds the tree for every answer of the ranker's pattern matrix, following the entropy ranking.
+     * Subtrees are built in parallel on the common fork-join pool.
+     */
+    public static DecisionTree build(EntropyRanker ranker) {
+        PatternMatrix patterns = ranker.getPatternMatrix();
+        if (patterns.wordLength() != Feedback.WORD_LENGTH) {
+            throw new IllegalArgumentException("Decision trees are only built for " + Feedback.WORD_LENGTH + "-letter words");
+        }
+        int[] all = new int[patterns.answerCount()];
+        for (int a = 0; a < all.length; a++) all[a] = a;
+
+        BuildNode root = ForkJoinPool.commonPool().invoke(new BuildTask(ranker, all));
+        return flatten(root, patterns);
+    }
+
+    // one node of the tree while it is being built
+    private static class BuildNode {
+        int guess;
+        int[] patterns;       // hints that can follow this guess (not including a win)
+        BuildNode[] children; // subtree for each of those hints
+    }
+
+    @SuppressWarnings("serial")
+    private static class BuildTask extends RecursiveTask<BuildNode> {
+        private static final long serialVersionUID = 1L;
+
+        private final EntropyRanker ranker;
+        private final int[] candidates;
+
+        BuildTask(EntropyRanker ranker, int[] candidates) {
+            this.ranker = ranker;
+            this.candidates = candidates;
+        }
+
+        @Override
+        protected BuildNode compute() {
+            PatternMatrix patterns = ranker.getPatternMatrix();
+            BuildNode node = new BuildNode();
+            int only = candidates.length == 1 ? patterns.guessIndex(patterns.answer(candidates[0])) : -1;
+            node.guess = only >= 0 ? only : ranker.bestGuess(candidates, candidates.length);
+
+            // split the candidates by the hint they would give
+            int[] counts = new int[Feedback.NUM_PATTERNS];
+            patterns.countPatterns(node.guess, candidates, candidates.length, counts);
+            int[][] groups = new int[Feedback.NUM_PATTERNS][];
+            int numGroups = 0;
+            for (int p = 0; p < Feedback.NUM_PATTERNS; p++) {
+                if (counts[p] > 0 && p != Feedback.ALL_GREEN) {
+                    groups[p] = new int[counts[p]];
+                    numGroups++;
+                }
+                counts[p] = 0;
+            }
+            for (int a : candidates) {
+                int p = patterns.get(node.guess, a);
+                if (groups[p] != null) groups[p][counts[p]++] = a;
+            }
+
+            node.patterns = new int[numGroups];
+            node.children = new BuildNode[numGroups];
+            List<BuildTask> tasks = new ArrayList<>(numGroups);
+            for (int p = 0; p < Feedback.NUM_PATTERNS; p++) {
+                if (groups[p] == null) continue;
+                node.patterns[tasks.size()] = p;
+                tasks.add(new BuildTask(ranker, groups[p]));
+            }
+            invokeAll(tasks);
+            for (int i = 0; i < numGroups; i++) node.children[i] = tasks.get(i).join();
+            return node;
+        }
+    }
+
+    private static DecisionTree flatten(BuildNode root, PatternMatrix patterns) {
+        List<BuildNode> order = new ArrayList<>();
+        order.add(root);
+        for (int i = 0; i < order.size(); i++) { // breadth-first numbering
+            order.addAll(Arrays.asList(order.get(i).children));
+        }
+
+        int n = order.size();
+        int[] nodeGuess = new int[n];
+        int[] childCount = new int[n];
+        int[] children = new int[n * Feedback.NUM_PATTERNS];
+        Arrays.fill(children, NO_NODE);
+        int next = 1;
+        for (int i = 0; i < n; i++) {
+            BuildNode node = order.get(i);
+            nodeGuess[i] = node.guess;
+            childCount[i] = node.patterns.length;
+            for (int p : node.patterns) children[i * Feedback.NUM_PATTERNS + p] = next++;
+        }
+        return new DecisionTree(patterns.fingerprint(), patterns.guessCount(),
+                patterns.answerCount(), nodeGuess, childCount, children);
+    }
+
+    public int root() {
+        return 0;
+    }
+
+    /**
+     * Returns the guess index to play at a node.
+     */
+    public int guess(int node) {
+        return nodeGuess[node];
+    }
+
+    /**
+     * Returns the node reached from a node after receiving a hint, or NO_NODE if that hint is a
+     * win or can't happen for any answer.
+     */
+    public int next(int node, int pattern) {
+        return children[node * Feedback.NUM_PATTERNS + pattern];
+    }
+
+    /**
+     * Returns the guess index to play after the given hints (one per guess already played, in
+     * order, all guesses having been taken from this tree), or -1 if no answer gives these hints.
+     */
+    public int nextGuess(int[] history, int length) {
+        int node = root();
+        for (int i = 0; i < length && node != NO_NODE; i++) node = next(node, history[i]);
+        return node == NO_NODE ? -1 : guess(node);
+    }
+
+    public int nodeCount() {
+        return nodeGuess.length;
+    }
+
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * Writes the tree in the compact file format described above.
+     */
+    public void save(Path file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeShort(RankingMode.ENTROPY.ordinal());
+            out.writeLong(fingerprint);
+            out.writeInt(guessCount);
+            out.writeInt(answerCount);
+            out.writeInt(nodeCount());
+            for (int node = 0; node < nodeCount(); node++) {
+                out.writeInt(nodeGuess[node]);
+                out.writeByte(childCount[node]);
+                for (int p = 0; p < Feedback.NUM_PATTERNS; p++) {
+                    if (next(node, p) != NO_NODE) out.writeByte(p);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads a tree written by {@link #save}, checking that it was built for the same dictionary.
+     *
+     * @throws IOException if the file is not a valid tree (or is corrupt) or was built from different word lists
+     */
+    public static DecisionTree load(Path file, PatternMatrix patterns) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC) throw new IOException("Not a decision tree file");
+            short version = in.readShort();
+            if (version != VERSION) throw new IOException("Unsupported decision tree format version " + version);
+            if (in.readShort() != RankingMode.ENTROPY.ordinal()) throw new IOException("Decision tree file is corrupt");
+            long fingerprint = in.readLong();
+            int guessCount = in.readInt();
+            int answerCount = in.readInt();
+            if (fingerprint != patterns.fingerprint() || guessCount != patterns.guessCount()
+                    || answerCount != patterns.answerCount()) {
+                throw new IOException("Decision tree was built for a different dictionary");
+            }
+
+            // each node takes at least 5 bytes (guess and child count), so the file bounds the count
+            // before anything is allocated for it
+            int n = in.readInt();
+            long nodeBytes = Files.size(file) - HEADER_BYTES;
+            if (n < 1 || n > nodeBytes / 5) throw new IOException("Decision tree file is corrupt");
+            int[] nodeGuess = new int[n];
+            int[] childCount = new int[n];
+            int[] children = new int[n * Feedback.NUM_PATTERNS];
+            Arrays.fill(children, NO_NODE);
+            int next = 1;
+            for (int node = 0; node < n; node++) {
+                nodeGuess[node] = in.readInt();
+                childCount[node] = in.readUnsignedByte();
+                if (nodeGuess[node] < 0 || nodeGuess[node] >= guessCount || childCount[node] > Feedback.NUM_PATTERNS) {
+                    throw new IOException("Decision tree file is corrupt");
+                }
+                for (int i = 0; i < childCount[node]; i++) {
+                    int p = in.readUnsignedByte();
+                    if (p >= Feedback.NUM_PATTERNS || children[node * Feedback.NUM_PATTERNS + p] != NO_NODE) {
+                        throw new IOException("Decision tree file is corrupt");
+                    }
+                    children[node * Feedback.NUM_PATTERNS + p] = next++;
+                }
+            }
+            if (next != n) throw new IOException("Decision tree file is corrupt");
+            return new DecisionTree(fingerprint, guessCount, answerCount, nodeGuess, childCount, children);
+        }
+    }
+
+    /**
+     * Builds the tree for a dictionary and saves it.
+     * Usage: DecisionTree [dictionary] [output.wtree]
+     */
+    public static void main(String[] args) throws IOException {
+        String dictionary = args.length > 0 ? args[0] : WordleBenchmark.DEFAULT_DICTIONARY;
+        Path out = Path.of(args.length > 1 ? args[1] : "decision-tree" + EXTENSION);
+
+        Wordle wordle = new Wordle(dictionary);
+        EntropyRanker ranker = wordle.getEntropyRanker();
+        long start = System.nanoTime();
+        DecisionTree tree = build(ranker);
+        long elapsed = System.nanoTime() - start;
+        tree.save(out);
+
+        System.out.println("Built decision tree with " + tree.nodeCount() + " nodes in " + elapsed / 1_000_000 + " ms, "
+                + "opening guess " + ranker.getPatternMatrix().guess(tree.guess(tree.root())));
+        System.out.println("Saved to " + out.toAbsolutePath() + " (" + Files.size(out) + " bytes)");
+    }
+}
@@ -0,0 +1,130 @@
+package project20280.wordle;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DecisionTreeTest {
+
+    @TempDir
+    Path tempDir;
+
+    // plays one game by walking the tree, returns the number of guesses
+    private static int play(DecisionTree tree, PatternMatrix patterns, int target) {
+        int node = tree.root();
+        for (int turn = 1; turn <= 20; turn++) {
+            int pattern = patterns.get(tree.guess(node), target);
+            if (pattern == Feedback.ALL_GREEN) return turn;
+            node = tree.next(node, pattern);
+            assertNotEquals(DecisionTree.NO_NODE, node);
+        }
+        return fail("no win for " + patterns.answer(target));
+    }
+
+    @Test
+    void testSolvesEveryAnswer() throws Exception {
+        Wordle wordle = new Wordle();
+        PatternMatrix patterns = wordle.getPatternMatrix();
+        DecisionTree tree = DecisionTree.build(wordle.getEntropyRanker());
+
+        assertEquals("raise", patterns.guess(tree.guess(tree.root())));
+
+        // the tree must make the same choices as ranking every turn
+        ParallelEvaluator evaluator = new ParallelEvaluator(wordle.getSolverTables(), RankingMode.ENTROPY, 20);
+        BitsetSolver solver = new BitsetSolver(wordle.getSolverTables(), RankingMode.ENTROPY);
+        for (int target = 0; target < patterns.answerCount(); target += 5) {
+            assertEquals(evaluator.play(solver, target, new long[20], new long[1]), play(tree, patterns, target), patterns.answer(target));
+        }
+    }
+
+    @Test
+    void testNextGuessFromHistory() {
+        Wordle wordle = new Wordle();
+        PatternMatrix patterns = wordle.getPatternMatrix();
+        DecisionTree tree = DecisionTree.build(wordle.getEntropyRanker());
+
+        int target = patterns.answerIndex("lobby");
+        int[] history = new int[6];
+        int turns = 0;
+        int guess = tree.nextGuess(history, 0);
+        while (patterns.get(guess, target) != Feedback.ALL_GREEN) {
+            history[turns++] = patterns.get(guess, target);
+            guess = tree.nextGuess(history, turns);
+        }
+        assertEquals("lobby", patterns.guess(guess));
+    }
+
+    @Test
+    void testSaveAndLoad() throws IOException {
+        Wordle wordle = new Wordle();
+        PatternMatrix patterns = wordle.getPatternMatrix();
+        DecisionTree tree = DecisionTree.build(wordle.getEntropyRanker());
+        Path file = tempDir.resolve("tree" + DecisionTree.EXTENSION);
+        tree.save(file);
+
+        DecisionTree loaded = DecisionTree.load(file, patterns);
+        assertEquals(tree.nodeCount(), loaded.nodeCount());
+        for (int node = 0; node < tree.nodeCount(); node++) {
+            assertEquals(tree.guess(node), loaded.guess(node));
+            for (int p = 0; p < Feedback.NUM_PATTERNS; p++) assertEquals(tree.next(node, p), loaded.next(node, p));
+        }
+
+        // a tree can't be used with a different dictionary
+        PatternMatrix other = new PatternMatrix(List.of("abbey", "kebab", "babes"));
+        assertThrows(IOException.class, () -> DecisionTree.load(file, other));
+    }
+
+    @Test
+    void testCorruptFile() throws IOException {
+        Wordle wordle = new Wordle();
+        PatternMatrix patterns = wordle.getPatternMatrix();
+        Path file = tempDir.resolve("corrupt" + DecisionTree.EXTENSION);
+        DecisionTree.build(wordle.getEntropyRanker()).save(file);
+        byte[] good = Files.readAllBytes(file);
+
+        // header: magic 4, version 2, mode 2, fingerprint 8, counts 4 + 4, node count 4; the root is at 28
+        int[][] corruptions = {
+                {7, 99},         // ranking mode out of range
+                {6, 0, 7, 2},    // another ranking mode
+                {24, 0x7F},      // node count far too large
+                {25, 0x86},      // ~8.8M nodes, more than the file could hold
+                {28, 0x7F},      // root guess past the guesses
+                {28, 0xFF},      // negative root guess
+                {32, 250},       // more children than there are patterns
+                {33, 243},       // pattern past the last one
+                {33, 255},
+        };
+        for (int[] corruption : corruptions) {
+            byte[] bytes = good.clone();
+            for (int i = 0; i < corruption.length; i += 2) bytes[corruption[i]] = (byte) corruption[i + 1];
+            Files.write(file, bytes);
+            assertThrows(IOException.class, () -> DecisionTree.load(file, patterns), Arrays.toString(corruption));
+        }
+
+        // the same pattern twice for one node
+        byte[] bytes = good.clone();
+        bytes[34] = bytes[33];
+        Files.write(file, bytes);
+        assertThrows(IOException.class, () -> DecisionTree.load(file, patterns));
+
+        // cut short
+        Files.write(file, Arrays.copyOf(good, good.length - 3));
+        assertThrows(IOException.class, () -> DecisionTree.load(file, patterns));
+
+        // only the header, asking for a million nodes
+        bytes = Arrays.copyOf(good, DecisionTree.HEADER_BYTES);
+        bytes[24] = 0;
+        bytes[25] = 0x0F;
+        bytes[26] = 0x42;
+        bytes[27] = 0x40;
+        Files.write(file, bytes);
+        assertThrows(IOException.class, () -> DecisionTree.load(file, patterns));
+    }
+}
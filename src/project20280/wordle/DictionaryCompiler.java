@@ -0,0 +1,83 @@
+package project20280.wordle;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/*
+ * Compiles a dictionary text file (one word per line) into the binary format read by MappedDictionary.
+ *
+ * Layout (little-endian):
+ *   0  int    magic "WDIC"
+ *   4  short  format version
+ *   6  short  word length (5)
+ *   8  int    number of words
+ *  12  int    payload length in bytes
+ *  16  int    CRC32 of the payload
+ *  20  int    reserved (0)
+ *  24  payload: word i is packed (see PackedWord) into bits 25i..25i+24 of one continuous bit stream,
+ *      followed by 3 bytes of padding so every word can be read with a single 4-byte load.
+ *
+ * Usage:
+ *   java project20280.wordle.DictionaryCompiler project20280/wordle/resources/dictionary.txt dictionary.wdict
+ */
+
+public class DictionaryCompiler {
+    static final int MAGIC = 0x43494457; // "WDIC" read as a little-endian int
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = 24;
+    static final int PADDING = 3;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: DictionaryCompiler <dictionary.txt> <output" + MappedDictionary.EXTENSION + ">");
+            return;
+        }
+        Wordle wordle = new Wordle(args[0]); // reads and lowercases the text file like the game does
+        List<String> words = wordle.getDictionary();
+        compile(words, Path.of(args[1]));
+        System.out.println("Compiled " + words.size() + " words into " + args[1] + " (" + Files.size(Path.of(args[1])) + " bytes)");
+    }
+
+    /**
+     * Writes the words in the binary dictionary format.
+     */
+    public static void compile(List<String> words, Path out) throws IOException {
+        Files.write(out, toBytes(words));
+    }
+
+    static byte[] toBytes(List<String> words) {
+        int wordLength = Feedback.WORD_LENGTH;
+        int wordBits = wordLength * PackedWord.BITS_PER_LETTER;
+        int payloadLength = (int) (((long) words.size() * wordBits + 7) / 8) + PADDING;
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + payloadLength).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < words.size(); i++) {
+            String word = words.get(i);
+            if (word.length() != wordLength) {
+                throw new IllegalArgumentException("The word " + word + " does not have " + wordLength + " letters.");
+            }
+            long bit = (long) i * wordBits;
+            int offset = HEADER_SIZE + (int) (bit >>> 3);
+            int shift = (int) (bit & 7);
+            int packed = buffer.getInt(offset) | (PackedWord.pack(word) << shift);
+            buffer.putInt(offset, packed);
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), HEADER_SIZE, payloadLength);
+
+        buffer.putInt(0, MAGIC);
+        buffer.putShort(4, VERSION);
+        buffer.putShort(6, (short) wordLength);
+        buffer.putInt(8, words.size());
+        buffer.putInt(12, payloadLength);
+        buffer.putInt(16, (int) crc.getValue());
+        buffer.putInt(20, 0);
+        return buffer.array();
+    }
+}
@@ -0,0 +1,172 @@
+package project20280.wordle;
+
+import java.util.stream.IntStream;
+
+/*
+ * Ranks guesses by the expected information (entropy, in bits) of the hint they produce.
+ *
+ * A guess splits the remaining candidates into groups by the pattern each candidate would give.
+ * If the groups have sizes c_1..c_k out of n candidates, the expected information is
+ *     H = sum (c_i / n) * log2(n / c_i) = log2(n) - (1/n) * sum c_i * log2(c_i)
+ * so a guess that spreads the candidates over many small groups scores highest.
+ * Unlike the letter frequency score this looks at the actual hints, so it needs fewer turns.
+ *
+ * With prior weights (see Priors) a candidate counts as much as its weight: with group weights
+ * W_1..W_k summing to W the entropy is log2(W) - (1/W) * sum W_i * log2(W_i). The weights are an
+ * array indexed by answer, and the group weights are summed into a second array next to the counts.
+ */
+
+public class EntropyRanker {
+    static final long PARALLEL_THRESHOLD = 1 << 20; // guesses x candidates below which scoring stays on one thread
+
+    private static final double LN2 = Math.log(2);
+
+    private final PatternMatrix patterns;
+    private final double[] cLog2c;  // cLog2c[c] = c * log2(c), for c up to the number of answers
+    private final double[] weights; // prior weight of each answer, null if all equally likely
+
+    // one partition count array (and group weight array) per worker thread, reused between guesses
+    private final ThreadLocal<int[]> partitionCounts;
+    private final ThreadLocal<double[]> partitionWeights;
+
+    public EntropyRanker(PatternMatrix patterns) {
+        this(patterns, null);
+    }
+
+    /**
+     * Ranker that weights each candidate by its prior (indexed by answer), or not at all if null.
+     */
+    public EntropyRanker(PatternMatrix patterns, double[] weights) {
+        this.patterns = patterns;
+        this.weights = weights;
+        this.partitionCounts = ThreadLocal.withInitial(() -> new int[patterns.patternCount()]);
+        this.partitionWeights = ThreadLocal.withInitial(() -> new double[patterns.patternCount()]);
+        cLog2c = new double[patterns.answerCount() + 1];
+        for (int c = 2; c < cLog2c.length; c++) {
+            cLog2c[c] = c * (Math.log(c) / Math.log(2));
+        }
+    }
+
+    /**
+     * Returns the expected information gain of guess number g over the candidate answers. A ranker
+     * with weights allocates its scratch array of group weights on each call, so loops should use
+     * {@link #entropy(int, int[], int, int[], double[])}.
+     */
+    public double entropy(int g, int[] candidates, int count, int[] counts) {
+        return entropy(g, candidates, count, counts, weights == null ? null : new double[counts.length]);
+    }
+
+    /**
+     * Returns the expected information gain of guess number g over the candidate answers.
+     *
+     * @param g          the guess index
+     * @param candidates answer indices of the remaining candidates
+     * @param count      number of candidates in the array
+     * @param counts     scratch array of length patternCount(), must be all zeros (left all zeros)
+     * @param sums       scratch array of length patternCount() for the group weights, must be all
+     *                   zeros (left all zeros); only used with weights, and can be null without
+     * @return entropy of the hint in bits
+     */
+    public double entropy(int g, int[] candidates, int count, int[] counts, double[] sums) {
+        if (count == 0) return 0;
+        if (weights != null) return weightedEntropy(g, candidates, count, sums);
+        patterns.countPatterns(g, candidates, count, counts);
+
+        double sum = 0;
+        for (int p = 0; p < counts.length; p++) {
+            sum += cLog2c[counts[p]];
+            counts[p] = 0; // reset for the next guess
+        }
+        return (cLog2c[count] - sum) / count;
+    }
+
+    // entropy with each candidate counted by its weight, sums is all zeros (left all zeros)
+    private double weightedEntropy(int g, int[] candidates, int count, double[] sums) {
+        patterns.countPatterns(g, candidates, count, weights, sums);
+
+        double total = 0, sum = 0;
+        for (int p = 0; p < sums.length; p++) {
+            double w = sums[p];
+            if (w > 0) {
+                total += w;
+                sum += w * Math.log(w);
+            }
+            sums[p] = 0;
+        }
+        return (Math.log(total) - sum / total) / LN2;
+    }
+
+    /**
+     * Scores every guess against the candidate answers, using all available cores.
+     *
+     * @return array with the entropy of each guess, indexed by guess index
+     */
+    public double[] scoreAll(int[] candidates, int count) {
+        double[] scores = new double[patterns.guessCount()];
+        scoreAll(candidates, count, scores);
+        return scores;
+    }
+
+    /**
+     * Scores every guess against the candidate answers into the given array. Small jobs (late in a
+     * game) are scored on the calling thread, which allocates nothing; large ones use all cores.
+     */
+    public void scoreAll(int[] candidates, int count, double[] scores) {
+        scoreAll(candidates, count, scores, null);
+    }
+
+    /**
+     * Same as {@link #scoreAll(int[], int, double[])} for only the allowed guesses (all if null).
+     * The others are not scored and get negative infinity, so bestGuess never picks them.
+     */
+    public void scoreAll(int[] candidates, int count, double[] scores, CandidateSet allowed) {
+        patterns.prepareRows(0, scores.length);
+        if ((long) count * scores.length < PARALLEL_THRESHOLD) {
+            int[] counts = partitionCounts.get();
+            double[] sums = weightSums();
+            for (int g = 0; g < scores.length; g++) {
+                scores[g] = allowed == null || allowed.contains(g) ? entropy(g, candidates, count, counts, sums) : Double.NEGATIVE_INFINITY;
+            }
+        } else {
+            IntStream.range(0, scores.length).parallel().forEach(g -> scores[g] = allowed == null || allowed.contains(g)
+                    ? entropy(g, candidates, count, partitionCounts.get(), weightSums()) : Double.NEGATIVE_INFINITY);
+        }
+    }
+
+    // this thread's group weight array, or null without weights
+    private double[] weightSums() {
+        return weights == null ? null : partitionWeights.get();
+    }
+
+    /**
+     * Returns the index of the best guess for the candidate answers. Ties are broken in favour of
+     * guesses that could still be the answer (they might win straight away), then the lowest index.
+     */
+    public int bestGuess(int[] candidates, int count) {
+        CandidateSet set = new CandidateSet(patterns.answerCount());
+        for (int i = 0; i < count; i++) set.add(candidates[i]);
+        return bestGuess(scoreAll(candidates, count), set);
+    }
+
+    /**
+     * Returns the index of the best guess given the scores from {@link #scoreAll}
+     * and the candidates they were computed for.
+     */
+    public int bestGuess(double[] scores, CandidateSet candidates) {
+        int best = -1;
+        boolean bestIsCandidate = false;
+        for (int g = 0; g < scores.length; g++) {
+            int a = patterns.answerIndexOfGuess(g);
+            boolean candidate = a >= 0 && candidates.contains(a);
+            if (best < 0 || scores[g] > scores[best] || (scores[g] == scores[best] && candidate && !bestIsCandidate)) {
+                best = g;
+                bestIsCandidate = candidate;
+            }
+        }
+        return best;
+    }
+
+    public PatternMatrix getPatternMatrix() {
+        return patterns;
+    }
+}
@@ -0,0 +1,113 @@
+package project20280.wordle;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntropyRankerTest {
+
+    private static int[] allAnswers(PatternMatrix patterns) {
+        int[] candidates = new int[patterns.answerCount()];
+        for (int a = 0; a < candidates.length; a++) candidates[a] = a;
+        return candidates;
+    }
+
+    @Test
+    void testEntropy() {
+        // "abbey" splits these four candidates into four different hints -> log2(4) = 2 bits
+        List<String> words = List.of("abbey", "kebab", "babes", "keeps");
+        EntropyRanker ranker = new EntropyRanker(new PatternMatrix(words));
+        int[] counts = new int[Feedback.NUM_PATTERNS];
+
+        assertEquals(2.0, ranker.entropy(0, new int[]{0, 1, 2, 3}, 4, counts), 1e-9);
+        assertEquals(0.0, ranker.entropy(0, new int[]{1}, 1, counts), 1e-9);
+        for (int c : counts) assertEquals(0, c); // scratch array is left cleared
+    }
+
+    @Test
+    void testWeightedEntropy() {
+        // "abbey" gives each candidate its own hint, so each hint is as likely as its candidate
+        List<String> words = List.of("abbey", "kebab", "babes", "keeps");
+        double[] weights = {4, 2, 1, 1};
+        EntropyRanker ranker = new EntropyRanker(new PatternMatrix(words), weights);
+        int[] counts = new int[Feedback.NUM_PATTERNS];
+        assertEquals(0.5 * 1 + 0.25 * 2 + 2 * 0.125 * 3, ranker.entropy(0, new int[]{0, 1, 2, 3}, 4, counts), 1e-9);
+        double[] sums = new double[Feedback.NUM_PATTERNS];
+        assertEquals(0.5 * 1 + 0.25 * 2 + 2 * 0.125 * 3, ranker.entropy(0, new int[]{0, 1, 2, 3}, 4, counts, sums), 1e-9);
+        for (double w : sums) assertEquals(0, w); // scratch array is left cleared
+
+        // equal weights give the unweighted entropy
+        Wordle wordle = new Wordle();
+        PatternMatrix patterns = wordle.getPatternMatrix();
+        double[] ones = new double[patterns.answerCount()];
+        java.util.Arrays.fill(ones, 1);
+        int[] candidates = allAnswers(patterns);
+        double[] expected = wordle.getEntropyRanker().scoreAll(candidates, candidates.length);
+        double[] actual = new EntropyRanker(patterns, ones).scoreAll(candidates, candidates.length);
+        for (int g = 0; g < expected.length; g++) assertEquals(expected[g], actual[g], 1e-9);
+    }
+
+    @Test
+    void testWeightedAnyStorage() {
+        // the weighted scores are the same whichever table holds the patterns
+        List<String> words = new Wordle().getDictionary();
+        double[] weights = new double[words.size()];
+        for (int a = 0; a < weights.length; a++) weights[a] = 1 + a % 7;
+        int[] candidates = new int[300];
+        for (int i = 0; i < candidates.length; i++) candidates[i] = 7 * i;
+
+        double[] expected = new EntropyRanker(new PatternMatrix(words), weights).scoreAll(candidates, candidates.length);
+        for (PatternStorage storage : List.of(PatternStorage.offHeap(), PatternStorage.lazy(50L * words.size()))) {
+            PatternMatrix patterns = new PatternMatrix(words, words, storage);
+            assertArrayEquals(expected, new EntropyRanker(patterns, weights).scoreAll(candidates, candidates.length));
+            if (patterns.getTable() instanceof SegmentPatternTable table) table.close();
+        }
+    }
+
+    @Test
+    void testScoreAllMatchesSequential() {
+        Wordle wordle = new Wordle();
+        PatternMatrix patterns = wordle.getPatternMatrix();
+        EntropyRanker ranker = wordle.getEntropyRanker();
+
+        int[] candidates = new int[patterns.answerCount() / 3];
+        for (int i = 0; i < candidates.length; i++) candidates[i] = 3 * i;
+
+        double[] scores = ranker.scoreAll(candidates, candidates.length);
+        int[] counts = new int[Feedback.NUM_PATTERNS];
+        for (int g = 0; g < patterns.guessCount(); g++) {
+            assertEquals(ranker.entropy(g, candidates, candidates.length, counts), scores[g]);
+        }
+    }
+
+    @Test
+    void testBestGuess() {
+        Wordle wordle = new Wordle();
+        PatternMatrix patterns = wordle.getPatternMatrix();
+        EntropyRanker ranker = wordle.getEntropyRanker();
+        int[] candidates = allAnswers(patterns);
+
+        assertEquals("raise", patterns.guess(ranker.bestGuess(candidates, candidates.length)));
+
+        // with a single candidate left, the candidate itself must be suggested
+        int cigar = patterns.answerIndex("cigar");
+        assertEquals("cigar", patterns.guess(ranker.bestGuess(new int[]{cigar}, 1)));
+    }
+
+    @Test
+    void testFirstTurnExtended() {
+        Wordle wordle = new Wordle("project20280/wordle/resources/extended-dictionary.txt");
+        PatternMatrix patterns = wordle.getPatternMatrix();
+        EntropyRanker ranker = wordle.getEntropyRanker();
+        int[] candidates = allAnswers(patterns);
+
+        long start = System.nanoTime();
+        int best = ranker.bestGuess(candidates, candidates.length);
+        long elapsed = System.nanoTime() - start;
+        System.out.println("First turn entropy ranking (" + patterns.guessCount() + " guesses): "
+                + elapsed / 1_000_000 + " ms, best guess " + patterns.guess(best));
+        assertTrue(ranker.entropy(best, candidates, candidates.length, new int[Feedback.NUM_PATTERNS]) > 5);
+    }
+}
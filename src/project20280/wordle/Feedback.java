@@ -0,0 +1,207 @@
+package project20280.wordle;
+
+import java.util.List;
+
+/*
+ * Feedback (hint) encoding used by the Wordle engine.
+ *
+ * A hint is stored as a single base-3 number instead of a String[]:
+ * the digit for position i (weight 3^i) is
+ *  -> 0 for "_" (letter not in the target),
+ *  -> 1 for "o" (letter in the target but in another position),
+ *  -> 2 for "+" (letter in the correct position).
+ * For 5-letter words this gives codes 0..242, so a hint fits in one byte
+ * and "+++++" (a win) is always 242. Other word lengths work the same way with
+ * 3^length codes: up to 8 letters (6561 codes) a hint still fits in a short.
+ *
+ * Hints for one guess against many answers are computed in a batch by computeAll, which uses the
+ * fastest FeedbackKernel this JVM has (the Vector API one if available).
+ */
+
+public final class Feedback {
+    public static final int WORD_LENGTH = 5;
+    public static final int NUM_PATTERNS = 243; // 3^5
+    public static final int ALL_GREEN = NUM_PATTERNS - 1;
+    public static final int MAX_WORD_LENGTH = 8;
+
+    static final int GREY = 0;
+    static final int YELLOW = 1;
+    static final int GREEN = 2;
+
+    private static final FeedbackKernel KERNEL = FeedbackKernel.best();
+
+    private Feedback() {}
+
+    /**
+     * Returns the number of different hints for words of the given length (3^length).
+     */
+    public static int patternCount(int length) {
+        if (length < 1 || length > MAX_WORD_LENGTH) {
+            throw new IllegalArgumentException("Unsupported word length: " + length);
+        }
+        int count = 1;
+        for (int k = 0; k < length; k++) count *= 3;
+        return count;
+    }
+
+    /**
+     * Returns the code of the winning hint (all green) for words of the given length.
+     */
+    public static int allGreen(int length) {
+        return patternCount(length) - 1;
+    }
+
+    /**
+     * Returns the length shared by all the words (WORD_LENGTH for an empty list).
+     *
+     * @throws IllegalArgumentException if the words have different lengths
+     */
+    static int wordLength(List<String> words) {
+        if (words.isEmpty()) return WORD_LENGTH;
+        int length = words.get(0).length();
+        for (String word : words) {
+            if (word.length() != length) {
+                throw new IllegalArgumentException("Words of different lengths: " + words.get(0) + ", " + word);
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Computes the hint for a guess against a target, using the same rules as
+     * {@link Wordle#getHints}: greens first, then yellows from left to right
+     * while unmatched copies of the letter are left in the target.
+     *
+     * @param guess  the guessed word
+     * @param target the target (answer) word, same length as the guess
+     * @return the base-3 pattern code of the hint
+     */
+    public static int compute(CharSequence guess, CharSequence target) {
+        int length = guess.length();
+        int used = 0; // bit j is set once target letter j has been matched
+        for (int k = 0; k < length; k++) {
+            if (guess.charAt(k) == target.charAt(k)) used |= 1 << k;
+        }
+        int greens = used;
+
+        int code = 0;
+        int weight = 1;
+        for (int k = 0; k < length; k++, weight *= 3) {
+            if ((greens & (1 << k)) != 0) {
+                code += GREEN * weight;
+                continue;
+            }
+            char letter = guess.charAt(k);
+            for (int j = 0; j < length; j++) {
+                if ((used & (1 << j)) == 0 && target.charAt(j) == letter) {
+                    used |= 1 << j; // this copy of the letter can only be used once
+                    code += YELLOW * weight;
+                    break;
+                }
+            }
+        }
+        return code;
+    }
+
+    /**
+     * Same as {@link #compute(CharSequence, CharSequence)} for words already converted to char
+     * arrays: one word at a time, the baseline FeedbackKernelBenchmark compares the kernels against.
+     */
+    static int compute(char[] guess, char[] target) {
+        int length = guess.length;
+        int used = 0;
+        for (int k = 0; k < length; k++) {
+            if (guess[k] == target[k]) used |= 1 << k;
+        }
+        int greens = used;
+
+        int code = 0;
+        int weight = 1;
+        for (int k = 0; k < length; k++, weight *= 3) {
+            if ((greens & (1 << k)) != 0) {
+                code += GREEN * weight;
+                continue;
+            }
+            char letter = guess[k];
+            for (int j = 0; j < length; j++) {
+                if ((used & (1 << j)) == 0 && target[j] == letter) {
+                    used |= 1 << j;
+                    code += YELLOW * weight;
+                    break;
+                }
+            }
+        }
+        return code;
+    }
+
+    /**
+     * Computes the hints for a guess against many answers at once, all packed with
+     * {@link PackedWord#pack} (so at most FeedbackKernel.MAX_LENGTH letters).
+     *
+     * @param codes filled with the pattern code for each of the first count answers
+     */
+    public static void computeAll(int guess, int[] answers, int count, int length, int[] codes) {
+        KERNEL.compute(guess, answers, count, length, codes);
+    }
+
+    /**
+     * Returns the kernel computeAll uses.
+     */
+    static FeedbackKernel kernel() {
+        return KERNEL;
+    }
+
+    /**
+     * Converts a pattern code into the String[] hint format printed by the game.
+     */
+    public static String[] toHint(int code) {
+        return toHint(code, WORD_LENGTH);
+    }
+
+    /**
+     * Same as {@link #toHint(int)} for words of the given length.
+     */
+    public static String[] toHint(int code, int length) {
+        String[] hint = new String[length];
+        for (int k = 0; k < length; k++) {
+            switch (code % 3) {
+                case GREEN -> hint[k] = "+";
+                case YELLOW -> hint[k] = "o";
+                default -> hint[k] = "_";
+            }
+            code /= 3;
+        }
+        return hint;
+    }
+
+    /**
+     * Converts a String[] hint (made of "_", "o" and "+") into its pattern code.
+     */
+    public static int fromHint(String[] hint) {
+        int code = 0;
+        for (int k = hint.length - 1; k >= 0; k--) {
+            code *= 3;
+            switch (hint[k]) {
+                case "_" -> {}
+                case "o" -> code += YELLOW;
+                case "+" -> code += GREEN;
+                default -> throw new IllegalArgumentException("Unknown letter found in hint String.");
+            }
+        }
+        return code;
+    }
+
+    /**
+     * Returns the hint as a compact String, e.g. "_o+__".
+     */
+    public static String toString(int code) {
+        return String.join("", toHint(code));
+    }
+
+    /**
+     * Same as {@link #toString(int)} for words of the given length.
+     */
+    public static String toString(int code, int length) {
+        return String.join("", toHint(code, length));
+    }
+}
@@ -0,0 +1,56 @@
+package project20280.wordle;
+
+/*
+ * Computes the hints for one guess against many answers at once, with the words packed into ints
+ * (see PackedWord), so words of up to 6 letters.
+ *
+ * There are two implementations with the same results as Feedback.compute:
+ *  -> ScalarFeedbackKernel: one answer at a time, letters taken out of the packed ints with shifts
+ *  -> VectorFeedbackKernel: many answers per instruction, with jdk.incubator.vector
+ * best() picks the vector one when the incubator module is loaded (run with
+ * --add-modules jdk.incubator.vector) and the scalar one otherwise. Setting the system property
+ * wordle.feedback=scalar forces the scalar one.
+ */
+
+public interface FeedbackKernel {
+    int MAX_LENGTH = 6; // 6 letters x 5 bits fit in an int
+
+    /**
+     * Fills codes[i] with the pattern code of the guess against answers[i], for i below count.
+     *
+     * @param guess   the packed guess
+     * @param answers the packed answers
+     * @param length  the number of letters in the words (at most MAX_LENGTH)
+     */
+    void compute(int guess, int[] answers, int count, int length, int[] codes);
+
+    /**
+     * Returns the name of the implementation ("scalar" or "vector").
+     */
+    String name();
+
+    /**
+     * Returns the fastest implementation available in this JVM.
+     */
+    static FeedbackKernel best() {
+        if (!"scalar".equals(System.getProperty("wordle.feedback"))) {
+            FeedbackKernel vector = byName("vector");
+            if (vector != null) return vector;
+        }
+        return ScalarFeedbackKernel.INSTANCE;
+    }
+
+    /**
+     * Returns the implementation with the given name, or null if it can't be used in this JVM.
+     */
+    static FeedbackKernel byName(String name) {
+        if (name.equals("scalar")) return ScalarFeedbackKernel.INSTANCE;
+        if (!name.equals("vector") || ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) return null;
+        try {
+            // loaded by name, so this interface doesn't need the incubator module to load
+            return (FeedbackKernel) Class.forName("project20280.wordle.VectorFeedbackKernel").getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+}
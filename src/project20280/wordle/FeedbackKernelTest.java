@@ -0,0 +1,67 @@
+package project20280.wordle;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FeedbackKernelTest {
+
+    // every kernel this JVM can run
+    private static List<FeedbackKernel> kernels() {
+        List<FeedbackKernel> kernels = new ArrayList<>();
+        kernels.add(FeedbackKernel.byName("scalar"));
+        FeedbackKernel vector = FeedbackKernel.byName("vector");
+        if (vector != null) kernels.add(vector);
+        return kernels;
+    }
+
+    private static void assertMatchesCompute(FeedbackKernel kernel, List<String> words) {
+        int length = words.get(0).length();
+        int[] packed = new int[words.size()];
+        for (int i = 0; i < packed.length; i++) packed[i] = PackedWord.pack(words.get(i));
+        int[] codes = new int[packed.length];
+        for (String guess : words) {
+            kernel.compute(PackedWord.pack(guess), packed, packed.length, length, codes);
+            for (int i = 0; i < packed.length; i++) {
+                assertEquals(Feedback.compute(guess, words.get(i)), codes[i], kernel.name() + " " + guess + " " + words.get(i));
+            }
+        }
+    }
+
+    @Test
+    void testRepeatedLetters() {
+        // 11 words, so a vector kernel also has answers left over for the scalar tail
+        List<String> words = List.of("abbey", "kebab", "babes", "kayak", "lobby", "eerie", "geese", "speed", "ababa", "bbbbb", "crane");
+        for (FeedbackKernel kernel : kernels()) assertMatchesCompute(kernel, words);
+    }
+
+    @Test
+    void testDictionary() {
+        List<String> words = new Wordle().getDictionary();
+        Random random = new Random(20280);
+        List<String> sample = new ArrayList<>();
+        for (int i = 0; i < 300; i++) sample.add(words.get(random.nextInt(words.size())));
+        for (FeedbackKernel kernel : kernels()) assertMatchesCompute(kernel, sample);
+    }
+
+    @Test
+    void testOtherLengths() {
+        for (FeedbackKernel kernel : kernels()) {
+            assertMatchesCompute(kernel, List.of("abba", "baba", "aaab", "abcd", "dcba", "bbbb"));
+            assertMatchesCompute(kernel, List.of("banana", "ananas", "bandan", "nnnaaa", "abcdef", "fedcba", "aaaaaa", "bababa", "cabana"));
+        }
+    }
+
+    @Test
+    void testSelection() {
+        // the vector kernel is used exactly when the incubator module is loaded
+        boolean vectorModule = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+        assertEquals(vectorModule ? "vector" : "scalar", FeedbackKernel.best().name());
+        assertEquals(vectorModule, FeedbackKernel.byName("vector") != null);
+        assertNull(FeedbackKernel.byName("gpu"));
+    }
+}
@@ -0,0 +1,133 @@
+package project20280.wordle;
+
+import java.util.Arrays;
+
+/*
+ * The rules of hard mode: every guess has to use what the earlier hints revealed.
+ *  -> a green letter stays fixed in its position
+ *  -> a yellow letter can't be guessed in that position again
+ *  -> a letter shown k times (green or yellow) has to appear at least k times
+ * Grey letters may still be used, as in the original game.
+ *
+ * The constraints are kept as they are revealed, together with the set of legal guesses as a
+ * bitset over the dictionary. A hint only ever tightens the constraints, and each new one is a
+ * single AND / AND NOT with a ConstraintIndex mask, so the dictionary is never rescanned.
+ * Checking a guess is then one bit lookup.
+ */
+
+public class HardModeConstraints {
+    private final ConstraintIndex index;
+    private final CandidateSet legal;  // dictionary words that respect every constraint so far
+    private final char[] fixed;        // green letter at each position, 0 if not known
+    private final int[] banned;        // [position] bit (letter - 'a') set for yellow letters seen there
+    private final int[] minCount;      // [letter - 'a'] copies the guess has to contain
+
+    public HardModeConstraints(ConstraintIndex index) {
+        this.index = index;
+        this.legal = index.all();
+        this.fixed = new char[index.wordLength()];
+        this.banned = new int[index.wordLength()];
+        this.minCount = new int[ConstraintIndex.LETTERS];
+    }
+
+    /**
+     * Adds the constraints revealed by the hint for a guess.
+     */
+    public void apply(String guess, int pattern) {
+        int code = pattern;
+        for (int k = 0; k < fixed.length; k++, code /= 3) {
+            char letter = guess.charAt(k);
+            int digit = code % 3;
+            if (digit == Feedback.GREEN && fixed[k] == 0) {
+                fixed[k] = letter;
+                legal.and(index.letterAt(k, letter));
+            } else if (digit == Feedback.YELLOW && (banned[k] & (1 << (letter - 'a'))) == 0) {
+                banned[k] |= 1 << (letter - 'a');
+                legal.andNot(index.letterAt(k, letter));
+            }
+        }
+
+        // minimum counts, once per distinct letter of the guess
+        for (int k = 0; k < fixed.length; k++) {
+            char letter = guess.charAt(k);
+            if (guess.indexOf(letter) < k) continue;
+            int shown = 0;
+            code = pattern;
+            for (int j = 0; j < fixed.length; j++, code /= 3) {
+                if (guess.charAt(j) == letter && code % 3 != Feedback.GREY) shown++;
+            }
+            if (shown > minCount[letter - 'a']) {
+                minCount[letter - 'a'] = shown;
+                legal.and(index.atLeast(letter, shown));
+            }
+        }
+    }
+
+    /**
+     * Returns true if dictionary word number i can be guessed.
+     */
+    public boolean isLegal(int i) {
+        return legal.contains(i);
+    }
+
+    /**
+     * Returns the dictionary words that can be guessed (read only).
+     */
+    public CandidateSet legalGuesses() {
+        return legal;
+    }
+
+    /**
+     * Returns the letters a guess can have at each position (a green, or any letter but the yellows
+     * seen there) as masks for WordTrie.forEachMatch. The letter counts are not part of them.
+     */
+    public int[] letterMasks() {
+        int[] masks = new int[fixed.length];
+        for (int k = 0; k < masks.length; k++) {
+            masks[k] = fixed[k] != 0 ? 1 << (fixed[k] - 'a') : WordTrie.ALL_LETTERS & ~banned[k];
+        }
+        return masks;
+    }
+
+    /**
+     * Returns why a word can't be guessed, e.g. "2nd letter must be R", or null if it can.
+     * This looks at the word itself, so it also works for words outside the dictionary.
+     */
+    public String violation(String word) {
+        for (int k = 0; k < fixed.length; k++) {
+            if (fixed[k] != 0 && word.charAt(k) != fixed[k]) {
+                return ordinal(k + 1) + " letter must be " + Character.toUpperCase(fixed[k]);
+            }
+        }
+        for (int k = 0; k < fixed.length; k++) {
+            char letter = word.charAt(k);
+            if ((banned[k] & (1 << (letter - 'a'))) != 0) {
+                return ordinal(k + 1) + " letter can't be " + Character.toUpperCase(letter);
+            }
+        }
+        for (int c = 0; c < minCount.length; c++) {
+            if (minCount[c] == 0) continue;
+            int copies = 0;
+            for (int k = 0; k < word.length(); k++) if (word.charAt(k) == 'a' + c) copies++;
+            if (copies < minCount[c]) {
+                char letter = Character.toUpperCase((char) ('a' + c));
+                return minCount[c] == 1 ? "Guess must contain " + letter : "Guess must contain " + minCount[c] + " " + letter + "s";
+            }
+        }
+        return null;
+    }
+
+    private static String ordinal(int n) {
+        return n + (n == 1 ? "st" : n == 2 ? "nd" : n == 3 ? "rd" : "th");
+    }
+
+    /**
+     * Forgets all constraints (every word is legal again).
+     */
+    public void reset() {
+        legal.fill();
+        Arrays.fill(fixed, (char) 0);
+        Arrays.fill(banned, 0);
+        Arrays.fill(minCount, 0);
+    }
+}
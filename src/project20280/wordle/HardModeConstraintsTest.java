@@ -0,0 +1,85 @@
+package project20280.wordle;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HardModeConstraintsTest {
+
+    @Test
+    void testConstraints() {
+        ConstraintIndex index = new ConstraintIndex(List.of("crane", "trace", "react", "caret", "cater", "eerie", "there"));
+        HardModeConstraints hard = new HardModeConstraints(index);
+        // target caret: crane gives c green, r, a and e yellow, n grey
+        hard.apply("crane", Feedback.compute("crane", "caret"));
+
+        assertFalse(hard.isLegal(0));  // crane: r can't be 2nd again
+        assertFalse(hard.isLegal(1));  // trace: 1st letter must be c
+        assertTrue(hard.isLegal(3));   // caret
+        assertTrue(hard.isLegal(4));   // cater
+        assertFalse(hard.isLegal(5));  // eerie
+        assertEquals(2, hard.legalGuesses().size());
+        assertNull(hard.violation("cerna")); // a grey letter may be used again, and other words are checked too
+
+        assertEquals("1st letter must be C", hard.violation("trace"));
+        assertEquals("2nd letter can't be R", hard.violation("crest"));
+        assertEquals("Guess must contain A", hard.violation("cured"));
+        assertNull(hard.violation("caret"));
+
+        hard.reset();
+        assertEquals(index.size(), hard.legalGuesses().size());
+        assertNull(hard.violation("eerie"));
+    }
+
+    @Test
+    void testRepeatedLetters() {
+        HardModeConstraints hard = new HardModeConstraints(new ConstraintIndex(List.of("eerie", "there", "geese")));
+        hard.apply("eerie", Feedback.compute("eerie", "geese")); // e e in 2nd and 5th, e yellow in 1st
+        assertEquals("Guess must contain 3 Es", hard.violation("beige"));
+        assertEquals("1st letter can't be E", hard.violation("eeree"));
+        assertNull(hard.violation("geese"));
+        assertTrue(hard.isLegal(2));
+        assertFalse(hard.isLegal(1));
+    }
+
+    @Test
+    void testMatchesViolation() {
+        // the legal set kept by the masks agrees with checking every word from the rules
+        Wordle wordle = new Wordle();
+        PatternMatrix patterns = wordle.getPatternMatrix();
+        ConstraintIndex index = wordle.getConstraintIndex();
+        for (int target = 0; target < patterns.answerCount(); target += 397) {
+            HardModeConstraints hard = new HardModeConstraints(index);
+            for (String guess : List.of("sassy", "crane", "tepee")) {
+                hard.apply(guess, patterns.get(guess, patterns.answer(target)));
+                for (int i = 0; i < index.size(); i++) {
+                    assertEquals(hard.violation(patterns.guess(i)) == null, hard.isLegal(i), patterns.guess(i) + " " + patterns.answer(target));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testSolverOnlySuggestsLegalGuesses() {
+        Wordle wordle = new Wordle();
+        PatternMatrix patterns = wordle.getPatternMatrix();
+        for (RankingMode mode : List.of(RankingMode.ENTROPY, RankingMode.MINIMAX, RankingMode.LETTER_FREQUENCY)) {
+            BitsetSolver solver = new BitsetSolver(wordle.getSolverTables(), mode);
+            solver.setHardMode(true);
+            for (int target = 0; target < patterns.answerCount(); target += 211) {
+                solver.reset();
+                int turns = 1;
+                int guess = solver.suggestIndex();
+                while (patterns.get(guess, target) != patterns.allGreen()) {
+                    solver.apply(guess, patterns.get(guess, target));
+                    guess = solver.suggestIndex();
+                    assertTrue(solver.isLegal(patterns.guess(guess)), mode + " " + patterns.guess(guess));
+                    assertNull(solver.getHardModeConstraints().violation(patterns.guess(guess)));
+                    assertTrue(++turns <= 10, mode + " " + patterns.answer(target));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package project20280.wordle;
+
+/*
+ * PatternTable on the Java heap: one byte per entry (a short for words of more than 5 letters),
+ * row by row. Arrays are limited to Integer.MAX_VALUE entries.
+ */
+
+final class HeapPatternTable implements PatternTable {
+    private final int numAnswers;
+    private final byte[] patterns;      // patterns[g * numAnswers + a], null if the words are too long
+    private final short[] widePatterns; // the same for words of more than 5 letters, otherwise null
+
+    HeapPatternTable(PatternMatrix matrix) {
+        this.numAnswers = matrix.answerCount();
+        boolean wide = matrix.entryBytes() == 2;
+        long size = (long) matrix.guessCount() * numAnswers;
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Pattern matrix too large: " + size + " entries");
+        }
+        patterns = wide ? null : new byte[(int) size];
+        widePatterns = wide ? new short[(int) size] : null;
+
+        matrix.computeRows((g, codes) -> {
+            int offset = g * numAnswers;
+            if (wide) {
+                for (int a = 0; a < numAnswers; a++) widePatterns[offset + a] = (short) codes[a];
+            } else {
+                for (int a = 0; a < numAnswers; a++) patterns[offset + a] = (byte) codes[a];
+            }
+        });
+    }
+
+    @Override
+    public int get(int g, int a) {
+        if (patterns == null) return widePatterns[g * numAnswers + a];
+        return patterns[g * numAnswers + a] & 0xFF;
+    }
+
+    @Override
+    public void countPatterns(int g, int[] candidates, int count, int[] counts) {
+        int offset = g * numAnswers;
+        if (patterns == null) {
+            for (int i = 0; i < count; i++) counts[widePatterns[offset + candidates[i]]]++;
+            return;
+        }
+        for (int i = 0; i < count; i++) {
+            counts[patterns[offset + candidates[i]] & 0xFF]++;
+        }
+    }
+
+    @Override
+    public void countPatterns(int g, int[] candidates, int count, double[] weights, double[] sums) {
+        int offset = g * numAnswers;
+        if (patterns == null) {
+            for (int i = 0; i < count; i++) sums[widePatterns[offset + candidates[i]]] += weights[candidates[i]];
+            return;
+        }
+        for (int i = 0; i < count; i++) {
+            int a = candidates[i];
+            sums[patterns[offset + a] & 0xFF] += weights[a];
+        }
+    }
+}
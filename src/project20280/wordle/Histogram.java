@@ -0,0 +1,104 @@
+package project20280.wordle;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Histogram of non-negative long values (latencies in nanoseconds, candidate counts, ...) with
+ * log-linear buckets, as in HdrHistogram: values below 32 get a bucket each, and every power of two
+ * above that is split into 32 equal buckets, so a percentile is within about 3% of the true value.
+ * The whole range of long fits in under 2000 buckets (15 KB).
+ *
+ * record() is a few atomic increments and doesn't allocate, and any number of threads can record
+ * and read at once. Readings taken while values are being recorded may be a few values behind.
+ */
+
+public final class Histogram {
+    static final int SUB_BITS = 5;
+    static final int SUB_BUCKETS = 1 << SUB_BITS;
+    static final int BUCKETS = (64 - SUB_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder total = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    static int bucket(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+    }
+
+    // the lowest value in a bucket
+    static long lowest(int bucket) {
+        if (bucket < SUB_BUCKETS) return bucket;
+        int shift = bucket / SUB_BUCKETS - 1;
+        return (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+    }
+
+    // the highest value in a bucket
+    static long highest(int bucket) {
+        if (bucket < SUB_BUCKETS) return bucket;
+        int shift = bucket / SUB_BUCKETS - 1;
+        return lowest(bucket) + (1L << shift) - 1;
+    }
+
+    /**
+     * Adds a value (negative values count as 0).
+     */
+    public void record(long value) {
+        if (value < 0) value = 0;
+        counts.incrementAndGet(bucket(value));
+        total.increment();
+        sum.add(value);
+        if (value > max.get()) max.accumulateAndGet(value, Math::max);
+    }
+
+    public long count() {
+        return total.sum();
+    }
+
+    public double mean() {
+        long n = total.sum();
+        return n == 0 ? 0 : (double) sum.sum() / n;
+    }
+
+    public long max() {
+        return max.get();
+    }
+
+    /**
+     * Returns the value that the given percentage (0 to 100) of the values are at or below, to
+     * within the bucket width (the highest value of its bucket, but never above the largest value).
+     * Returns 0 if nothing was recorded.
+     */
+    public long percentile(double percent) {
+        long n = total.sum();
+        if (n == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(n * percent / 100));
+        long seen = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            seen += counts.get(b);
+            if (seen >= rank) return Math.min(highest(b), max.get());
+        }
+        return max.get();
+    }
+
+    public void reset() {
+        for (int b = 0; b < BUCKETS; b++) counts.set(b, 0);
+        total.reset();
+        sum.reset();
+        max.set(0);
+    }
+
+    /**
+     * Describes the values as "n=..., mean ..., p50 ..., p90 ..., p99 ..., max ...", each divided by
+     * the scale (e.g. 1000 for nanoseconds shown in microseconds).
+     */
+    public String summary(double scale) {
+        return String.format(Locale.ROOT, "n=%d, mean %.1f, p50 %.1f, p90 %.1f, p99 %.1f, max %.1f", count(), mean() / scale,
+                percentile(50) / scale, percentile(90) / scale, percentile(99) / scale, max() / scale);
+    }
+}
@@ -0,0 +1,72 @@
+package project20280.wordle;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HistogramTest {
+
+    @Test
+    void testBuckets() {
+        // every value is in the bucket whose range holds it, and the buckets follow each other
+        for (int b = 1; b < Histogram.BUCKETS; b++) {
+            assertEquals(Histogram.highest(b - 1) + 1, Histogram.lowest(b), "bucket " + b);
+        }
+        for (long value : new long[]{0, 1, 31, 32, 63, 64, 65, 1000, 123_456_789, Long.MAX_VALUE}) {
+            int b = Histogram.bucket(value);
+            assertTrue(Histogram.lowest(b) <= value && value <= Histogram.highest(b), "value " + value);
+        }
+        assertEquals(Histogram.BUCKETS - 1, Histogram.bucket(Long.MAX_VALUE));
+    }
+
+    @Test
+    void testPercentiles() {
+        Histogram histogram = new Histogram();
+        assertEquals(0, histogram.percentile(50));
+        long[] values = new long[100_000];
+        Random random = new Random(22);
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (long) Math.exp(5 + 10 * random.nextDouble()); // spread over several powers of two
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+        for (double p : new double[]{1, 50, 90, 99, 99.9}) {
+            long exact = values[(int) Math.ceil(values.length * p / 100) - 1];
+            assertEquals(exact, histogram.percentile(p), exact * 0.04, "p" + p);
+        }
+        assertEquals(values[values.length - 1], histogram.max());
+        assertEquals(values[values.length - 1], histogram.percentile(100));
+        assertEquals(Arrays.stream(values).average().orElseThrow(), histogram.mean(), 1e-6);
+
+        histogram.reset();
+        assertEquals(0, histogram.count());
+        assertEquals(0, histogram.max());
+    }
+
+    @Test
+    void testSummaryIgnoresLocale() {
+        Histogram histogram = new Histogram();
+        histogram.record(1500);
+        Locale locale = Locale.getDefault();
+        try {
+            Locale.setDefault(Locale.GERMANY); // decimal commas
+            assertEquals("n=1, mean 1.5, p50 1.5, p90 1.5, p99 1.5, max 1.5", histogram.summary(1000));
+        } finally {
+            Locale.setDefault(locale);
+        }
+    }
+
+    @Test
+    void testConcurrent() {
+        Histogram histogram = new Histogram();
+        IntStream.range(0, 1_000_000).parallel().forEach(i -> histogram.record(i % 1000));
+        assertEquals(1_000_000, histogram.count());
+        assertEquals(999, histogram.max());
+        assertEquals(499.5, histogram.mean(), 1e-9);
+    }
+}
@@ -0,0 +1,212 @@
+package project20280.wordle;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/*
+ * PatternTable that computes a guess row (its patterns against every answer) the first time it is
+ * read, and keeps the rows in a least recently used cache of at most maxBytes.
+ *
+ * The cache is a row array indexed by guess plus a doubly linked list of the cached guesses in
+ * order of use (prev / next arrays, the most recent at the head), so a hit, a new row and an
+ * eviction are all O(1). Reading a row that is already at the head takes no lock, which keeps
+ * per-entry get() calls on one guess cheap; anything else moves it to the head under the lock.
+ * A missing row is computed outside the lock, so threads only wait for each other while the list
+ * is relinked. An evicted row that a thread is still reading stays valid until it is done.
+ *
+ * prepareRows() computes the missing rows of a range in parallel before a ranking pass reads
+ * them one by one (as many as fit in the cache). A pass over more rows than fit recomputes them
+ * each time, so the cache should hold the guesses a game keeps coming back to.
+ *
+ * Loops over many entries of a row should use row() or countPatterns(), which look the row up once;
+ * get() looks it up (and may take the lock to move it up the list) for every entry.
+ *
+ * Counters: a hit or a miss per row read (get(), row() or countPatterns()), and an eviction per row dropped.
+ */
+
+public final class LazyPatternTable implements PatternTable {
+    private static final int NONE = -1;
+
+    private final PatternMatrix matrix;
+    private final boolean wide;
+    private final int numAnswers;
+    private final long rowBytes;
+    private final long capacityBytes;
+    private final int capacityRows;
+
+    private final AtomicReferenceArray<Object> rows; // byte[] or short[] row of each cached guess
+    private final int[] prev, next;                   // use order of the cached guesses
+    private volatile int head = NONE;                 // most recently used
+    private int tail = NONE;                          // least recently used
+    private int cachedRows = 0;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    LazyPatternTable(PatternMatrix matrix, long maxBytes) {
+        this.matrix = matrix;
+        this.wide = matrix.entryBytes() == 2;
+        this.numAnswers = matrix.answerCount();
+        this.rowBytes = Math.max(1, (long) numAnswers * matrix.entryBytes());
+        if (maxBytes < rowBytes) {
+            throw new IllegalArgumentException("Cache of " + maxBytes + " bytes can't hold a row of " + rowBytes + " bytes");
+        }
+        this.capacityBytes = maxBytes;
+        this.capacityRows = (int) Math.min(matrix.guessCount(), maxBytes / rowBytes);
+        this.rows = new AtomicReferenceArray<>(matrix.guessCount());
+        this.prev = new int[matrix.guessCount()];
+        this.next = new int[matrix.guessCount()];
+    }
+
+    @Override
+    public int get(int g, int a) {
+        Object row = cachedRow(g);
+        if (wide) return ((short[]) row)[a];
+        return ((byte[]) row)[a] & 0xFF;
+    }
+
+    @Override
+    public Row row(int g) {
+        Object row = cachedRow(g);
+        if (wide) {
+            short[] patterns = (short[]) row;
+            return a -> patterns[a];
+        }
+        byte[] patterns = (byte[]) row;
+        return a -> patterns[a] & 0xFF;
+    }
+
+    @Override
+    public void countPatterns(int g, int[] candidates, int count, int[] counts) {
+        Object row = cachedRow(g);
+        if (wide) {
+            short[] patterns = (short[]) row;
+            for (int i = 0; i < count; i++) counts[patterns[candidates[i]]]++;
+            return;
+        }
+        byte[] patterns = (byte[]) row;
+        for (int i = 0; i < count; i++) counts[patterns[candidates[i]] & 0xFF]++;
+    }
+
+    @Override
+    public void countPatterns(int g, int[] candidates, int count, double[] weights, double[] sums) {
+        Object row = cachedRow(g);
+        if (wide) {
+            short[] patterns = (short[]) row;
+            for (int i = 0; i < count; i++) sums[patterns[candidates[i]]] += weights[candidates[i]];
+            return;
+        }
+        byte[] patterns = (byte[]) row;
+        for (int i = 0; i < count; i++) sums[patterns[candidates[i]] & 0xFF] += weights[candidates[i]];
+    }
+
+    // returns row g, computing it if it is not cached
+    private Object cachedRow(int g) {
+        Object row = rows.get(g);
+        if (row != null) {
+            hits.increment();
+            if (head != g) touch(g);
+            return row;
+        }
+        misses.increment();
+        return insert(g, compute(g));
+    }
+
+    private Object compute(int g) {
+        int[] codes = new int[numAnswers];
+        matrix.computeRow(g, codes);
+        if (wide) {
+            short[] row = new short[numAnswers];
+            for (int a = 0; a < numAnswers; a++) row[a] = (short) codes[a];
+            return row;
+        }
+        byte[] row = new byte[numAnswers];
+        for (int a = 0; a < numAnswers; a++) row[a] = (byte) codes[a];
+        return row;
+    }
+
+    // moves a cached guess to the head of the use order
+    private synchronized void touch(int g) {
+        if (rows.get(g) == null || head == g) return; // evicted or moved meanwhile
+        unlink(g);
+        linkFirst(g);
+    }
+
+    // caches a computed row (unless another thread got there first) and returns the cached one
+    private synchronized Object insert(int g, Object row) {
+        Object cached = rows.get(g);
+        if (cached != null) return cached;
+        if (cachedRows == capacityRows) {
+            int lru = tail;
+            unlink(lru);
+            rows.set(lru, null);
+            cachedRows--;
+            evictions.increment();
+        }
+        rows.set(g, row);
+        linkFirst(g);
+        cachedRows++;
+        return row;
+    }
+
+    private void unlink(int g) {
+        if (prev[g] == NONE) head = next[g];
+        else next[prev[g]] = next[g];
+        if (next[g] == NONE) tail = prev[g];
+        else prev[next[g]] = prev[g];
+    }
+
+    private void linkFirst(int g) {
+        prev[g] = NONE;
+        next[g] = head;
+        if (head != NONE) prev[head] = g;
+        else tail = g;
+        head = g;
+    }
+
+    /**
+     * Computes the rows in [from, to) that are not cached yet, in parallel (only as many as fit).
+     */
+    @Override
+    public void prepareRows(int from, int to) {
+        int[] missing = new int[to - from];
+        int n = 0;
+        for (int g = from; g < to && n < capacityRows; g++) {
+            if (rows.get(g) == null) missing[n++] = g;
+        }
+        if (n == 0) return;
+        misses.add(n);
+        IntStream.range(0, n).parallel().forEach(i -> insert(missing[i], compute(missing[i])));
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Returns the bytes taken by the cached rows.
+     */
+    public synchronized long usedBytes() {
+        return cachedRows * rowBytes;
+    }
+
+    public long capacityBytes() {
+        return capacityBytes;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "LazyPatternTable{rows " + cachedRows + "/" + capacityRows + ", " + usedBytes() + " of " + capacityBytes
+                + " bytes, hits " + hits() + ", misses " + misses() + ", evictions " + evictions() + "}";
+    }
+}
@@ -0,0 +1,120 @@
+package project20280.wordle;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LazyPatternTableTest {
+    private static final List<String> WORDS = new Wordle().getDictionary();
+
+    @Test
+    void testSameEntries() {
+        PatternMatrix heap = new PatternMatrix(WORDS);
+        PatternMatrix lazy = new PatternMatrix(WORDS, WORDS, PatternStorage.lazy(100L * WORDS.size()));
+        IntStream.range(0, heap.guessCount()).parallel().forEach(g -> {
+            for (int a = 0; a < heap.answerCount(); a++) {
+                if (heap.get(g, a) != lazy.get(g, a)) fail(heap.guess(g) + " " + heap.answer(a));
+            }
+        });
+
+        LazyPatternTable table = (LazyPatternTable) lazy.getTable();
+        assertTrue(table.usedBytes() <= table.capacityBytes());
+        assertTrue(table.evictions() > 0);
+    }
+
+    @Test
+    void testCounters() {
+        PatternMatrix matrix = new PatternMatrix(WORDS, WORDS, PatternStorage.lazy(2L * WORDS.size())); // two rows
+        LazyPatternTable table = (LazyPatternTable) matrix.getTable();
+        assertEquals(0, table.usedBytes());
+
+        matrix.get(0, 0);
+        assertEquals(1, table.misses());
+        matrix.get(0, 1);
+        assertEquals(1, table.hits());
+        matrix.get(1, 0);
+        matrix.get(0, 2); // row 0 is now the most recently used
+        matrix.get(2, 0); // so row 1 is dropped
+        assertEquals(1, table.evictions());
+        assertEquals(2L * WORDS.size(), table.usedBytes());
+
+        matrix.get(0, 3);
+        assertEquals(3, table.misses());
+        matrix.get(1, 0);
+        assertEquals(4, table.misses());
+        assertEquals(2, table.evictions());
+    }
+
+    @Test
+    void testRow() {
+        // a row is looked up once, however many of its entries are read
+        PatternMatrix heap = new PatternMatrix(WORDS);
+        PatternMatrix matrix = new PatternMatrix(WORDS, WORDS, PatternStorage.lazy(2L * WORDS.size()));
+        LazyPatternTable table = (LazyPatternTable) matrix.getTable();
+        for (int g : new int[]{0, 1, 0, 2, 7}) {
+            long reads = table.hits() + table.misses();
+            PatternTable.Row row = matrix.row(g);
+            PatternTable.Row expected = heap.row(g);
+            for (int a = 0; a < WORDS.size(); a++) assertEquals(expected.get(a), row.get(a));
+            assertEquals(reads + 1, table.hits() + table.misses());
+        }
+        assertEquals(1, table.hits()); // row 0 the second time
+        assertEquals(2, table.evictions());
+    }
+
+    @Test
+    void testPrepareRows() {
+        PatternMatrix matrix = new PatternMatrix(WORDS, WORDS, PatternStorage.lazy(10L * WORDS.size()));
+        LazyPatternTable table = (LazyPatternTable) matrix.getTable();
+        matrix.prepareRows(0, 20); // only as many as fit
+        assertEquals(10, table.misses());
+        assertEquals(10L * WORDS.size(), table.usedBytes());
+
+        long hits = table.hits();
+        for (int g = 0; g < 10; g++) matrix.get(g, 0);
+        assertEquals(hits + 10, table.hits());
+        assertEquals(10, table.misses());
+
+        matrix.prepareRows(0, 10); // nothing missing
+        assertEquals(10, table.misses());
+    }
+
+    @Test
+    void testTooSmall() {
+        assertThrows(IllegalArgumentException.class, () -> new PatternMatrix(WORDS, WORDS, PatternStorage.lazy(WORDS.size() - 1)));
+        assertInstanceOf(LazyPatternTable.class, new PatternMatrix(WORDS, WORDS, PatternStorage.parse("lazy:1")).getTable());
+    }
+
+    @Test
+    void testSameGamesWithAnyStorage(@TempDir Path dir) {
+        List<PatternStorage> storages = List.of(PatternStorage.heap(), PatternStorage.offHeap(),
+                PatternStorage.mapped(dir.resolve("patterns.bin")), PatternStorage.lazy(200L * WORDS.size()));
+        int[][] games = new int[storages.size()][];
+        for (int s = 0; s < storages.size(); s++) {
+            SolverTables tables = new SolverTables(WORDS, storages.get(s));
+            PatternMatrix matrix = tables.getPatternMatrix();
+            BitsetSolver solver = new BitsetSolver(tables, RankingMode.ENTROPY);
+            games[s] = new int[10];
+            for (int t = 0; t < games[s].length; t++) {
+                solver.reset();
+                int target = t * 197;
+                int turns = 0;
+                while (true) {
+                    int g = solver.suggestIndex();
+                    turns++;
+                    int pattern = matrix.get(g, target);
+                    if (pattern == matrix.allGreen()) break;
+                    solver.apply(g, pattern);
+                }
+                games[s][t] = turns;
+            }
+            if (matrix.getTable() instanceof SegmentPatternTable segment) segment.close();
+        }
+        for (int s = 1; s < storages.size(); s++) assertArrayEquals(games[0], games[s]);
+    }
+}
@@ -0,0 +1,135 @@
+package project20280.wordle;
+
+import java.util.List;
+
+/*
+ * Letter counts over the current candidate words, kept up to date as candidates are removed.
+ *
+ * Instead of recounting the letters of every word after each guess, the counts start from the
+ * whole word list and the letters of each removed word are subtracted. Scoring a word is then
+ * a few array lookups, and the total counting work over a game is one pass over the word list.
+ */
+
+public class LetterStatistics {
+    private final byte[] letters;   // letters[index * length + k] = letter k of word index ('a' = 0)
+    private final int length;
+    private final int[] letterCount;   // occurrences of each letter over the candidates
+    private final int[] positionCount; // [k * 26 + letter] occurrences of the letter at position k
+    private int size;                  // number of candidate words counted
+
+    /**
+     * Creates statistics over every word of the list (all words are candidates).
+     */
+    public LetterStatistics(List<String> words) {
+        this.length = Feedback.wordLength(words);
+        this.letters = new byte[words.size() * length];
+        for (int i = 0; i < words.size(); i++) {
+            String word = words.get(i);
+            for (int k = 0; k < length; k++) letters[i * length + k] = (byte) (word.charAt(k) - 'a');
+        }
+        this.letterCount = new int[26];
+        this.positionCount = new int[length * 26];
+        for (int i = 0; i < words.size(); i++) add(i);
+    }
+
+    // copy constructor, shares the (read-only) letters
+    private LetterStatistics(LetterStatistics other) {
+        this.letters = other.letters;
+        this.length = other.length;
+        this.letterCount = other.letterCount.clone();
+        this.positionCount = other.positionCount.clone();
+        this.size = other.size;
+    }
+
+    public LetterStatistics copy() {
+        return new LetterStatistics(this);
+    }
+
+    /**
+     * Resets these statistics to the same counts as another instance over the same word list.
+     */
+    public void copyFrom(LetterStatistics other) {
+        System.arraycopy(other.letterCount, 0, letterCount, 0, letterCount.length);
+        System.arraycopy(other.positionCount, 0, positionCount, 0, positionCount.length);
+        size = other.size;
+    }
+
+    /**
+     * Counts the letters of word number index.
+     */
+    public void add(int index) {
+        int offset = index * length;
+        for (int k = 0; k < length; k++) {
+            int letter = letters[offset + k];
+            letterCount[letter]++;
+            positionCount[k * 26 + letter]++;
+        }
+        size++;
+    }
+
+    /**
+     * Subtracts the letters of word number index (a candidate that has been ruled out).
+     */
+    public void remove(int index) {
+        int offset = index * length;
+        for (int k = 0; k < length; k++) {
+            int letter = letters[offset + k];
+            letterCount[letter]--;
+            positionCount[k * 26 + letter]--;
+        }
+        size--;
+    }
+
+    /**
+     * Subtracts every word that is in before but no longer in after (the words a filter step removed).
+     */
+    public void removeAll(CandidateSet before, CandidateSet after) {
+        long[] was = before.bits();
+        long[] now = after.bits();
+        for (int i = 0; i < was.length; i++) {
+            long removed = was[i] & ~now[i];
+            while (removed != 0) {
+                remove((i << 6) + Long.numberOfTrailingZeros(removed));
+                removed &= removed - 1;
+            }
+        }
+    }
+
+    /**
+     * Returns the letter frequency score of word number index: the sum, over its letters,
+     * of how often that letter occurs in the candidates.
+     */
+    public int score(int index) {
+        int offset = index * length;
+        int score = 0;
+        for (int k = 0; k < length; k++) score += letterCount[letters[offset + k]];
+        return score;
+    }
+
+    /**
+     * Same as {@link #score(int)} for any word.
+     */
+    public int score(String word) {
+        int score = 0;
+        for (int k = 0; k < word.length(); k++) {
+            char c = word.charAt(k);
+            if (c >= 'a' && c <= 'z') score += letterCount[c - 'a'];
+        }
+        return score;
+    }
+
+    public int letterCount(char letter) {
+        return letterCount[letter - 'a'];
+    }
+
+    public int positionCount(int position, char letter) {
+        return positionCount[position * 26 + letter - 'a'];
+    }
+
+    /**
+     * Returns the number of candidate words counted.
+     */
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,50 @@
+package project20280.wordle;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LetterStatisticsTest {
+
+    @Test
+    void testCounts() {
+        LetterStatistics stats = new LetterStatistics(List.of("abbey", "kebab", "kayak"));
+        assertEquals(3, stats.size());
+        assertEquals(4, stats.letterCount('b'));
+        assertEquals(2, stats.positionCount(0, 'k'));
+        assertEquals(4 + 4 + 4 + 2 + 0, stats.score("babes")); // b, a, b, e, s
+        assertEquals(stats.score("kayak"), stats.score(2));
+
+        stats.remove(1); // kebab
+        assertEquals(2, stats.size());
+        assertEquals(2, stats.letterCount('b'));
+        assertEquals(1, stats.positionCount(0, 'k'));
+    }
+
+    @Test
+    void testIncrementalMatchesRecount() {
+        Wordle wordle = new Wordle();
+        List<String> words = wordle.getDictionary();
+        ConstraintIndex index = wordle.getConstraintIndex();
+        LetterStatistics stats = wordle.getLetterStatistics().copy();
+
+        CandidateSet candidates = index.all();
+        CandidateSet previous = index.all();
+        String target = "lobby";
+        for (String guess : new String[]{"raise", "clout", "bobby"}) {
+            previous.copyFrom(candidates);
+            index.applyHint(guess, Feedback.compute(guess, target), candidates);
+            stats.removeAll(previous, candidates);
+
+            LetterStatistics recount = new LetterStatistics(wordle.getWords(candidates));
+            assertEquals(recount.size(), stats.size());
+            for (char c = 'a'; c <= 'z'; c++) {
+                assertEquals(recount.letterCount(c), stats.letterCount(c));
+                for (int k = 0; k < 5; k++) assertEquals(recount.positionCount(k, c), stats.positionCount(k, c));
+            }
+        }
+        assertEquals(words.size(), wordle.getLetterStatistics().size()); // the shared counts are untouched
+    }
+}
@@ -0,0 +1,119 @@
+package project20280.wordle;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/*
+ * Read-only view of a binary dictionary written by DictionaryCompiler.
+ *
+ * The file is memory-mapped, so opening it costs only the header and checksum checks,
+ * and no String is created until a word is asked for with word(i) (or get(i) on asList()).
+ * The packed form of a word can be read directly with packed(i) / letterAt(i, k).
+ */
+
+public class MappedDictionary {
+    public static final String EXTENSION = ".wdict";
+    private static final int WORD_MASK = (1 << (Feedback.WORD_LENGTH * PackedWord.BITS_PER_LETTER)) - 1;
+
+    private final MappedByteBuffer buffer;
+    private final int size;
+    private final int wordLength;
+    private final int wordBits;
+
+    private MappedDictionary(MappedByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.limit() < DictionaryCompiler.HEADER_SIZE || buffer.getInt(0) != DictionaryCompiler.MAGIC) {
+            throw new IOException("Not a binary dictionary file");
+        }
+        if (buffer.getShort(4) != DictionaryCompiler.VERSION) {
+            throw new IOException("Unsupported dictionary format version " + buffer.getShort(4));
+        }
+        wordLength = buffer.getShort(6);
+        if (wordLength != Feedback.WORD_LENGTH) {
+            throw new IOException("Unsupported word length " + wordLength);
+        }
+        wordBits = wordLength * PackedWord.BITS_PER_LETTER;
+        size = buffer.getInt(8);
+        if (size < 0) throw new IOException("Dictionary file is corrupt"); // the checksum doesn't cover the header
+
+        int payloadLength = buffer.getInt(12);
+        if (payloadLength != buffer.limit() - DictionaryCompiler.HEADER_SIZE
+                || payloadLength < ((long) size * wordBits + 7) / 8 + DictionaryCompiler.PADDING) {
+            throw new IOException("Dictionary file is truncated");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(DictionaryCompiler.HEADER_SIZE, payloadLength));
+        if ((int) crc.getValue() != buffer.getInt(16)) {
+            throw new IOException("Dictionary file checksum does not match");
+        }
+    }
+
+    /**
+     * Maps a binary dictionary file and checks its header and checksum.
+     *
+     * @throws IOException if the file can't be read or is not a valid dictionary
+     */
+    public static MappedDictionary open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // the mapping stays valid after the channel is closed
+            return new MappedDictionary(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int wordLength() {
+        return wordLength;
+    }
+
+    /**
+     * Returns word i in its packed form (see PackedWord).
+     */
+    public int packed(int i) {
+        if (i < 0 || i >= size) throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + size);
+        long bit = (long) i * wordBits;
+        int offset = DictionaryCompiler.HEADER_SIZE + (int) (bit >>> 3);
+        return (buffer.getInt(offset) >>> (bit & 7)) & WORD_MASK;
+    }
+
+    /**
+     * Returns the letter at the given position of word i, without creating a String.
+     */
+    public char letterAt(int i, int position) {
+        return PackedWord.letterAt(packed(i), position);
+    }
+
+    /**
+     * Returns word i as a String (a new String every call).
+     */
+    public String word(int i) {
+        return PackedWord.unpack(packed(i), wordLength);
+    }
+
+    /**
+     * Returns a read-only List view of the words; each get(i) decodes the word on demand.
+     */
+    public List<String> asList() {
+        return new AbstractList<>() {
+            @Override
+            public String get(int index) {
+                return word(index);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+}
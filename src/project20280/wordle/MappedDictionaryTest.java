@@ -0,0 +1,80 @@
+package project20280.wordle;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedDictionaryTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testPackedWord() {
+        int packed = PackedWord.pack("kayak");
+        assertEquals('k', PackedWord.letterAt(packed, 0));
+        assertEquals('y', PackedWord.letterAt(packed, 2));
+        assertEquals("kayak", PackedWord.unpack(packed, 5));
+        assertEquals(0, PackedWord.pack("aaaaa"));
+        assertThrows(IllegalArgumentException.class, () -> PackedWord.pack("Kayak"));
+    }
+
+    @Test
+    void testRoundTrip() throws IOException {
+        for (String fileName : new String[]{"project20280/wordle/resources/dictionary.txt",
+                "project20280/wordle/resources/extended-dictionary.txt"}) {
+            List<String> words = new Wordle(fileName).getDictionary();
+            Path file = tempDir.resolve("words" + MappedDictionary.EXTENSION);
+            DictionaryCompiler.compile(words, file);
+
+            // 25 bits per word plus the header
+            assertEquals(DictionaryCompiler.HEADER_SIZE + (words.size() * 25L + 7) / 8 + DictionaryCompiler.PADDING, Files.size(file));
+
+            MappedDictionary dictionary = MappedDictionary.open(file);
+            assertEquals(words.size(), dictionary.size());
+            for (int i = 0; i < words.size(); i++) {
+                assertEquals(words.get(i), dictionary.word(i));
+                assertEquals(words.get(i).charAt(3), dictionary.letterAt(i, 3));
+            }
+            assertEquals(words, dictionary.asList());
+            assertThrows(IndexOutOfBoundsException.class, () -> dictionary.word(words.size()));
+        }
+    }
+
+    @Test
+    void testCorruptFile() throws IOException {
+        Path file = tempDir.resolve("corrupt" + MappedDictionary.EXTENSION);
+        byte[] bytes = DictionaryCompiler.toBytes(List.of("abbey", "kebab", "babes"));
+        bytes[DictionaryCompiler.HEADER_SIZE + 2] ^= 1; // flip one bit of a word
+        Files.write(file, bytes);
+        assertThrows(IOException.class, () -> MappedDictionary.open(file));
+
+        Files.write(file, new byte[]{1, 2, 3});
+        assertThrows(IOException.class, () -> MappedDictionary.open(file));
+
+        // a negative word count (the header is not covered by the checksum)
+        bytes = DictionaryCompiler.toBytes(List.of("abbey", "kebab", "babes"));
+        bytes[11] = (byte) 0x80; // top byte of the little-endian count at 8
+        Files.write(file, bytes);
+        assertThrows(IOException.class, () -> MappedDictionary.open(file));
+    }
+
+    @Test
+    void testWordleLoadsBinaryDictionary() throws IOException {
+        Wordle text = new Wordle("project20280/wordle/resources/dictionary.txt");
+        List<String> words = text.getDictionary();
+        Path file = tempDir.resolve("dictionary" + MappedDictionary.EXTENSION);
+        DictionaryCompiler.compile(words, file);
+
+        Wordle binary = new Wordle(file.toString());
+        assertEquals(words, binary.getDictionary());
+        assertEquals("[_, o, +, o, o]", Arrays.toString(binary.getHints("abbey", "kebab")));
+    }
+}
@@ -0,0 +1,227 @@
+package project20280.wordle;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/*
+ * Solver for several boards played at once (Quordle has 4, Octordle 8): every guess is played on
+ * all the boards, and each board has its own target and gives its own hint.
+ *
+ * Each board keeps its own candidate bitset. A guess is scored by the sum of its entropy (see
+ * EntropyRanker) over the boards that are not solved yet, except that a board with a single
+ * candidate left is finished first by guessing that word.
+ *
+ * Ranking is one pass over the guesses: for each guess, the pattern matrix row is read for the
+ * candidates of every board before moving on, so the row is loaded once for all the boards.
+ * Boards with the same candidates (all of them at the start, or boards that got the same hints)
+ * are scored once and counted as many times as they appear. Each group's entropy is added up as
+ * the candidates are counted, c * log2(c) growing by a table lookup per candidate, so nothing
+ * loops over all the patterns.
+ */
+
+public class MultiBoardSolver {
+    private final SolverTables tables;
+    private final PatternMatrix patterns;
+    private final ConstraintIndex index;
+    private final CandidateSet[] boards;
+    private final boolean[] solved;
+    private final int[][] groupIds;     // candidates of each distinct board, filled by rank()
+    private final int[] groupCount;
+    private final int[] groupTimes;     // number of boards with those candidates
+    private final double[] groupLog2n;  // log2 of the number of candidates
+    private final double[] scores;
+    private final double[] delta;       // delta[c] = (c+1) * log2(c+1) - c * log2(c)
+
+    // one pattern count array per worker thread
+    private final ThreadLocal<int[]> partitionCounts;
+
+    private int turn = 0;
+    private int suggestion = -1;
+
+    public MultiBoardSolver(SolverTables tables, int numBoards) {
+        if (numBoards < 1) throw new IllegalArgumentException("Need at least one board: " + numBoards);
+        this.tables = tables;
+        this.patterns = tables.getPatternMatrix();
+        this.index = tables.getConstraintIndex();
+        this.boards = new CandidateSet[numBoards];
+        for (int b = 0; b < numBoards; b++) boards[b] = index.all();
+        this.solved = new boolean[numBoards];
+
+        this.groupIds = new int[numBoards][patterns.answerCount()];
+        this.groupCount = new int[numBoards];
+        this.groupTimes = new int[numBoards];
+        this.groupLog2n = new double[numBoards];
+        this.scores = new double[patterns.guessCount()];
+        this.partitionCounts = ThreadLocal.withInitial(() -> new int[patterns.patternCount()]);
+
+        this.delta = new double[patterns.answerCount() + 1];
+        for (int c = 0; c < delta.length; c++) delta[c] = cLog2c(c + 1) - cLog2c(c);
+    }
+
+    private static double cLog2c(int c) {
+        return c < 2 ? 0 : c * (Math.log(c) / Math.log(2));
+    }
+
+    /**
+     * Returns the guess to play next on every board.
+     *
+     * @throws IllegalStateException if all boards are solved, or no word matches a board's hints
+     */
+    public String suggest() {
+        return patterns.guess(suggestIndex());
+    }
+
+    /**
+     * Same as {@link #suggest()}, as an index into the pattern matrix guesses.
+     */
+    public int suggestIndex() {
+        if (suggestion < 0) {
+            if (unsolved() == 0) throw new IllegalStateException("All boards are solved.");
+            for (int b = 0; b < boards.length; b++) {
+                if (!solved[b] && boards[b].isEmpty()) throw new IllegalStateException("No word matches the hints given on board " + (b + 1) + ".");
+            }
+            // every board starts the same, so the opening is the single board one
+            suggestion = turn == 0 ? tables.openingGuess(RankingMode.ENTROPY, this::rankOpening) : rank();
+        }
+        return suggestion;
+    }
+
+    /**
+     * Narrows each board's candidates with its hint for the guess. Boards already solved are
+     * skipped, and a board whose hint is all green is solved.
+     *
+     * @param feedback one pattern code per board (ignored for solved boards)
+     */
+    public void apply(String guess, int[] feedback) {
+        if (feedback.length != boards.length) {
+            throw new IllegalArgumentException("Expected " + boards.length + " hints, got " + feedback.length);
+        }
+        for (int b = 0; b < boards.length; b++) {
+            if (solved[b]) continue;
+            if (feedback[b] == patterns.allGreen()) solved[b] = true;
+            else index.applyHint(guess, feedback[b], boards[b]);
+        }
+        turn++;
+        suggestion = -1;
+    }
+
+    /**
+     * Same as {@link #apply(String, int[])} for a guess given by its index.
+     */
+    public void apply(int guess, int[] feedback) {
+        apply(patterns.guess(guess), feedback);
+    }
+
+    /**
+     * Starts a new game on every board.
+     */
+    public void reset() {
+        for (CandidateSet board : boards) board.fill();
+        Arrays.fill(solved, false);
+        turn = 0;
+        suggestion = -1;
+    }
+
+    public int boards() {
+        return boards.length;
+    }
+
+    public boolean isSolved(int board) {
+        return solved[board];
+    }
+
+    /**
+     * Returns the number of boards not solved yet.
+     */
+    public int unsolved() {
+        int n = 0;
+        for (boolean s : solved) if (!s) n++;
+        return n;
+    }
+
+    /**
+     * Returns the words that still match every hint on a board (read only).
+     */
+    public CandidateSet getCandidates(int board) {
+        return boards[board];
+    }
+
+    private int rankOpening() {
+        int[] all = new int[patterns.answerCount()];
+        int count = index.all().toArray(all);
+        return tables.getEntropyRanker().bestGuess(all, count);
+    }
+
+    private int rank() {
+        // a board down to one word: play it
+        for (int b = 0; b < boards.length; b++) {
+            if (!solved[b] && boards[b].size() == 1) return patterns.guessIndex(patterns.answer(boards[b].nextSetBit(0)));
+        }
+
+        int groups = group();
+        patterns.prepareRows(0, scores.length);
+        long work = 0;
+        for (int k = 0; k < groups; k++) work += groupCount[k];
+        if (work * scores.length < EntropyRanker.PARALLEL_THRESHOLD) {
+            int[] counts = partitionCounts.get();
+            for (int g = 0; g < scores.length; g++) scores[g] = score(g, groups, counts);
+        } else {
+            IntStream.range(0, scores.length).parallel().forEach(g -> scores[g] = score(g, groups, partitionCounts.get()));
+        }
+
+        // highest score, then guesses that could be the answer on some board, then the lowest index
+        int best = -1;
+        boolean bestIsCandidate = false;
+        for (int g = 0; g < scores.length; g++) {
+            boolean candidate = isCandidate(g);
+            if (best < 0 || scores[g] > scores[best] || (scores[g] == scores[best] && candidate && !bestIsCandidate)) {
+                best = g;
+                bestIsCandidate = candidate;
+            }
+        }
+        return best;
+    }
+
+    // fills the group arrays with the distinct candidate sets of the unsolved boards, returns how many
+    private int group() {
+        int groups = 0;
+        int[] first = new int[boards.length]; // a board of each group
+        for (int b = 0; b < boards.length; b++) {
+            if (solved[b]) continue;
+            int k = 0;
+            while (k < groups && !boards[first[k]].equals(boards[b])) k++;
+            if (k == groups) {
+                first[groups] = b;
+                groupCount[groups] = boards[b].toArray(groupIds[groups]);
+                groupLog2n[groups] = Math.log(groupCount[groups]) / Math.log(2);
+                groupTimes[groups] = 0;
+                groups++;
+            }
+            groupTimes[k]++;
+        }
+        return groups;
+    }
+
+    // summed entropy of guess g over the groups
+    private double score(int g, int groups, int[] counts) {
+        PatternTable.Row row = patterns.row(g);
+        double total = 0;
+        for (int k = 0; k < groups; k++) {
+            int[] ids = groupIds[k];
+            int n = groupCount[k];
+            double sum = 0; // sum of c * log2(c) over the patterns
+            for (int i = 0; i < n; i++) sum += delta[counts[row.get(ids[i])]++];
+            for (int i = 0; i < n; i++) counts[row.get(ids[i])] = 0;
+            double entropy = groupLog2n[k] - sum / n;
+            total += groups == 1 ? entropy : groupTimes[k] * entropy;
+        }
+        return total;
+    }
+
+    private boolean isCandidate(int g) {
+        int a = patterns.answerIndexOfGuess(g);
+        if (a < 0) return false;
+        for (int b = 0; b < boards.length; b++) if (!solved[b] && boards[b].contains(a)) return true;
+        return false;
+    }
+}
@@ -0,0 +1,100 @@
+package project20280.wordle;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MultiBoardSolverTest {
+
+    // plays the targets on one solver, returns the number of guesses to solve every board
+    private static int play(MultiBoardSolver solver, PatternMatrix patterns, int[] targets, int maxTurns) {
+        solver.reset();
+        int[] feedback = new int[targets.length];
+        for (int turn = 1; turn <= maxTurns; turn++) {
+            int guess = solver.suggestIndex();
+            for (int b = 0; b < targets.length; b++) {
+                feedback[b] = patterns.get(guess, targets[b]);
+                if (!solver.isSolved(b)) assertTrue(solver.getCandidates(b).contains(targets[b]));
+            }
+            solver.apply(guess, feedback);
+            if (solver.unsolved() == 0) return turn;
+        }
+        return -1;
+    }
+
+    @Test
+    void testSolvesEveryBoard() {
+        Wordle wordle = new Wordle();
+        PatternMatrix patterns = wordle.getPatternMatrix();
+        MultiBoardSolver solver = new MultiBoardSolver(wordle.getSolverTables(), 8);
+        Random random = new Random(20280);
+        for (int game = 0; game < 10; game++) {
+            int[] targets = new int[8];
+            for (int b = 0; b < 8; b++) targets[b] = random.nextInt(patterns.answerCount());
+            int turns = play(solver, patterns, targets, 20);
+            assertTrue(turns > 0 && turns <= 13, "game " + game + ": " + turns); // Octordle allows 13
+        }
+    }
+
+    @Test
+    void testOneBoardMatchesEntropy() {
+        // with one board the suggestion is a best entropy guess (the same one up to rounding)
+        Wordle wordle = new Wordle();
+        PatternMatrix patterns = wordle.getPatternMatrix();
+        EntropyRanker ranker = wordle.getEntropyRanker();
+        MultiBoardSolver multi = new MultiBoardSolver(wordle.getSolverTables(), 1);
+        BitsetSolver single = new BitsetSolver(wordle.getSolverTables(), RankingMode.ENTROPY);
+        int[] ids = new int[patterns.answerCount()];
+        int[] counts = new int[patterns.patternCount()];
+        for (int target = 0; target < patterns.answerCount(); target += 97) {
+            multi.reset();
+            single.reset();
+            int guess = single.suggestIndex();
+            assertEquals(guess, multi.suggestIndex());
+            int pattern = patterns.get(guess, target);
+            if (pattern == patterns.allGreen()) continue;
+            multi.apply(guess, new int[]{pattern});
+            single.apply(guess, pattern);
+            if (single.remaining() == 1) continue;
+
+            int count = single.getCandidates().toArray(ids);
+            assertEquals(ranker.entropy(single.suggestIndex(), ids, count, counts), ranker.entropy(multi.suggestIndex(), ids, count, counts),
+                    1e-9, patterns.answer(target));
+        }
+    }
+
+    @Test
+    void testIdenticalBoards() {
+        // boards with the same target stay identical and are solved by the same guess
+        Wordle wordle = new Wordle();
+        PatternMatrix patterns = wordle.getPatternMatrix();
+        MultiBoardSolver solver = new MultiBoardSolver(wordle.getSolverTables(), 4);
+        int target = patterns.answerIndex("lobby");
+        int other = patterns.answerIndex("crane");
+        assertTrue(play(solver, patterns, new int[]{target, target, other, target}, 20) > 0);
+        assertTrue(solver.isSolved(0) && solver.isSolved(1) && solver.isSolved(3));
+        assertThrows(IllegalStateException.class, solver::suggest);
+    }
+
+    @Test
+    void testSingleCandidateFirst() {
+        Wordle wordle = new Wordle();
+        PatternMatrix patterns = wordle.getPatternMatrix();
+        MultiBoardSolver solver = new MultiBoardSolver(wordle.getSolverTables(), 2);
+        int[] targets = {patterns.answerIndex("lobby"), patterns.answerIndex("crane")};
+        // hobby leaves bobby and lobby on the first board (and many words on the second), then
+        // bobby leaves only lobby
+        for (String guess : new String[]{"hobby", "bobby"}) {
+            int g = patterns.guessIndex(guess);
+            solver.apply(g, new int[]{patterns.get(g, targets[0]), patterns.get(g, targets[1])});
+        }
+        assertEquals(1, solver.getCandidates(0).size());
+        assertTrue(solver.getCandidates(1).size() > 1);
+        assertEquals("lobby", solver.suggest());
+
+        assertThrows(IllegalArgumentException.class, () -> solver.apply("lobby", new int[]{0}));
+        assertThrows(IllegalArgumentException.class, () -> new MultiBoardSolver(wordle.getSolverTables(), 0));
+    }
+}
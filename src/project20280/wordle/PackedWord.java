@@ -0,0 +1,63 @@
+package project20280.wordle;
+
+/*
+ * Packs a lowercase word into an int, 5 bits per letter ('a' = 0 ... 'z' = 25).
+ * Letter k is stored in bits 5k..5k+4, so a 5-letter word takes 25 bits.
+ * Words of up to 12 letters can be packed into a long the same way (see WordBank).
+ */
+
+public final class PackedWord {
+    public static final int BITS_PER_LETTER = 5;
+    static final int LETTER_MASK = (1 << BITS_PER_LETTER) - 1;
+
+    private PackedWord() {}
+
+    public static int pack(CharSequence word) {
+        if (word.length() * BITS_PER_LETTER > 30) {
+            throw new IllegalArgumentException("Word too long to pack: " + word);
+        }
+        int packed = 0;
+        for (int k = word.length() - 1; k >= 0; k--) {
+            char c = word.charAt(k);
+            if (c < 'a' || c > 'z') throw new IllegalArgumentException("Not a lowercase word: " + word);
+            packed = (packed << BITS_PER_LETTER) | (c - 'a');
+        }
+        return packed;
+    }
+
+    /**
+     * Same as {@link #pack} into a long, for words of up to 12 letters.
+     */
+    public static long packLong(CharSequence word) {
+        if (word.length() * BITS_PER_LETTER > 60) {
+            throw new IllegalArgumentException("Word too long to pack: " + word);
+        }
+        long packed = 0;
+        for (int k = word.length() - 1; k >= 0; k--) {
+            char c = word.charAt(k);
+            if (c < 'a' || c > 'z') throw new IllegalArgumentException("Not a lowercase word: " + word);
+            packed = (packed << BITS_PER_LETTER) | (c - 'a');
+        }
+        return packed;
+    }
+
+    public static char letterAt(long packed, int position) {
+        return (char) ('a' + ((packed >>> (position * BITS_PER_LETTER)) & LETTER_MASK));
+    }
+
+    public static String unpack(long packed, int length) {
+        char[] letters = new char[length];
+        for (int k = 0; k < length; k++) letters[k] = letterAt(packed, k);
+        return new String(letters);
+    }
+
+    public static char letterAt(int packed, int position) {
+        return (char) ('a' + ((packed >>> (position * BITS_PER_LETTER)) & LETTER_MASK));
+    }
+
+    public static String unpack(int packed, int length) {
+        char[] letters = new char[length];
+        for (int k = 0; k < length; k++) letters[k] = letterAt(packed, k);
+        return new String(letters);
+    }
+}
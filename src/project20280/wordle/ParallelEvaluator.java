@@ -0,0 +1,274 @@
+package project20280.wordle;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/*
+ * Plays every answer of a dictionary as the target on a fork-join pool, always guessing the
+ * solver's top suggestion (or following a DecisionTree), to evaluate a strategy much faster than
+ * one game after another. This is the game loop behind WordleBenchmark.
+ *
+ *  -> the range of targets is split in halves until a piece is small enough (about 8 pieces per
+ *     thread, so idle threads can steal work from busy ones)
+ *  -> each worker thread plays its games with its own BitsetSolver, reset for every game, and all
+ *     of the solvers share the same read-only SolverTables
+ *  -> each game writes only its own slot of the results (guesses needed, a hash of the guesses
+ *     played and the time of each turn), and the totals are added up afterwards in target order
+ * So the results are exactly the same whatever the number of threads and whichever thread plays
+ * which game: a game depends only on its target, and nothing is added up in the order games finish.
+ * The checksum covers every guess of every game, so two runs can be compared with one number.
+ * Only the timings differ from run to run.
+ */
+
+public class ParallelEvaluator {
+    static final int PIECES_PER_THREAD = 8;
+
+    private final SolverTables tables;
+    private final PatternMatrix patterns;
+    private final RankingMode mode;
+    private final int maxTurns;
+    private final DecisionTree tree; // null to rank the guesses each turn
+
+    public ParallelEvaluator(SolverTables tables, RankingMode mode, int maxTurns) {
+        this(tables, mode, maxTurns, null);
+    }
+
+    /**
+     * Evaluator that looks the guesses up in a decision tree (built for the same tables) instead of
+     * ranking them each turn, if tree is not null.
+     */
+    public ParallelEvaluator(SolverTables tables, RankingMode mode, int maxTurns, DecisionTree tree) {
+        if (maxTurns <= 0) throw new IllegalArgumentException("maxTurns must be positive: " + maxTurns);
+        this.tables = tables;
+        this.patterns = tables.getPatternMatrix(); // built once here, not by whichever game gets there first
+        this.mode = mode;
+        this.maxTurns = maxTurns;
+        this.tree = tree;
+    }
+
+    /**
+     * Plays every answer as the target on the pool, and returns the results.
+     */
+    public Result run(ForkJoinPool pool) {
+        int games = patterns.answerCount();
+        int[] guessCounts = new int[games];
+        long[] gameHashes = new long[games];
+        long[][] turnNanos = new long[games][];
+        ThreadLocal<BitsetSolver> solvers = ThreadLocal.withInitial(() -> tree == null ? new BitsetSolver(tables, mode) : null);
+        int grain = Math.max(1, games / (pool.getParallelism() * PIECES_PER_THREAD));
+
+        long start = System.nanoTime();
+        pool.invoke(new PlayTask(0, games, grain, solvers, guessCounts, gameHashes, turnNanos));
+        return new Result(guessCounts, gameHashes, turnNanos, System.nanoTime() - start);
+    }
+
+    /**
+     * Plays every answer as the target with the given number of threads.
+     */
+    public Result run(int threads) {
+        try (ForkJoinPool pool = new ForkJoinPool(threads)) {
+            return run(pool);
+        }
+    }
+
+    /**
+     * Plays one game against the answer with the given index.
+     *
+     * @param solver    the solver to play with (reset first), or null to follow the tree
+     * @param target    answer index of the target word
+     * @param turnNanos filled with the time the solver took for each turn
+     * @param hash      hash[0] is set to a hash of the target and the guesses played
+     * @return number of guesses needed, or -maxTurns if the game was not won
+     */
+    int play(BitsetSolver solver, int target, long[] turnNanos, long[] hash) {
+        int node = tree == null ? DecisionTree.NO_NODE : tree.root();
+        if (solver != null) solver.reset();
+        long h = target;
+        for (int turn = 0; turn < maxTurns; turn++) {
+            long start = System.nanoTime();
+            int guess = tree != null ? tree.guess(node) : solver.suggestIndex();
+            int pattern = patterns.get(guess, target);
+            if (tree != null) node = tree.next(node, pattern);
+            else solver.apply(guess, pattern); // keep only the candidates that would have given the same hint
+            turnNanos[turn] = System.nanoTime() - start;
+
+            h = h * 31 + guess;
+            if (pattern == patterns.allGreen()) {
+                hash[0] = h;
+                return turn + 1;
+            }
+        }
+        hash[0] = h;
+        return -maxTurns;
+    }
+
+    @SuppressWarnings("serial")
+    private class PlayTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from, to, grain;
+        private final ThreadLocal<BitsetSolver> solvers;
+        private final int[] guessCounts;
+        private final long[] gameHashes;
+        private final long[][] turnNanos;
+
+        PlayTask(int from, int to, int grain, ThreadLocal<BitsetSolver> solvers,
+                 int[] guessCounts, long[] gameHashes, long[][] turnNanos) {
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+            this.solvers = solvers;
+            this.guessCounts = guessCounts;
+            this.gameHashes = gameHashes;
+            this.turnNanos = turnNanos;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > grain) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new PlayTask(from, mid, grain, solvers, guessCounts, gameHashes, turnNanos),
+                        new PlayTask(mid, to, grain, solvers, guessCounts, gameHashes, turnNanos));
+                return;
+            }
+            BitsetSolver solver = solvers.get();
+            long[] nanos = new long[maxTurns];
+            long[] hash = new long[1];
+            for (int target = from; target < to; target++) {
+                guessCounts[target] = play(solver, target, nanos, hash);
+                gameHashes[target] = hash[0];
+                turnNanos[target] = Arrays.copyOf(nanos, Math.abs(guessCounts[target]));
+            }
+        }
+    }
+
+    /**
+     * Results of evaluating every target. Everything but the timings is the same for any number
+     * of threads.
+     */
+    public static class Result {
+        private final int[] guessCounts;  // per target: guesses needed, negative if not won
+        private final long checksum;
+        private final int[] distribution; // distribution[k] = games won in k guesses, [0] = never won
+        private final int failures;       // games not won within WordleBenchmark.NUM_GUESSES
+        private final long totalGuesses;  // over the games won
+        private final long elapsedNanos;
+        private final long turns;
+        private final double meanTurnMicros;
+        private final double p99TurnMicros;
+
+        Result(int[] guessCounts, long[] gameHashes, long[][] turnNanos, long elapsedNanos) {
+            this.guessCounts = guessCounts;
+            this.elapsedNanos = elapsedNanos;
+            long wonGuesses = 0, checksum = 0;
+            int maxGuesses = 0, fails = 0;
+            for (int t = 0; t < guessCounts.length; t++) { // in target order
+                int g = guessCounts[t];
+                maxGuesses = Math.max(maxGuesses, Math.abs(g));
+                if (g < 0 || g > WordleBenchmark.NUM_GUESSES) fails++;
+                if (g > 0) wonGuesses += g;
+                checksum = checksum * 1_000_003 + gameHashes[t];
+            }
+            distribution = new int[maxGuesses + 1];
+            for (int g : guessCounts) distribution[Math.max(g, 0)]++;
+            this.failures = fails;
+            this.totalGuesses = wonGuesses;
+            this.checksum = checksum;
+
+            long total = 0;
+            for (long[] t : turnNanos) total += t.length;
+            long[] all = new long[(int) total];
+            int n = 0;
+            long sum = 0;
+            for (long[] t : turnNanos) {
+                for (long nanos : t) {
+                    all[n++] = nanos;
+                    sum += nanos;
+                }
+            }
+            Arrays.sort(all);
+            turns = total;
+            meanTurnMicros = total == 0 ? 0 : sum / 1000.0 / total;
+            p99TurnMicros = total == 0 ? 0 : all[(int) Math.min(total - 1, (long) Math.ceil(total * 0.99) - 1)] / 1000.0;
+        }
+
+        public int games() {
+            return guessCounts.length;
+        }
+
+        /**
+         * Returns the guesses needed for the target with the given answer index, negative if it was not won.
+         */
+        public int guesses(int target) {
+            return guessCounts[target];
+        }
+
+        /**
+         * Returns the number of games won in k guesses (k = 0 for the games not won).
+         */
+        public int wonIn(int k) {
+            return k < distribution.length ? distribution[k] : 0;
+        }
+
+        /**
+         * Returns the most guesses any game took (or was played for, if not won).
+         */
+        public int maxGuesses() {
+            return distribution.length - 1;
+        }
+
+        public int unsolved() {
+            return distribution[0];
+        }
+
+        /**
+         * Returns the number of games not won within the normal 6 guesses.
+         */
+        public int failures() {
+            return failures;
+        }
+
+        /**
+         * Returns the mean number of guesses over the games won.
+         */
+        public double meanGuesses() {
+            int won = games() - unsolved();
+            return won == 0 ? 0 : (double) totalGuesses / won;
+        }
+
+        /**
+         * Returns a hash of every guess of every game, in target order.
+         */
+        public long checksum() {
+            return checksum;
+        }
+
+        /**
+         * Returns whether two runs played exactly the same games.
+         */
+        public boolean sameGames(Result other) {
+            return checksum == other.checksum && Arrays.equals(guessCounts, other.guessCounts);
+        }
+
+        public long elapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public double gamesPerSecond() {
+            return games() / (elapsedNanos / 1e9);
+        }
+
+        public long turns() {
+            return turns;
+        }
+
+        public double meanTurnMicros() {
+            return meanTurnMicros;
+        }
+
+        public double p99TurnMicros() {
+            return p99TurnMicros;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package project20280.wordle;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelEvaluatorTest {
+    private static final List<String> WORDS = new Wordle(Wordle.DEFAULT_DICTIONARY).getDictionary().subList(0, 500);
+
+    @Test
+    void testSameAsSequential() {
+        SolverTables tables = new SolverTables(WORDS);
+        ParallelEvaluator.Result result = new ParallelEvaluator(tables, RankingMode.ENTROPY, 20).run(2);
+
+        BitsetSolver solver = new BitsetSolver(tables, RankingMode.ENTROPY);
+        PatternMatrix patterns = tables.getPatternMatrix();
+        int[] distribution = new int[21];
+        for (int target = 0; target < WORDS.size(); target++) {
+            solver.reset();
+            int turns = 0, pattern;
+            do {
+                int guess = solver.suggestIndex();
+                pattern = patterns.get(guess, target);
+                solver.apply(guess, pattern);
+                turns++;
+            } while (pattern != patterns.allGreen() && turns < 20);
+            assertEquals(turns, result.guesses(target), WORDS.get(target));
+            distribution[turns]++;
+        }
+        for (int k = 1; k <= 20; k++) assertEquals(distribution[k], result.wonIn(k), "won in " + k);
+        assertEquals(WORDS.size(), result.games());
+        assertEquals(0, result.unsolved());
+        assertTrue(result.meanGuesses() > 1 && result.meanGuesses() < 6);
+    }
+
+    @Test
+    void testDeterministic() {
+        SolverTables tables = new SolverTables(WORDS);
+        for (RankingMode mode : List.of(RankingMode.ENTROPY, RankingMode.MINIMAX)) {
+            ParallelEvaluator evaluator = new ParallelEvaluator(tables, mode, 20);
+            ParallelEvaluator.Result single = evaluator.run(1);
+            for (int threads : new int[]{2, 3, 7}) {
+                ParallelEvaluator.Result result = evaluator.run(threads);
+                assertTrue(result.sameGames(single), mode + " with " + threads + " threads");
+                assertEquals(single.checksum(), result.checksum());
+                assertEquals(single.meanGuesses(), result.meanGuesses());
+            }
+            assertTrue(evaluator.run(ForkJoinPool.commonPool()).sameGames(single));
+        }
+    }
+
+    @Test
+    void testDeterministicNestedScoring() {
+        // 1000 answers by the extended guess list is above EntropyRanker.PARALLEL_THRESHOLD, so the
+        // opening is scored with a parallel stream inside a fork-join worker. New tables for each
+        // run, so the opening is ranked again (not cached) inside each pool.
+        List<String> answers = new Wordle(Wordle.DEFAULT_DICTIONARY).getDictionary().subList(0, 1000);
+        List<String> allowed = new Wordle("project20280/wordle/resources/extended-dictionary.txt").getDictionary();
+        ParallelEvaluator.Result single = null;
+        for (int threads : new int[]{1, 4}) {
+            SolverTables tables = new SolverTables(answers, allowed, null, PatternStorage.heap());
+            assertTrue((long) answers.size() * tables.getPatternMatrix().guessCount() >= EntropyRanker.PARALLEL_THRESHOLD);
+            ParallelEvaluator.Result result = new ParallelEvaluator(tables, RankingMode.ENTROPY, 20).run(threads);
+            if (single == null) single = result;
+            assertTrue(result.sameGames(single), threads + " threads");
+            assertEquals(single.checksum(), result.checksum());
+            assertEquals(0, result.unsolved());
+        }
+    }
+
+    @Test
+    void testDifferentStrategies() {
+        // the checksum tells apart runs that played different guesses
+        SolverTables tables = new SolverTables(WORDS);
+        ParallelEvaluator.Result entropy = new ParallelEvaluator(tables, RankingMode.ENTROPY, 20).run(2);
+        ParallelEvaluator.Result minimax = new ParallelEvaluator(tables, RankingMode.MINIMAX, 20).run(2);
+        assertNotEquals(entropy.checksum(), minimax.checksum());
+        assertFalse(entropy.sameGames(minimax));
+    }
+
+    @Test
+    void testDecisionTree() {
+        // following a tree built by entropy ranking plays exactly the same games as ranking each turn
+        SolverTables tables = new SolverTables(WORDS);
+        DecisionTree tree = DecisionTree.build(tables.getEntropyRanker());
+        ParallelEvaluator.Result ranked = new ParallelEvaluator(tables, RankingMode.ENTROPY, 20).run(2);
+        ParallelEvaluator.Result fromTree = new ParallelEvaluator(tables, RankingMode.ENTROPY, 20, tree).run(2);
+        assertTrue(fromTree.sameGames(ranked));
+        assertEquals(ranked.turns(), fromTree.turns());
+    }
+
+    @Test
+    void testMaxTurns() {
+        SolverTables tables = new SolverTables(WORDS);
+        ParallelEvaluator.Result result = new ParallelEvaluator(tables, RankingMode.ENTROPY, 1).run(2);
+        assertEquals(result.games() - result.wonIn(1), result.unsolved());
+        assertThrows(IllegalArgumentException.class, () -> new ParallelEvaluator(tables, RankingMode.ENTROPY, 0));
+    }
+}
@@ -0,0 +1,212 @@
+package project20280.wordle;
+
+import java.util.Arrays;
+
+/*
+ * Ranks guesses by the sizes of the groups (partitions) they split the candidates into:
+ *  -> MINIMAX:       the size of the largest group, i.e. the most candidates that can be left
+ *  -> EXPECTED_SIZE: the expected number of candidates left, sum of c_i^2 / n over the groups
+ * Lower is better for both. With prior weights (see Priors) a group is as likely as its weight
+ * W_i out of W, so the expected size is sum W_i * c_i / W (minimax doesn't use the weights).
+ *
+ * Both costs only grow while the candidates are counted into groups, so a guess can be dropped
+ * as soon as its partial cost is worse than the best guess found so far (branch and bound).
+ * Guesses are tried in order of how common their letters are, which tends to find a good guess
+ * early; most of the other guesses are then dropped after counting a fraction of the candidates.
+ *
+ * Ties go to guesses that could still be the answer, then the lowest index (same as EntropyRanker).
+ */
+
+public class PartitionRanker {
+    private final PatternMatrix patterns;
+    private final int[] order;      // guess indices in the order they are tried
+    private final double[] weights; // prior weight of each answer, null if all equally likely
+
+    // one partition count array (and group weight array) per thread, reused between guesses
+    private final ThreadLocal<int[]> partitionCounts;
+    private final ThreadLocal<double[]> partitionWeights;
+
+    public PartitionRanker(PatternMatrix patterns) {
+        this(patterns, null);
+    }
+
+    /**
+     * Ranker that weights each candidate by its prior (indexed by answer), or not at all if null.
+     */
+    public PartitionRanker(PatternMatrix patterns, double[] weights) {
+        this.patterns = patterns;
+        this.weights = weights;
+        this.partitionCounts = ThreadLocal.withInitial(() -> new int[patterns.patternCount()]);
+        this.partitionWeights = ThreadLocal.withInitial(() -> new double[patterns.patternCount()]);
+        this.order = tryOrder(patterns);
+    }
+
+    // guesses sorted by the number of answers containing each of their (distinct) letters, highest first
+    private static int[] tryOrder(PatternMatrix patterns) {
+        int[] answersWith = new int[26];
+        for (int a = 0; a < patterns.answerCount(); a++) {
+            int letters = letterMask(patterns.answer(a));
+            for (int c = 0; c < 26; c++) if ((letters & (1 << c)) != 0) answersWith[c]++;
+        }
+
+        long[] keyed = new long[patterns.guessCount()]; // score in the high bits, index in the low bits
+        for (int g = 0; g < keyed.length; g++) {
+            int letters = letterMask(patterns.guess(g));
+            long score = 0;
+            for (int c = 0; c < 26; c++) if ((letters & (1 << c)) != 0) score += answersWith[c];
+            keyed[g] = (-score << 32) | g; // ascending sort puts the highest score first
+        }
+        Arrays.sort(keyed);
+        int[] order = new int[keyed.length];
+        for (int i = 0; i < order.length; i++) order[i] = (int) keyed[i];
+        return order;
+    }
+
+    private static int letterMask(String word) {
+        int mask = 0;
+        for (int k = 0; k < word.length(); k++) mask |= 1 << (word.charAt(k) - 'a');
+        return mask;
+    }
+
+    /**
+     * Returns the index of the guess with the lowest cost over the candidates.
+     *
+     * @param mode          MINIMAX or EXPECTED_SIZE
+     * @param candidates    answer indices of the remaining candidates
+     * @param count         number of candidates in the array
+     * @param candidateSet  the same candidates as a set (for the tie-break)
+     * @return the best guess index, or -1 if there are no candidates
+     */
+    public int bestGuess(RankingMode mode, int[] candidates, int count, CandidateSet candidateSet) {
+        return bestGuess(mode, candidates, count, candidateSet, null);
+    }
+
+    /**
+     * Same as {@link #bestGuess(RankingMode, int[], int, CandidateSet)} choosing only from the
+     * allowed guesses (all if null), e.g. the legal guesses in hard mode.
+     */
+    public int bestGuess(RankingMode mode, int[] candidates, int count, CandidateSet candidateSet, CandidateSet allowed) {
+        boolean minimax = checkMode(mode);
+        if (count == 0) return -1; // every guess would cost 0
+        int[] counts = partitionCounts.get();
+        patterns.prepareRows(0, patterns.guessCount());
+        if (!minimax && weights != null) return weightedBestGuess(candidates, count, candidateSet, allowed, counts, partitionWeights.get());
+
+        int best = -1;
+        boolean bestIsCandidate = false;
+        long bestCost = Long.MAX_VALUE;
+        for (int g : order) {
+            if (allowed != null && !allowed.contains(g)) continue;
+            int a = patterns.answerIndexOfGuess(g);
+            boolean candidate = a >= 0 && candidateSet.contains(a);
+            // a guess that loses the tie-break has to be strictly better, so drop it at equal cost too
+            boolean winsTie = best < 0 || (candidate && !bestIsCandidate) || (candidate == bestIsCandidate && g < best);
+            long limit = winsTie ? bestCost : bestCost - 1;
+
+            PatternTable.Row row = patterns.row(g);
+            long cost = 0;
+            int i = 0;
+            for (; i < count && cost <= limit; i++) {
+                int c = counts[row.get(candidates[i])]++;
+                cost = minimax ? Math.max(cost, c + 1) : cost + 2L * c + 1; // (c+1)^2 - c^2
+            }
+            clear(row, candidates, i, counts);
+
+            if (cost <= limit) {
+                best = g;
+                bestCost = cost;
+                bestIsCandidate = candidate;
+            }
+        }
+        return best;
+    }
+
+    // expected size with weights: the same search with sum W_i * c_i (times W, the same for every guess)
+    private int weightedBestGuess(int[] candidates, int count, CandidateSet candidateSet, CandidateSet allowed, int[] counts, double[] sums) {
+        int best = -1;
+        boolean bestIsCandidate = false;
+        double bestCost = Double.POSITIVE_INFINITY;
+        for (int g : order) {
+            if (allowed != null && !allowed.contains(g)) continue;
+            int a = patterns.answerIndexOfGuess(g);
+            boolean candidate = a >= 0 && candidateSet.contains(a);
+            boolean winsTie = best < 0 || (candidate && !bestIsCandidate) || (candidate == bestIsCandidate && g < best);
+
+            PatternTable.Row row = patterns.row(g);
+            double cost = 0;
+            int i = 0;
+            for (; i < count && (cost < bestCost || (winsTie && cost == bestCost)); i++) {
+                int p = row.get(candidates[i]);
+                double w = weights[candidates[i]];
+                cost += sums[p] + w * (counts[p] + 1); // (W + w)(c + 1) - W c
+                sums[p] += w;
+                counts[p]++;
+            }
+            for (int j = 0; j < i; j++) sums[row.get(candidates[j])] = 0;
+            clear(row, candidates, i, counts);
+
+            if (cost < bestCost || (winsTie && cost == bestCost)) {
+                best = g;
+                bestCost = cost;
+                bestIsCandidate = candidate;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Returns the cost of guess g over the candidates, without any pruning: the largest group size
+     * for MINIMAX, or the expected number of candidates left for EXPECTED_SIZE.
+     */
+    public double cost(RankingMode mode, int g, int[] candidates, int count) {
+        boolean minimax = checkMode(mode);
+        if (count == 0) return 0;
+        if (!minimax && weights != null) return weightedCost(g, candidates, count, partitionWeights.get());
+        int[] counts = partitionCounts.get();
+        PatternTable.Row row = patterns.row(g);
+        long cost = 0;
+        for (int i = 0; i < count; i++) {
+            int c = counts[row.get(candidates[i])]++;
+            cost = minimax ? Math.max(cost, c + 1) : cost + 2L * c + 1;
+        }
+        clear(row, candidates, count, counts);
+        return minimax ? cost : (double) cost / count;
+    }
+
+    private double weightedCost(int g, int[] candidates, int count, double[] sums) {
+        int[] counts = partitionCounts.get();
+        PatternTable.Row row = patterns.row(g);
+        double cost = 0, total = 0;
+        for (int i = 0; i < count; i++) {
+            int p = row.get(candidates[i]);
+            double w = weights[candidates[i]];
+            cost += sums[p] + w * (counts[p] + 1);
+            sums[p] += w;
+            counts[p]++;
+            total += w;
+        }
+        for (int i = 0; i < count; i++) sums[row.get(candidates[i])] = 0;
+        clear(row, candidates, count, counts);
+        return cost / total;
+    }
+
+    // zeroes the groups counted for the first n candidates
+    private static void clear(PatternTable.Row row, int[] candidates, int n, int[] counts) {
+        if (n >= counts.length) {
+            Arrays.fill(counts, 0);
+        } else {
+            for (int i = 0; i < n; i++) counts[row.get(candidates[i])] = 0;
+        }
+    }
+
+    private static boolean checkMode(RankingMode mode) {
+        if (mode != RankingMode.MINIMAX && mode != RankingMode.EXPECTED_SIZE) {
+            throw new IllegalArgumentException("Not a partition ranking mode: " + mode);
+        }
+        return mode == RankingMode.MINIMAX;
+    }
+
+    public PatternMatrix getPatternMatrix() {
+        return patterns;
+    }
+}
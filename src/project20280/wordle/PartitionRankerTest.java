@@ -0,0 +1,135 @@
+package project20280.wordle;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PartitionRankerTest {
+
+    // the best guess found by scoring every guess in full, with the same tie-break
+    private static int bruteForce(PartitionRanker ranker, RankingMode mode, int[] candidates, int count, CandidateSet set) {
+        PatternMatrix patterns = ranker.getPatternMatrix();
+        int best = -1;
+        double bestCost = 0;
+        boolean bestIsCandidate = false;
+        for (int g = 0; g < patterns.guessCount(); g++) {
+            double cost = ranker.cost(mode, g, candidates, count);
+            int a = patterns.answerIndexOfGuess(g);
+            boolean candidate = a >= 0 && set.contains(a);
+            if (best < 0 || cost < bestCost || (cost == bestCost && candidate && !bestIsCandidate)) {
+                best = g;
+                bestCost = cost;
+                bestIsCandidate = candidate;
+            }
+        }
+        return best;
+    }
+
+    @Test
+    void testCost() {
+        PatternMatrix patterns = new PatternMatrix(List.of("abbey", "kebab", "babes", "kayak", "lobby"));
+        PartitionRanker ranker = new PartitionRanker(patterns);
+        int[] all = {0, 1, 2, 3, 4};
+        // kebab: abbey and babes give the same hint, the others are alone
+        assertEquals(2, ranker.cost(RankingMode.MINIMAX, 1, all, 5));
+        assertEquals((4 + 1 + 1 + 1) / 5.0, ranker.cost(RankingMode.EXPECTED_SIZE, 1, all, 5), 1e-9);
+        assertThrows(IllegalArgumentException.class, () -> ranker.cost(RankingMode.ENTROPY, 1, all, 5));
+
+        // no candidates, no best guess
+        assertEquals(-1, ranker.bestGuess(RankingMode.MINIMAX, all, 0, new CandidateSet(5)));
+        assertEquals(-1, ranker.bestGuess(RankingMode.EXPECTED_SIZE, all, 0, new CandidateSet(5)));
+        PartitionRanker weighted = new PartitionRanker(patterns, new double[]{3, 1, 1, 1, 2});
+        assertEquals(-1, weighted.bestGuess(RankingMode.EXPECTED_SIZE, all, 0, new CandidateSet(5)));
+    }
+
+    @Test
+    void testMatchesBruteForce() {
+        Wordle wordle = new Wordle();
+        PatternMatrix patterns = wordle.getPatternMatrix();
+        PartitionRanker ranker = wordle.getSolverTables().getPartitionRanker();
+        ConstraintIndex index = wordle.getConstraintIndex();
+
+        for (RankingMode mode : List.of(RankingMode.MINIMAX, RankingMode.EXPECTED_SIZE)) {
+            for (int target = 0; target < patterns.answerCount(); target += 331) {
+                // candidates after one and two fixed guesses
+                CandidateSet set = index.all();
+                for (String guess : List.of("crane", "posit")) {
+                    index.applyHint(guess, patterns.get(guess, patterns.answer(target)), set);
+                    int[] candidates = new int[set.universe()];
+                    int count = set.toArray(candidates);
+                    assertEquals(bruteForce(ranker, mode, candidates, count, set), ranker.bestGuess(mode, candidates, count, set),
+                            mode + " " + patterns.answer(target));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testWeighted() {
+        PatternMatrix patterns = new PatternMatrix(List.of("abbey", "kebab", "babes", "kayak", "lobby"));
+        PartitionRanker ranker = new PartitionRanker(patterns, new double[]{3, 1, 1, 1, 2});
+        int[] all = {0, 1, 2, 3, 4};
+        // kebab: {abbey, babes} weighs 4 and has 2 words, the others are alone
+        assertEquals((4 * 2 + 1 + 1 + 2) / 8.0, ranker.cost(RankingMode.EXPECTED_SIZE, 1, all, 5), 1e-9);
+        assertEquals(2, ranker.cost(RankingMode.MINIMAX, 1, all, 5)); // not weighted
+
+        // the pruned search still finds the best guess
+        Wordle wordle = new Wordle();
+        patterns = wordle.getPatternMatrix();
+        double[] weights = new double[patterns.answerCount()];
+        java.util.Random random = new java.util.Random(20);
+        for (int a = 0; a < weights.length; a++) weights[a] = Math.exp(4 * random.nextDouble());
+        ranker = new PartitionRanker(patterns, weights);
+        ConstraintIndex index = wordle.getConstraintIndex();
+        for (int target = 0; target < patterns.answerCount(); target += 331) {
+            CandidateSet set = index.all();
+            for (String guess : List.of("crane", "posit")) {
+                index.applyHint(guess, patterns.get(guess, patterns.answer(target)), set);
+                int[] candidates = new int[set.universe()];
+                int count = set.toArray(candidates);
+                assertEquals(bruteForce(ranker, RankingMode.EXPECTED_SIZE, candidates, count, set),
+                        ranker.bestGuess(RankingMode.EXPECTED_SIZE, candidates, count, set), patterns.answer(target));
+            }
+        }
+    }
+
+    @Test
+    void testSolverModes() {
+        Wordle wordle = new Wordle();
+        PatternMatrix patterns = wordle.getPatternMatrix();
+        for (RankingMode mode : List.of(RankingMode.MINIMAX, RankingMode.EXPECTED_SIZE)) {
+            BitsetSolver solver = new BitsetSolver(wordle.getSolverTables(), mode);
+            for (int target = 0; target < patterns.answerCount(); target += 50) {
+                solver.reset();
+                int turns = 1;
+                int guess = solver.suggestIndex();
+                while (patterns.get(guess, target) != patterns.allGreen()) {
+                    solver.apply(guess, patterns.get(guess, target));
+                    guess = solver.suggestIndex();
+                    assertTrue(++turns <= 8, mode + " " + patterns.answer(target));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testExtendedFirstTurn() {
+        Wordle wordle = new Wordle("project20280/wordle/resources/extended-dictionary.txt");
+        PatternMatrix patterns = wordle.getPatternMatrix();
+        PartitionRanker ranker = wordle.getSolverTables().getPartitionRanker();
+        CandidateSet all = wordle.getConstraintIndex().all();
+        int[] candidates = new int[all.universe()];
+        int count = all.toArray(candidates);
+
+        for (RankingMode mode : List.of(RankingMode.MINIMAX, RankingMode.EXPECTED_SIZE)) {
+            ranker.bestGuess(mode, candidates, count, all); // warm up
+            long start = System.nanoTime();
+            int best = ranker.bestGuess(mode, candidates, count, all);
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            System.out.println(mode + " opening on the extended dictionary: " + patterns.guess(best)
+                    + " (" + ranker.cost(mode, best, candidates, count) + ") in " + millis + " ms");
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package project20280.wordle;
+
+import project20280.hashtable.ChainHashMap;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+/*
+ * Dense guess x answer table of hint pattern codes (see Feedback).
+ *
+ * Entry (g, a) is the pattern you get when guesses[g] is played against answers[a].
+ * Each entry is a single byte (0..242), stored row by row so that scanning all the
+ * answers for one guess walks through memory in order. Words of 6 to 8 letters have more
+ * patterns than a byte can hold, so their matrix uses a short per entry instead.
+ * Words are referred to by their index in the list the matrix was built from.
+ *
+ * Where the entries are kept is up to the PatternStorage it is built with (a PatternTable on the
+ * heap by default, off-heap or in a shared file, or computed as needed). This class holds the
+ * words and their indices and computes the rows.
+ *
+ * Rows are filled in batches with Feedback.computeAll (vectorised when the JVM allows it) for words
+ * that can be packed into an int, and one pair at a time otherwise.
+ */
+
+public class PatternMatrix {
+    private final String[] guesses;
+    private final String[] answers;
+    private final int wordLength;
+    private final PatternTable table;
+
+    // the words packed for Feedback.computeAll, or null if they don't fit in an int
+    private final int[] packedGuesses;
+    private final int[] packedAnswers;
+
+    // word -> index of its first occurrence in the guess / answer list
+    private final ChainHashMap<String, Integer> guessIndex;
+    private final ChainHashMap<String, Integer> answerIndex;
+    private final int[] guessToAnswer; // answer index of each guess word (-1 if it can't be an answer)
+    private final long fingerprint;
+
+    /**
+     * Builds the matrix for a dictionary that is used both for guesses and answers.
+     */
+    public PatternMatrix(List<String> words) {
+        this(words, words);
+    }
+
+    /**
+     * Builds the matrix for the given guess and answer lists. Rows are filled in parallel.
+     */
+    public PatternMatrix(List<String> guesses, List<String> answers) {
+        this(guesses, answers, PatternStorage.heap());
+    }
+
+    /**
+     * Builds the matrix for the given guess and answer lists, with the entries kept by the storage.
+     */
+    public PatternMatrix(List<String> guesses, List<String> answers, PatternStorage storage) {
+        this.guesses = guesses.toArray(new String[0]);
+        this.answers = answers.toArray(new String[0]);
+        this.wordLength = Feedback.wordLength(guesses);
+        if (!answers.isEmpty() && Feedback.wordLength(answers) != wordLength) {
+            throw new IllegalArgumentException("Guesses and answers have different lengths");
+        }
+        this.packedGuesses = packAll(this.guesses, wordLength);
+        this.packedAnswers = packedGuesses == null ? null : packAll(this.answers, wordLength);
+
+        guessIndex = buildIndex(this.guesses);
+        answerIndex = guesses == answers ? guessIndex : buildIndex(this.answers);
+        guessToAnswer = new int[this.guesses.length];
+        for (int g = 0; g < this.guesses.length; g++) guessToAnswer[g] = answerIndex(this.guesses[g]);
+        fingerprint = fingerprint(this.guesses, this.answers);
+
+        this.table = storage.build(this); // last, it may compute rows
+    }
+
+    // the words packed into ints, or null if they are too long or not all lowercase letters
+    private static int[] packAll(String[] words, int length) {
+        if (length > FeedbackKernel.MAX_LENGTH) return null;
+        int[] packed = new int[words.length];
+        for (int i = 0; i < words.length; i++) {
+            for (int k = 0; k < length; k++) {
+                char c = words[i].charAt(k);
+                if (c < 'a' || c > 'z') return null;
+            }
+            packed[i] = PackedWord.pack(words[i]);
+        }
+        return packed;
+    }
+
+    /**
+     * Computes row g (the patterns of guess g against every answer) into codes.
+     */
+    void computeRow(int g, int[] codes) {
+        if (packedAnswers != null) {
+            Feedback.computeAll(packedGuesses[g], packedAnswers, answers.length, wordLength, codes);
+        } else {
+            for (int a = 0; a < answers.length; a++) codes[a] = Feedback.compute(guesses[g], answers[a]);
+        }
+    }
+
+    /**
+     * Computes every row in parallel and hands each one to the sink (the codes array is reused
+     * once accept returns).
+     */
+    void computeRows(RowSink sink) {
+        ThreadLocal<int[]> rowCodes = ThreadLocal.withInitial(() -> new int[answers.length]);
+        IntStream.range(0, guesses.length).parallel().forEach(g -> {
+            int[] codes = rowCodes.get();
+            computeRow(g, codes);
+            sink.accept(g, codes);
+        });
+    }
+
+    /**
+     * Receives computed rows, see {@link #computeRows}.
+     */
+    interface RowSink {
+        void accept(int g, int[] codes);
+    }
+
+    /**
+     * Returns the bytes per entry: 1, or 2 for words of more than 5 letters.
+     */
+    public int entryBytes() {
+        return patternCount() > 256 ? 2 : 1;
+    }
+
+    /**
+     * Returns where the entries are kept.
+     */
+    public PatternTable getTable() {
+        return table;
+    }
+
+    private static ChainHashMap<String, Integer> buildIndex(String[] words) {
+        ChainHashMap<String, Integer> index = new ChainHashMap<>(2 * words.length + 1);
+        for (int i = 0; i < words.length; i++) {
+            if (index.get(words[i]) == null) index.put(words[i], i); // keep the first occurrence
+        }
+        return index;
+    }
+
+    /**
+     * Returns the pattern code for guess number g against answer number a.
+     */
+    public int get(int g, int a) {
+        return table.get(g, a);
+    }
+
+    /**
+     * Counts how many of the candidate answers fall into each pattern for guess number g.
+     * This is the partition of the candidates that the guess would produce.
+     *
+     * @param g          the guess index
+     * @param candidates answer indices of the remaining candidates
+     * @param count      number of entries of candidates to use
+     * @param counts     array of length patternCount(), incremented in place
+     */
+    public void countPatterns(int g, int[] candidates, int count, int[] counts) {
+        table.countPatterns(g, candidates, count, counts);
+    }
+
+    /**
+     * Sums the weights of the candidate answers in each pattern for guess number g, the weighted
+     * form of {@link #countPatterns(int, int[], int, int[])}.
+     *
+     * @param weights weight of each answer, indexed by answer
+     * @param sums    array of length patternCount(), the weights are added to it
+     */
+    public void countPatterns(int g, int[] candidates, int count, double[] weights, double[] sums) {
+        table.countPatterns(g, candidates, count, weights, sums);
+    }
+
+    /**
+     * Returns the row of guess number g, for reading many of its entries (see PatternTable.row).
+     */
+    public PatternTable.Row row(int g) {
+        return table.row(g);
+    }
+
+    /**
+     * Lets the table know a ranking pass is about to read the rows of guesses from (inclusive) to
+     * (exclusive), so a lazy table can compute the missing ones in parallel first.
+     */
+    public void prepareRows(int from, int to) {
+        table.prepareRows(from, to);
+    }
+
+    /**
+     * Returns the pattern code for a guess against an answer, or -1 if either word
+     * is not part of this matrix.
+     */
+    public int get(String guess, String answer) {
+        Integer g = guessIndex.get(guess);
+        Integer a = answerIndex.get(answer);
+        if (g == null || a == null) return -1;
+        return get(g, a);
+    }
+
+    /**
+     * Returns the index of a word in the guess list, or -1 if it is not there.
+     */
+    public int guessIndex(String word) {
+        Integer g = guessIndex.get(word);
+        return g == null ? -1 : g;
+    }
+
+    /**
+     * Returns the index of a word in the answer list, or -1 if it is not there.
+     */
+    public int answerIndex(String word) {
+        Integer a = answerIndex.get(word);
+        return a == null ? -1 : a;
+    }
+
+    /**
+     * Returns the answer index of guess number g, or -1 if that word is not in the answer list.
+     */
+    public int answerIndexOfGuess(int g) {
+        return guessToAnswer[g];
+    }
+
+    /**
+     * Returns a 64-bit hash (FNV-1a) of the guess and answer lists, in order. Files built from this
+     * matrix store it so they can tell when they are loaded against a different dictionary.
+     */
+    public long fingerprint() {
+        return fingerprint;
+    }
+
+    private static long fingerprint(String[] guesses, String[] answers) {
+        long hash = 0xcbf29ce484222325L;
+        for (String[] words : new String[][]{guesses, answers}) {
+            for (String word : words) {
+                for (int k = 0; k < word.length(); k++) hash = (hash ^ word.charAt(k)) * 0x100000001b3L;
+                hash = (hash ^ '\n') * 0x100000001b3L;
+            }
+            hash = (hash ^ 0) * 0x100000001b3L; // separates the two lists
+        }
+        return hash;
+    }
+
+    public String guess(int g) {
+        return guesses[g];
+    }
+
+    public String answer(int a) {
+        return answers[a];
+    }
+
+    public int guessCount() {
+        return guesses.length;
+    }
+
+    public int answerCount() {
+        return answers.length;
+    }
+
+    public int wordLength() {
+        return wordLength;
+    }
+
+    /**
+     * Returns the number of different pattern codes for the word length (243 for 5 letters).
+     */
+    public int patternCount() {
+        return Feedback.patternCount(wordLength);
+    }
+
+    /**
+     * Returns the pattern code of a win for the word length.
+     */
+    public int allGreen() {
+        return Feedback.allGreen(wordLength);
+    }
+}
@@ -0,0 +1,84 @@
+package project20280.wordle;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PatternMatrixTest {
+
+    @Test
+    void testEncoding() {
+        assertEquals(0, Feedback.fromHint(new String[]{"_", "_", "_", "_", "_"}));
+        assertEquals(Feedback.ALL_GREEN, Feedback.fromHint(new String[]{"+", "+", "+", "+", "+"}));
+        assertEquals(1 + 2 * 9, Feedback.fromHint(new String[]{"o", "_", "+", "_", "_"}));
+        assertEquals("[o, _, +, _, _]", Arrays.toString(Feedback.toHint(1 + 2 * 9)));
+
+        for (int code = 0; code < Feedback.NUM_PATTERNS; code++) {
+            assertEquals(code, Feedback.fromHint(Feedback.toHint(code)));
+        }
+    }
+
+    @Test
+    void testMatchesLetterFreqHints() { // every guess x answer pair of the regular dictionary
+        Wordle wordle = new Wordle("project20280/wordle/resources/dictionary.txt");
+        checkAgainstLetterFreqHints(wordle, 1);
+    }
+
+    @Test
+    void testMatchesLetterFreqHintsExtended() { // every guess against a spread of answers (full matrix is 122M pairs)
+        Wordle wordle = new Wordle("project20280/wordle/resources/extended-dictionary.txt");
+        checkAgainstLetterFreqHints(wordle, 23);
+    }
+
+    private static void checkAgainstLetterFreqHints(Wordle wordle, int answerStep) {
+        List<String> words = wordle.getDictionary();
+        PatternMatrix matrix = wordle.getPatternMatrix();
+        assertEquals(words.size(), matrix.guessCount());
+        assertEquals(words.size(), matrix.answerCount());
+
+        for (int g = 0; g < words.size(); g++) {
+            String guess = words.get(g);
+            for (int a = g % answerStep; a < words.size(); a += answerStep) {
+                String target = words.get(a);
+                String[] expected = wordle.getHintsByLetterFreq(target, guess);
+                int pattern = matrix.get(g, a);
+                assertEquals(Feedback.fromHint(expected), pattern, guess + " vs " + target);
+                assertEquals(pattern, Feedback.compute(guess, target), guess + " vs " + target);
+            }
+        }
+    }
+
+    @Test
+    void testWeightedCountPatterns() {
+        List<String> words = List.of("abbey", "kebab", "babes", "keeps", "lobby", "kayak");
+        double[] weights = {1, 2, 4, 8, 16, 32};
+        int[] candidates = {5, 1, 2, 4};
+        for (PatternStorage storage : List.of(PatternStorage.heap(), PatternStorage.offHeap(), PatternStorage.lazy(100))) {
+            PatternMatrix patterns = new PatternMatrix(words, words, storage);
+            for (int g = 0; g < words.size(); g++) {
+                double[] expected = new double[Feedback.NUM_PATTERNS];
+                for (int a : candidates) expected[patterns.get(g, a)] += weights[a];
+                double[] sums = new double[Feedback.NUM_PATTERNS];
+                patterns.countPatterns(g, candidates, candidates.length, weights, sums);
+                assertArrayEquals(expected, sums);
+            }
+            if (patterns.getTable() instanceof SegmentPatternTable table) table.close();
+        }
+    }
+
+    @Test
+    void testLookupByWord() {
+        Wordle wordle = new Wordle();
+        PatternMatrix matrix = wordle.getPatternMatrix();
+
+        assertEquals("[_, o, +, o, o]", Arrays.toString(Feedback.toHint(matrix.get("kebab", "abbey"))));
+        assertEquals(Feedback.ALL_GREEN, matrix.get("cigar", "cigar"));
+        assertEquals(-1, matrix.get("zzzzz", "cigar"));
+        assertEquals(-1, matrix.guessIndex("zzzzz"));
+        assertEquals("cigar", matrix.guess(matrix.guessIndex("cigar")));
+    }
+}
@@ -0,0 +1,52 @@
+package project20280.wordle;
+
+import java.nio.file.Path;
+
+/*
+ * Where a PatternMatrix keeps its entries:
+ *  -> heap():          arrays on the Java heap (the default)
+ *  -> offHeap():       native memory outside the heap, so a large matrix adds nothing to GC work
+ *  -> mapped(file):    a cache file mapped into memory; it is written the first time and only
+ *                      mapped after that, by this or any other process on the same host
+ *  -> lazy(maxBytes):  only the rows in use, computed when first read and kept in an LRU cache
+ * For command line options, parse() takes "heap", "off-heap", "lazy", "lazy:<megabytes>" or a file name.
+ */
+
+public interface PatternStorage {
+    long DEFAULT_CACHE_BYTES = 64L << 20;
+
+    /**
+     * Builds the table for the matrix (its words and indices are set, its rows not yet computed).
+     */
+    PatternTable build(PatternMatrix matrix);
+
+    static PatternStorage heap() {
+        return HeapPatternTable::new;
+    }
+
+    static PatternStorage offHeap() {
+        return SegmentPatternTable::allocate;
+    }
+
+    static PatternStorage mapped(Path file) {
+        return matrix -> SegmentPatternTable.map(matrix, file);
+    }
+
+    static PatternStorage lazy(long maxBytes) {
+        return matrix -> new LazyPatternTable(matrix, maxBytes);
+    }
+
+    /**
+     * Returns the storage for "heap", "off-heap", "lazy" (a 64 MB cache), "lazy:<megabytes>" or
+     * otherwise the name of a cache file.
+     */
+    static PatternStorage parse(String value) {
+        if (value.startsWith("lazy:")) return lazy(Long.parseLong(value.substring(5)) << 20);
+        return switch (value) {
+            case "heap" -> heap();
+            case "off-heap" -> offHeap();
+            case "lazy" -> lazy(DEFAULT_CACHE_BYTES);
+            default -> mapped(Path.of(value));
+        };
+    }
+}
@@ -0,0 +1,53 @@
+package project20280.wordle;
+
+/*
+ * The entries of a PatternMatrix: the pattern code of every guess against every answer.
+ *
+ * Implementations only differ in where the codes are kept (see PatternStorage):
+ *  -> HeapPatternTable:    a byte[] (or short[]) on the Java heap
+ *  -> SegmentPatternTable: a MemorySegment, allocated off-heap or mapped from a cache file
+ *  -> LazyPatternTable:    rows computed on first use, kept in a bounded LRU cache
+ * Any number of threads can read them at once, and they all give the same codes.
+ */
+
+public interface PatternTable {
+
+    /**
+     * Returns the pattern code for guess number g against answer number a.
+     */
+    int get(int g, int a);
+
+    /**
+     * The pattern codes of one guess against every answer, from {@link #row}.
+     */
+    interface Row {
+        int get(int a);
+    }
+
+    /**
+     * Returns the row of guess g, for code that reads many of its entries one at a time (with early
+     * exits, so countPatterns doesn't fit). A lazy table looks the row up once here, rather than on
+     * every get().
+     */
+    default Row row(int g) {
+        return a -> get(g, a);
+    }
+
+    /**
+     * Adds one to counts[pattern] for each of the first count candidate answers of guess g.
+     */
+    void countPatterns(int g, int[] candidates, int count, int[] counts);
+
+    /**
+     * Adds weights[a] to sums[pattern] for each of the first count candidate answers a of guess g
+     * (countPatterns with each candidate counted by its weight).
+     */
+    void countPatterns(int g, int[] candidates, int count, double[] weights, double[] sums);
+
+    /**
+     * Tells the table the rows of guesses from (inclusive) to (exclusive) are about to be read.
+     * Only a table that computes rows on demand does anything with it.
+     */
+    default void prepareRows(int from, int to) {
+    }
+}
@@ -0,0 +1,61 @@
+package project20280.wordle;
+
+import project20280.hashtable.ChainHashMap;
+
+import java.util.List;
+
+/*
+ * Prior weights for the answers: how likely each word is to be the target, e.g. from how often
+ * it is used. Read from a file with a word and a number on each line ("cigar 3.2e-6"):
+ *  -> only the relative sizes matter, the weights are scaled to average 1 over the answers
+ *  -> answers not in the file get the smallest weight in it, words that are not answers are ignored
+ *  -> blank lines and lines starting with # are skipped
+ * The weights are a double[] indexed by answer index, so the rankers read them with one array
+ * lookup per candidate. Without a prior file every answer is equally likely (and the rankers
+ * don't use any weights at all).
+ */
+
+public final class Priors {
+    private Priors() {
+    }
+
+    /**
+     * Returns the weight of each answer (by its index in answers) from the lines of a prior file.
+     *
+     * @throws IllegalArgumentException if a line is not a word and a positive number
+     */
+    public static double[] parse(List<String> answers, List<String> lines) {
+        ChainHashMap<String, Integer> index = new ChainHashMap<>();
+        for (int a = answers.size() - 1; a >= 0; a--) index.put(answers.get(a), a); // first copy wins
+
+        double[] weights = new double[answers.size()];
+        double smallest = Double.POSITIVE_INFINITY;
+        for (String line : lines) {
+            line = line.strip();
+            if (line.isEmpty() || line.startsWith("#")) continue;
+            String[] fields = line.split("\\s+");
+            double weight;
+            try {
+                weight = fields.length == 2 ? Double.parseDouble(fields[1]) : Double.NaN;
+            } catch (NumberFormatException e) {
+                weight = Double.NaN;
+            }
+            if (!(weight > 0) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException("Expected a word and a positive weight: " + line);
+            }
+            smallest = Math.min(smallest, weight);
+            Integer a = index.get(fields[0]);
+            if (a != null) weights[a] = weight;
+        }
+        if (smallest == Double.POSITIVE_INFINITY) smallest = 1;
+
+        double total = 0;
+        for (int a = 0; a < weights.length; a++) {
+            if (weights[a] == 0) weights[a] = smallest;
+            total += weights[a];
+        }
+        double scale = weights.length / total;
+        for (int a = 0; a < weights.length; a++) weights[a] *= scale;
+        return weights;
+    }
+}
@@ -0,0 +1,53 @@
+package project20280.wordle;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PriorsTest {
+
+    @Test
+    void testParse() {
+        List<String> answers = List.of("abbey", "kebab", "babes", "kayak");
+        double[] weights = Priors.parse(answers, List.of("# word frequency", "abbey 6", "", "kebab 2e0", "lobby 1", "babes 3"));
+        // kayak gets the smallest weight in the file (lobby's), then they are scaled to average 1
+        assertArrayEquals(new double[]{2, 2 / 3.0, 1, 1 / 3.0}, weights, 1e-12);
+
+        double[] none = Priors.parse(answers, List.of());
+        assertArrayEquals(new double[]{1, 1, 1, 1}, none, 1e-12);
+    }
+
+    @Test
+    void testBadLines() {
+        List<String> answers = List.of("abbey", "kebab");
+        assertThrows(IllegalArgumentException.class, () -> Priors.parse(answers, List.of("abbey")));
+        assertThrows(IllegalArgumentException.class, () -> Priors.parse(answers, List.of("abbey often")));
+        assertThrows(IllegalArgumentException.class, () -> Priors.parse(answers, List.of("abbey 0")));
+        assertThrows(IllegalArgumentException.class, () -> Priors.parse(answers, List.of("abbey -1")));
+        assertThrows(IllegalArgumentException.class, () -> new SolverTables(answers, answers, new double[3], PatternStorage.heap()));
+    }
+
+    @Test
+    void testWeightedGames() {
+        // a heavy prior on a word makes the solver guess it as soon as it is a candidate
+        Wordle wordle = new Wordle();
+        List<String> words = wordle.getDictionary();
+        double[] priors = Priors.parse(words, List.of("lobby 1000", "cigar 1"));
+        SolverTables tables = new SolverTables(words, words, priors, PatternStorage.heap());
+        PatternMatrix patterns = tables.getPatternMatrix();
+        for (RankingMode mode : List.of(RankingMode.ENTROPY, RankingMode.EXPECTED_SIZE)) {
+            BitsetSolver solver = new BitsetSolver(tables, mode);
+            int target = patterns.answerIndex("lobby");
+            int turns = 1;
+            int guess = solver.suggestIndex();
+            while (patterns.get(guess, target) != patterns.allGreen()) {
+                solver.apply(guess, patterns.get(guess, target));
+                guess = solver.suggestIndex();
+                turns++;
+            }
+            assertTrue(turns <= 3, mode + " took " + turns);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package project20280.wordle;
+
+/*
+ * How the solver scores the words it suggests after each guess.
+ */
+
+public enum RankingMode {
+    LETTER_FREQUENCY, // sum of how common each letter of the word is (original scoring)
+    ENTROPY,          // expected information gained from the hint (see EntropyRanker)
+    MINIMAX,          // fewest candidates left in the worst case (see PartitionRanker)
+    EXPECTED_SIZE     // fewest candidates left on average (see PartitionRanker)
+}
@@ -0,0 +1,50 @@
+package project20280.wordle;
+
+/*
+ * The plain Java FeedbackKernel: Feedback.compute on packed words, one answer at a time.
+ */
+
+final class ScalarFeedbackKernel implements FeedbackKernel {
+    static final ScalarFeedbackKernel INSTANCE = new ScalarFeedbackKernel();
+
+    private ScalarFeedbackKernel() {}
+
+    @Override
+    public void compute(int guess, int[] answers, int count, int length, int[] codes) {
+        for (int i = 0; i < count; i++) codes[i] = compute(guess, answers[i], length);
+    }
+
+    /**
+     * The pattern code of a packed guess against a packed target (same rules as Feedback.compute).
+     */
+    static int compute(int guess, int target, int length) {
+        int used = 0; // bit j is set once target letter j has been matched
+        for (int k = 0, shift = 0; k < length; k++, shift += PackedWord.BITS_PER_LETTER) {
+            if (((guess ^ target) >>> shift & PackedWord.LETTER_MASK) == 0) used |= 1 << k;
+        }
+        int greens = used;
+
+        int code = 0;
+        int weight = 1;
+        for (int k = 0; k < length; k++, weight *= 3) {
+            if ((greens & (1 << k)) != 0) {
+                code += Feedback.GREEN * weight;
+                continue;
+            }
+            int letter = guess >>> (k * PackedWord.BITS_PER_LETTER) & PackedWord.LETTER_MASK;
+            for (int j = 0; j < length; j++) {
+                if ((used & (1 << j)) == 0 && (target >>> (j * PackedWord.BITS_PER_LETTER) & PackedWord.LETTER_MASK) == letter) {
+                    used |= 1 << j;
+                    code += Feedback.YELLOW * weight;
+                    break;
+                }
+            }
+        }
+        return code;
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+}
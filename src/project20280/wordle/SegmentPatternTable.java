@@ -0,0 +1,210 @@
+package project20280.wordle;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/*
+ * PatternTable kept outside the Java heap in a MemorySegment (Foreign Function & Memory API),
+ * either allocated in native memory or mapped from a cache file.
+ *
+ * The full extended dictionary matrix is about 122 MB. On the heap it is one huge array the
+ * collector has to look after; here the heap only holds this small object.
+ *
+ * Every access is bounds checked: get() checks the guess and answer indices, and countPatterns()
+ * reads through a slice of one row, so a bad candidate index can't read another row. The segment
+ * belongs to a shared arena, so any number of threads can read it at once. close() frees it (or
+ * unmaps the file); reading after that throws IllegalStateException.
+ *
+ * The cache file is the header below followed by the entries row by row, in native byte order:
+ *   int magic "WPTM", short format version, short bytes per entry,
+ *   long dictionary fingerprint (PatternMatrix.fingerprint), int guess count, int answer count,
+ *   padding up to HEADER_BYTES.
+ * A file that doesn't match the matrix (another dictionary, or an old format) is rebuilt. It is
+ * written to a temporary file and renamed into place, so other processes mapping the same file
+ * never see it half written; as the mapping is read only they all share the same page cache.
+ */
+
+public final class SegmentPatternTable implements PatternTable, AutoCloseable {
+    static final int MAGIC = 0x5750544D; // "WPTM"
+    static final short VERSION = 1;
+    static final long HEADER_BYTES = 64;
+
+    private final Arena arena;
+    private final MemorySegment data; // the entries, without the header
+    private final int guessCount;
+    private final int answerCount;
+    private final int entryBytes;
+    private final long rowBytes;
+    private final boolean fromCache;  // mapped from a file that was already there
+
+    private SegmentPatternTable(Arena arena, MemorySegment segment, int guessCount, int answerCount, int entryBytes, boolean fromCache) {
+        this.arena = arena;
+        this.data = segment.asSlice(HEADER_BYTES);
+        this.guessCount = guessCount;
+        this.answerCount = answerCount;
+        this.entryBytes = entryBytes;
+        this.rowBytes = (long) answerCount * entryBytes;
+        this.fromCache = fromCache;
+    }
+
+    /**
+     * Computes the matrix into native memory.
+     */
+    static SegmentPatternTable allocate(PatternMatrix matrix) {
+        Arena arena = Arena.ofShared();
+        MemorySegment segment = arena.allocate(fileSize(matrix), 64);
+        fill(matrix, segment);
+        return new SegmentPatternTable(arena, segment, matrix.guessCount(), matrix.answerCount(), matrix.entryBytes(), false);
+    }
+
+    /**
+     * Maps the matrix from a cache file, computing and writing the file first if it is missing or
+     * was built for other words.
+     */
+    static SegmentPatternTable map(PatternMatrix matrix, Path file) {
+        try {
+            SegmentPatternTable table = open(matrix, file, true);
+            if (table != null) return table;
+            write(matrix, file);
+            table = open(matrix, file, false);
+            if (table == null) throw new IOException("Could not read back " + file);
+            return table;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static long fileSize(PatternMatrix matrix) {
+        return HEADER_BYTES + (long) matrix.guessCount() * matrix.answerCount() * matrix.entryBytes();
+    }
+
+    // maps the file read only, or returns null if it is missing or doesn't match the matrix
+    private static SegmentPatternTable open(PatternMatrix matrix, Path file, boolean fromCache) throws IOException {
+        if (!Files.isRegularFile(file) || Files.size(file) != fileSize(matrix)) return null;
+        Arena arena = Arena.ofShared();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MemorySegment segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena);
+            if (segment.get(ValueLayout.JAVA_INT, 0) == MAGIC
+                    && segment.get(ValueLayout.JAVA_SHORT, 4) == VERSION
+                    && segment.get(ValueLayout.JAVA_SHORT, 6) == matrix.entryBytes()
+                    && segment.get(ValueLayout.JAVA_LONG, 8) == matrix.fingerprint()
+                    && segment.get(ValueLayout.JAVA_INT, 16) == matrix.guessCount()
+                    && segment.get(ValueLayout.JAVA_INT, 20) == matrix.answerCount()) {
+                return new SegmentPatternTable(arena, segment, matrix.guessCount(), matrix.answerCount(), matrix.entryBytes(), fromCache);
+            }
+        } catch (IOException | RuntimeException e) {
+            arena.close();
+            throw e;
+        }
+        arena.close();
+        return null;
+    }
+
+    private static void write(PatternMatrix matrix, Path file) throws IOException {
+        Path dir = file.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        Path temp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+        try {
+            try (Arena arena = Arena.ofShared();
+                 FileChannel channel = FileChannel.open(temp, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MemorySegment segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize(matrix), arena);
+                fill(matrix, segment);
+                segment.force();
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // writes the header and computes every row into the segment
+    private static void fill(PatternMatrix matrix, MemorySegment segment) {
+        segment.set(ValueLayout.JAVA_INT, 0, MAGIC);
+        segment.set(ValueLayout.JAVA_SHORT, 4, VERSION);
+        segment.set(ValueLayout.JAVA_SHORT, 6, (short) matrix.entryBytes());
+        segment.set(ValueLayout.JAVA_LONG, 8, matrix.fingerprint());
+        segment.set(ValueLayout.JAVA_INT, 16, matrix.guessCount());
+        segment.set(ValueLayout.JAVA_INT, 20, matrix.answerCount());
+
+        MemorySegment data = segment.asSlice(HEADER_BYTES);
+        int numAnswers = matrix.answerCount();
+        boolean wide = matrix.entryBytes() == 2;
+        matrix.computeRows((g, codes) -> {
+            long offset = (long) g * numAnswers;
+            if (wide) {
+                for (int a = 0; a < numAnswers; a++) data.setAtIndex(ValueLayout.JAVA_SHORT, offset + a, (short) codes[a]);
+            } else {
+                for (int a = 0; a < numAnswers; a++) data.set(ValueLayout.JAVA_BYTE, offset + a, (byte) codes[a]);
+            }
+        });
+    }
+
+    @Override
+    public int get(int g, int a) {
+        long index = (long) Objects.checkIndex(g, guessCount) * answerCount + Objects.checkIndex(a, answerCount);
+        if (entryBytes == 2) return data.getAtIndex(ValueLayout.JAVA_SHORT, index);
+        return data.get(ValueLayout.JAVA_BYTE, index) & 0xFF;
+    }
+
+    @Override
+    public void countPatterns(int g, int[] candidates, int count, int[] counts) {
+        MemorySegment row = data.asSlice(Objects.checkIndex(g, guessCount) * rowBytes, rowBytes);
+        if (entryBytes == 2) {
+            for (int i = 0; i < count; i++) counts[row.getAtIndex(ValueLayout.JAVA_SHORT, candidates[i])]++;
+            return;
+        }
+        for (int i = 0; i < count; i++) {
+            counts[row.get(ValueLayout.JAVA_BYTE, candidates[i]) & 0xFF]++;
+        }
+    }
+
+    @Override
+    public void countPatterns(int g, int[] candidates, int count, double[] weights, double[] sums) {
+        MemorySegment row = data.asSlice(Objects.checkIndex(g, guessCount) * rowBytes, rowBytes);
+        if (entryBytes == 2) {
+            for (int i = 0; i < count; i++) sums[row.getAtIndex(ValueLayout.JAVA_SHORT, candidates[i])] += weights[candidates[i]];
+            return;
+        }
+        for (int i = 0; i < count; i++) {
+            int a = candidates[i];
+            sums[row.get(ValueLayout.JAVA_BYTE, a) & 0xFF] += weights[a];
+        }
+    }
+
+    /**
+     * Returns true if the table was mapped from a cache file that was already there (so nothing
+     * was computed).
+     */
+    public boolean isFromCache() {
+        return fromCache;
+    }
+
+    /**
+     * Returns the size of the entries in bytes.
+     */
+    public long byteSize() {
+        return data.byteSize();
+    }
+
+    /**
+     * Frees the memory or unmaps the file. No thread may read the table any more.
+     */
+    @Override
+    public void close() {
+        arena.close();
+    }
+}
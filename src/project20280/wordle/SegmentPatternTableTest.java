@@ -0,0 +1,97 @@
+package project20280.wordle;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SegmentPatternTableTest {
+    private static final List<String> WORDS = new Wordle().getDictionary();
+
+    private static void assertSameEntries(PatternMatrix expected, PatternMatrix actual) {
+        assertEquals(expected.guessCount(), actual.guessCount());
+        // read by all cores at once
+        IntStream.range(0, expected.guessCount()).parallel().forEach(g -> {
+            for (int a = 0; a < expected.answerCount(); a++) {
+                if (expected.get(g, a) != actual.get(g, a)) fail(expected.guess(g) + " " + expected.answer(a));
+            }
+        });
+        int n = expected.answerCount();
+        int[] candidates = {0, n / 3, n / 2, n - 1};
+        int[] counts = new int[expected.patternCount()];
+        int[] actualCounts = new int[expected.patternCount()];
+        for (int g = 0; g < expected.guessCount(); g += 101) {
+            expected.countPatterns(g, candidates, candidates.length, counts);
+            actual.countPatterns(g, candidates, candidates.length, actualCounts);
+        }
+        assertArrayEquals(counts, actualCounts);
+    }
+
+    @Test
+    void testOffHeap() {
+        PatternMatrix heap = new PatternMatrix(WORDS);
+        PatternMatrix offHeap = new PatternMatrix(WORDS, WORDS, PatternStorage.offHeap());
+        SegmentPatternTable table = (SegmentPatternTable) offHeap.getTable();
+        assertEquals((long) WORDS.size() * WORDS.size(), table.byteSize());
+        assertFalse(table.isFromCache());
+        assertSameEntries(heap, offHeap);
+
+        // the scorer doesn't care where the entries are
+        int[] all = IntStream.range(0, WORDS.size()).toArray();
+        assertEquals(new EntropyRanker(heap).bestGuess(all, all.length), new EntropyRanker(offHeap).bestGuess(all, all.length));
+
+        table.close();
+        assertThrows(IllegalStateException.class, () -> offHeap.get(0, 0));
+    }
+
+    @Test
+    void testBoundsChecked() {
+        PatternMatrix matrix = new PatternMatrix(List.of("abbey", "kebab", "babes"), List.of("abbey", "kebab", "babes"), PatternStorage.offHeap());
+        assertThrows(IndexOutOfBoundsException.class, () -> matrix.get(3, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> matrix.get(0, 3)); // not the next row
+        assertThrows(IndexOutOfBoundsException.class, () -> matrix.get(-1, 0));
+        int[] counts = new int[matrix.patternCount()];
+        assertThrows(IndexOutOfBoundsException.class, () -> matrix.countPatterns(0, new int[]{0, 3}, 2, counts));
+        ((SegmentPatternTable) matrix.getTable()).close();
+    }
+
+    @Test
+    void testMappedFile(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("patterns.bin");
+        PatternMatrix first = new PatternMatrix(WORDS, WORDS, PatternStorage.mapped(file));
+        assertFalse(((SegmentPatternTable) first.getTable()).isFromCache());
+        assertEquals(SegmentPatternTable.HEADER_BYTES + (long) WORDS.size() * WORDS.size(), Files.size(file));
+        try (var files = Files.list(dir)) {
+            assertEquals(1, files.count()); // no temporary file left behind
+        }
+
+        // a second mapping (as another process would) reads the file instead of computing it
+        PatternMatrix second = new PatternMatrix(WORDS, WORDS, PatternStorage.parse(file.toString()));
+        assertTrue(((SegmentPatternTable) second.getTable()).isFromCache());
+        assertSameEntries(new PatternMatrix(WORDS), second);
+        ((SegmentPatternTable) first.getTable()).close();
+        ((SegmentPatternTable) second.getTable()).close();
+
+        // a file built for other words is rebuilt
+        List<String> other = List.of("abbey", "kebab", "babes");
+        PatternMatrix small = new PatternMatrix(other, other, PatternStorage.mapped(file));
+        assertFalse(((SegmentPatternTable) small.getTable()).isFromCache());
+        assertEquals(Feedback.compute("kebab", "babes"), small.get(1, 2));
+        ((SegmentPatternTable) small.getTable()).close();
+    }
+
+    @Test
+    void testWideEntries() {
+        List<String> words = List.of("banana", "ananas", "bandan", "cabana", "banner");
+        PatternMatrix heap = new PatternMatrix(words);
+        PatternMatrix offHeap = new PatternMatrix(words, words, PatternStorage.offHeap());
+        assertEquals(2, offHeap.entryBytes());
+        assertSameEntries(heap, offHeap);
+        ((SegmentPatternTable) offHeap.getTable()).close();
+    }
+}
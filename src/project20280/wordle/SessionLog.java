@@ -0,0 +1,158 @@
+package project20280.wordle;
+
+import project20280.hashtable.ChainHashMap;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.ObjLongConsumer;
+import java.util.zip.CRC32;
+
+/*
+ * Append-only file of session snapshots, so the games of a server can be saved in bulk and
+ * picked up again after a restart. A session that is saved again gets a new record, and the last
+ * record of each session id is the one that counts.
+ *
+ * File layout (big-endian):
+ *   int magic "WSLG", short format version,
+ *   then per record: int snapshot length, int CRC32 of the rest, long session id, the snapshot
+ *   (see SessionSnapshot).
+ * appendAll() encodes a whole batch into one buffer and writes it with one call, so thousands of
+ * sessions cost one write. A record cut short by a crash (or that fails its CRC) ends the log:
+ * reading stops there, and opening the file for appending cuts it off.
+ * A log is read into memory in one go, so it can be up to 2 GB (about 20 million sessions).
+ */
+
+public final class SessionLog implements AutoCloseable {
+    static final int MAGIC = 0x57534C47; // "WSLG"
+    static final short VERSION = 1;
+    static final int HEADER_BYTES = 6;
+    private static final int RECORD_HEADER_BYTES = 4 + 4 + 8;
+
+    private final FileChannel channel;
+    private ByteBuffer buffer = ByteBuffer.allocate(1 << 16); // reused between batches
+
+    private SessionLog(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Opens a log for appending, creating it if needed.
+     *
+     * @throws IOException if the file is not a session log
+     */
+    public static SessionLog open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (channel.size() == 0) {
+                channel.write(ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).putShort(VERSION).flip());
+            } else {
+                long end = scan(channel, null);
+                if (end < channel.size()) channel.truncate(end); // drop a record cut short
+            }
+            channel.position(channel.size());
+            return new SessionLog(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Appends one session.
+     */
+    public void append(long id, SessionSnapshot snapshot) throws IOException {
+        appendAll(new long[]{id}, new SessionSnapshot[]{snapshot});
+    }
+
+    /**
+     * Appends a batch of sessions with a single write.
+     */
+    public synchronized void appendAll(long[] ids, SessionSnapshot[] snapshots) throws IOException {
+        if (ids.length != snapshots.length) {
+            throw new IllegalArgumentException(ids.length + " ids for " + snapshots.length + " snapshots");
+        }
+        long total = 0;
+        for (SessionSnapshot snapshot : snapshots) total += RECORD_HEADER_BYTES + snapshot.encodedSize();
+        if (total > Integer.MAX_VALUE) throw new IllegalArgumentException("Batch too large: " + total + " bytes");
+        if (buffer.capacity() < total) buffer = ByteBuffer.allocate((int) Math.max(total, 2L * buffer.capacity()));
+
+        buffer.clear();
+        CRC32 crc = new CRC32();
+        for (int i = 0; i < snapshots.length; i++) {
+            int start = buffer.position();
+            buffer.putInt(snapshots[i].encodedSize());
+            buffer.putInt(0); // CRC, filled in below
+            buffer.putLong(ids[i]);
+            snapshots[i].writeTo(buffer);
+            crc.reset();
+            crc.update(buffer.array(), start + 8, buffer.position() - start - 8);
+            buffer.putInt(start + 4, (int) crc.getValue());
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) channel.write(buffer);
+    }
+
+    /**
+     * Forces the records written so far out to the disk.
+     */
+    public void sync() throws IOException {
+        channel.force(false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Reads every record of a log in order, passing each snapshot with its session id.
+     */
+    public static void read(Path file, ObjLongConsumer<SessionSnapshot> action) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            scan(channel, action);
+        }
+    }
+
+    /**
+     * Returns the last snapshot of each session in a log, by session id.
+     */
+    public static ChainHashMap<Long, SessionSnapshot> readLatest(Path file) throws IOException {
+        ChainHashMap<Long, SessionSnapshot> sessions = new ChainHashMap<>();
+        read(file, (snapshot, id) -> sessions.put(id, snapshot));
+        return sessions;
+    }
+
+    // reads the records (passing them to the action if there is one), returns where the good ones end
+    private static long scan(FileChannel channel, ObjLongConsumer<SessionSnapshot> action) throws IOException {
+        long size = channel.size();
+        if (size < HEADER_BYTES) throw new IOException("Not a session log");
+        if (size > Integer.MAX_VALUE) throw new IOException("Session log too large: " + size + " bytes");
+        ByteBuffer in = ByteBuffer.allocate((int) size);
+        while (in.hasRemaining()) {
+            if (channel.read(in, in.position()) < 0) break;
+        }
+        in.flip();
+        if (in.getInt() != MAGIC) throw new IOException("Not a session log");
+        short version = in.getShort();
+        if (version != VERSION) throw new IOException("Unsupported session log version " + version);
+
+        CRC32 crc = new CRC32();
+        int end = in.position(); // end of the last good record
+        while (in.remaining() >= RECORD_HEADER_BYTES) {
+            int length = in.getInt();
+            int expected = in.getInt();
+            if (length < 0 || in.remaining() < 8L + length) break; // cut short
+            crc.reset();
+            crc.update(in.slice(end + 8, 8 + length));
+            if ((int) crc.getValue() != expected) break;
+            long id = in.getLong();
+            if (action != null) action.accept(SessionSnapshot.readFrom(in.slice(in.position(), length)), id);
+            end = in.position() + length;
+            in.position(end);
+        }
+        return end;
+    }
+}
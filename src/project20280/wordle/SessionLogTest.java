@@ -0,0 +1,92 @@
+package project20280.wordle;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import project20280.hashtable.ChainHashMap;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionLogTest {
+    private static final SolverTables TABLES = new Wordle().getSolverTables();
+
+    // the snapshot of a game against each answer after one or two turns
+    private static SessionSnapshot[] games(int n, int turns) {
+        PatternMatrix patterns = TABLES.getPatternMatrix();
+        BitsetSolver solver = new BitsetSolver(TABLES, RankingMode.ENTROPY);
+        SessionSnapshot[] snapshots = new SessionSnapshot[n];
+        for (int i = 0; i < n; i++) {
+            solver.reset();
+            int target = i % patterns.answerCount();
+            for (int t = 0; t < turns; t++) {
+                int guess = solver.suggestIndex();
+                solver.apply(guess, patterns.get(guess, target));
+            }
+            snapshots[i] = solver.snapshot();
+        }
+        return snapshots;
+    }
+
+    @Test
+    void testBatch(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("sessions.log");
+        int n = 5000;
+        SessionSnapshot[] snapshots = games(n, 1);
+        long[] ids = new long[n];
+        for (int i = 0; i < n; i++) ids[i] = 1000 + i;
+
+        long start = System.nanoTime();
+        try (SessionLog log = SessionLog.open(file)) {
+            log.appendAll(ids, snapshots);
+            log.sync();
+        }
+        System.out.printf("Saved %d sessions in %.1f ms (%d bytes)%n", n, (System.nanoTime() - start) / 1e6, Files.size(file));
+
+        // saved again later: the last record of a session wins
+        SessionSnapshot later = games(3, 2)[2];
+        try (SessionLog log = SessionLog.open(file)) {
+            log.append(1002, later);
+        }
+        ChainHashMap<Long, SessionSnapshot> sessions = SessionLog.readLatest(file);
+        assertEquals(n, sessions.size());
+        assertEquals(snapshots[7].getCandidates(), sessions.get(1007L).getCandidates());
+        assertEquals(2, sessions.get(1002L).turns());
+        assertEquals(later.getCandidates(), sessions.get(1002L).getCandidates());
+    }
+
+    @Test
+    void testTornRecord(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("sessions.log");
+        SessionSnapshot[] snapshots = games(3, 1);
+        try (SessionLog log = SessionLog.open(file)) {
+            log.appendAll(new long[]{1, 2, 3}, snapshots);
+        }
+        long size = Files.size(file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(size - 5); // a crash in the middle of the last record
+        }
+        assertEquals(2, SessionLog.readLatest(file).size());
+
+        // appending cuts the broken record off first
+        try (SessionLog log = SessionLog.open(file)) {
+            log.append(4, snapshots[2]);
+        }
+        ChainHashMap<Long, SessionSnapshot> sessions = SessionLog.readLatest(file);
+        assertEquals(3, sessions.size());
+        assertNull(sessions.get(3L));
+        assertEquals(snapshots[2].getCandidates(), sessions.get(4L).getCandidates());
+    }
+
+    @Test
+    void testNotALog(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("other.txt");
+        Files.writeString(file, "hello world");
+        assertThrows(IOException.class, () -> SessionLog.open(file));
+        assertThrows(IOException.class, () -> SessionLog.read(file, (snapshot, id) -> {}));
+    }
+}
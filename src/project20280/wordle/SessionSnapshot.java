@@ -0,0 +1,187 @@
+package project20280.wordle;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/*
+ * The state of a game in progress, saved from a BitsetSolver so it can be resumed later (after a
+ * restart, or on another server with the same dictionary): the guesses and hints so far, whether
+ * it is in hard mode, and the candidates left.
+ *
+ * The binary form is a few dozen bytes plus the candidates (big-endian, as DataOutputStream):
+ *   int magic "WSNP", byte format version, byte flags (1 = hard mode, 2 = candidates as a list),
+ *   long dictionary fingerprint (PatternMatrix.fingerprint), int answer count,
+ *   short number of turns, then per turn: int guess index, short pattern code,
+ *   then the candidates, whichever is smaller:
+ *     -> a list: int count, then one answer index each (2 bytes each when they fit, else 4)
+ *     -> the bitset: one long per 64 answers
+ * Late in a game only a few candidates are left, so most snapshots are well under 100 bytes.
+ */
+
+public final class SessionSnapshot {
+    static final int MAGIC = 0x57534E50; // "WSNP"
+    static final byte VERSION = 1;
+    private static final int HARD_MODE = 1, AS_LIST = 2;
+    private static final int HEADER_BYTES = 4 + 1 + 1 + 8 + 4 + 2;
+
+    private final long fingerprint;
+    private final boolean hardMode;
+    private final int[] guesses;
+    private final int[] patterns;
+    private final CandidateSet candidates;
+
+    SessionSnapshot(long fingerprint, boolean hardMode, int[] guesses, int[] patterns, CandidateSet candidates) {
+        if (guesses.length != patterns.length || guesses.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Bad guess history: " + guesses.length + " guesses, " + patterns.length + " hints");
+        }
+        this.fingerprint = fingerprint;
+        this.hardMode = hardMode;
+        this.guesses = guesses;
+        this.patterns = patterns;
+        this.candidates = candidates;
+    }
+
+    /**
+     * Returns the fingerprint of the pattern matrix the game was played with.
+     */
+    public long fingerprint() {
+        return fingerprint;
+    }
+
+    public boolean isHardMode() {
+        return hardMode;
+    }
+
+    public int turns() {
+        return guesses.length;
+    }
+
+    /**
+     * Returns the guess index played on a turn (from 0).
+     */
+    public int guess(int turn) {
+        return guesses[turn];
+    }
+
+    /**
+     * Returns the hint (pattern code) given on a turn (from 0).
+     */
+    public int pattern(int turn) {
+        return patterns[turn];
+    }
+
+    /**
+     * Returns the candidates left (read only).
+     */
+    public CandidateSet getCandidates() {
+        return candidates;
+    }
+
+    // whether the candidates are written as a list of indices, and with 2 bytes per index
+    private boolean asList() {
+        return listBytes() < bitsetBytes();
+    }
+
+    private boolean narrow() {
+        return candidates.universe() <= 0xFFFF;
+    }
+
+    private long listBytes() {
+        return 4 + (long) candidates.size() * (narrow() ? 2 : 4);
+    }
+
+    private long bitsetBytes() {
+        return 8L * CandidateSet.wordCount(candidates.universe());
+    }
+
+    /**
+     * Returns the number of bytes {@link #writeTo} writes.
+     */
+    public int encodedSize() {
+        return HEADER_BYTES + 6 * guesses.length + (int) Math.min(listBytes(), bitsetBytes());
+    }
+
+    /**
+     * Writes the snapshot at the buffer's position (which is moved past it).
+     */
+    public void writeTo(ByteBuffer out) {
+        boolean asList = asList();
+        out.putInt(MAGIC);
+        out.put(VERSION);
+        out.put((byte) ((hardMode ? HARD_MODE : 0) | (asList ? AS_LIST : 0)));
+        out.putLong(fingerprint);
+        out.putInt(candidates.universe());
+        out.putShort((short) guesses.length);
+        for (int t = 0; t < guesses.length; t++) {
+            out.putInt(guesses[t]);
+            out.putShort((short) patterns[t]);
+        }
+
+        long[] bits = candidates.bits();
+        if (!asList) {
+            for (long word : bits) out.putLong(word);
+            return;
+        }
+        out.putInt(candidates.size());
+        boolean narrow = narrow();
+        for (int i = 0; i < bits.length; i++) {
+            for (long word = bits[i]; word != 0; word &= word - 1) {
+                int a = (i << 6) + Long.numberOfTrailingZeros(word);
+                if (narrow) out.putShort((short) a);
+                else out.putInt(a);
+            }
+        }
+    }
+
+    public byte[] toBytes() {
+        byte[] bytes = new byte[encodedSize()];
+        writeTo(ByteBuffer.wrap(bytes));
+        return bytes;
+    }
+
+    /**
+     * Reads a snapshot written by {@link #writeTo} at the buffer's position (which is moved past it).
+     *
+     * @throws IllegalArgumentException if the bytes are not a valid snapshot
+     */
+    public static SessionSnapshot readFrom(ByteBuffer in) {
+        try {
+            if (in.getInt() != MAGIC) throw new IllegalArgumentException("Not a session snapshot");
+            byte version = in.get();
+            if (version != VERSION) throw new IllegalArgumentException("Unsupported session snapshot version " + version);
+            int flags = in.get();
+            long fingerprint = in.getLong();
+            int universe = in.getInt();
+            int turns = in.getShort();
+            if (universe < 0 || turns < 0) throw new IllegalArgumentException("Session snapshot is corrupt");
+            int[] guesses = new int[turns];
+            int[] patterns = new int[turns];
+            for (int t = 0; t < turns; t++) {
+                guesses[t] = in.getInt();
+                patterns[t] = in.getShort() & 0xFFFF;
+            }
+
+            CandidateSet candidates = new CandidateSet(universe);
+            if ((flags & AS_LIST) == 0) {
+                long[] bits = candidates.bits();
+                for (int i = 0; i < bits.length; i++) bits[i] = in.getLong();
+                if ((universe & 63) != 0) bits[bits.length - 1] &= (1L << universe) - 1; // nothing past the last word
+            } else {
+                int count = in.getInt();
+                boolean narrow = universe <= 0xFFFF;
+                for (int i = 0; i < count; i++) {
+                    int a = narrow ? in.getShort() & 0xFFFF : in.getInt();
+                    if (a < 0 || a >= universe) throw new IllegalArgumentException("Session snapshot is corrupt");
+                    candidates.add(a);
+                }
+            }
+            return new SessionSnapshot(fingerprint, (flags & HARD_MODE) != 0, guesses, patterns, candidates);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Session snapshot is cut short");
+        }
+    }
+
+    public static SessionSnapshot fromBytes(byte[] bytes) {
+        return readFrom(ByteBuffer.wrap(bytes));
+    }
+}
@@ -0,0 +1,112 @@
+package project20280.wordle;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionSnapshotTest {
+    private static final SolverTables TABLES = new Wordle().getSolverTables();
+
+    // plays the solver's guesses for a number of turns
+    private static void play(BitsetSolver solver, int target, int turns) {
+        PatternMatrix patterns = TABLES.getPatternMatrix();
+        for (int t = 0; t < turns; t++) {
+            int guess = solver.suggestIndex();
+            solver.apply(guess, patterns.get(guess, target));
+        }
+    }
+
+    @Test
+    void testRoundTrip() {
+        BitsetSolver solver = new BitsetSolver(TABLES, RankingMode.ENTROPY);
+        solver.setHardMode(true);
+        int target = TABLES.getPatternMatrix().answerIndex("lobby");
+        play(solver, target, 2);
+
+        SessionSnapshot snapshot = solver.snapshot();
+        assertEquals(2, snapshot.turns());
+        assertEquals(TABLES.getPatternMatrix().guessIndex("raise"), snapshot.guess(0));
+        byte[] bytes = snapshot.toBytes();
+        assertEquals(snapshot.encodedSize(), bytes.length);
+        assertTrue(bytes.length < 100, bytes.length + " bytes"); // few candidates left, saved as a list
+
+        SessionSnapshot copy = SessionSnapshot.fromBytes(bytes);
+        assertTrue(copy.isHardMode());
+        assertEquals(snapshot.fingerprint(), copy.fingerprint());
+        assertEquals(snapshot.getCandidates(), copy.getCandidates());
+        for (int t = 0; t < 2; t++) {
+            assertEquals(snapshot.guess(t), copy.guess(t));
+            assertEquals(snapshot.pattern(t), copy.pattern(t));
+        }
+
+        // at the start every word is a candidate, which is smaller as a bitset
+        BitsetSolver fresh = new BitsetSolver(TABLES, RankingMode.ENTROPY);
+        SessionSnapshot start = fresh.snapshot();
+        assertEquals(20 + 8 * CandidateSet.wordCount(TABLES.getWords().size()), start.encodedSize());
+        assertEquals(start.getCandidates(), SessionSnapshot.fromBytes(start.toBytes()).getCandidates());
+    }
+
+    @Test
+    void testResumeGame() {
+        PatternMatrix patterns = TABLES.getPatternMatrix();
+        for (RankingMode mode : RankingMode.values()) {
+            for (String word : List.of("lobby", "kayak", "fungi")) {
+                int target = patterns.answerIndex(word);
+                BitsetSolver solver = new BitsetSolver(TABLES, mode);
+                solver.setHardMode(mode != RankingMode.MINIMAX);
+                play(solver, target, 1);
+                byte[] saved = solver.snapshot().toBytes();
+                play(solver, target, 1);
+
+                // another solver (after a restart) carries on with the same guesses and constraints
+                BitsetSolver resumed = new BitsetSolver(TABLES, mode);
+                resumed.restore(SessionSnapshot.fromBytes(saved));
+                play(resumed, target, 1);
+                assertEquals(solver.getCandidates(), resumed.getCandidates(), mode + " " + word);
+                assertEquals(solver.suggest(), resumed.suggest(), mode + " " + word);
+                assertEquals(solver.getHardModeConstraints() != null, resumed.getHardModeConstraints() != null);
+                if (solver.getHardModeConstraints() != null) {
+                    assertEquals(solver.getHardModeConstraints().legalGuesses(), resumed.getHardModeConstraints().legalGuesses());
+                }
+            }
+        }
+    }
+
+    @Test
+    void testWrongDictionary() {
+        BitsetSolver solver = new BitsetSolver(TABLES, RankingMode.ENTROPY);
+        SessionSnapshot snapshot = solver.snapshot();
+        BitsetSolver other = new BitsetSolver(new SolverTables(List.of("abbey", "kebab", "babes")), RankingMode.ENTROPY);
+        assertThrows(IllegalArgumentException.class, () -> other.restore(snapshot));
+
+        byte[] bytes = snapshot.toBytes();
+        assertThrows(IllegalArgumentException.class, () -> SessionSnapshot.readFrom(ByteBuffer.wrap(bytes, 0, bytes.length - 1)));
+        bytes[0] = 'X';
+        assertThrows(IllegalArgumentException.class, () -> SessionSnapshot.fromBytes(bytes));
+
+        solver.apply("zzzzz", 0); // not in the word list
+        assertThrows(IllegalStateException.class, solver::snapshot);
+    }
+
+    @Test
+    void testSpeed() {
+        BitsetSolver solver = new BitsetSolver(TABLES, RankingMode.ENTROPY);
+        play(solver, TABLES.getPatternMatrix().answerIndex("kayak"), 2);
+        BitsetSolver resumed = new BitsetSolver(TABLES, RankingMode.ENTROPY);
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        int n = 100_000;
+        long start = System.nanoTime();
+        for (int i = 0; i < n; i++) {
+            buffer.clear();
+            solver.snapshot().writeTo(buffer);
+            buffer.flip();
+            resumed.restore(SessionSnapshot.readFrom(buffer));
+        }
+        double micros = (System.nanoTime() - start) / 1000.0 / n;
+        System.out.printf("Snapshot + restore: %.2f us%n", micros);
+        assertEquals(solver.getCandidates(), resumed.getCandidates());
+    }
+}
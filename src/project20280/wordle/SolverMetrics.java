@@ -0,0 +1,245 @@
+package project20280.wordle;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Counters and latency histograms for the solve pipeline (see SolverMetricsMBean):
+ *  -> filter, score and rank latencies of each turn (BitsetSolver)
+ *  -> how many candidates are left after each guess, one histogram per turn
+ *  -> how long loading the dictionary took (Wordle)
+ *
+ * Off unless the JVM runs with -Dwordle.metrics=true. ENABLED is a static final, so the JIT drops
+ * the guarded code altogether when it is off: the solver doesn't even read the clock.
+ * When it is on, GLOBAL is registered with the platform MBean server as
+ * project20280.wordle:type=SolverMetrics, and with -Dwordle.metrics.dump=<seconds> its report is
+ * also printed to standard error that often.
+ */
+
+public final class SolverMetrics implements SolverMetricsMBean {
+    public static final boolean ENABLED = Boolean.getBoolean("wordle.metrics");
+    public static final String OBJECT_NAME = "project20280.wordle:type=SolverMetrics";
+    public static final int MAX_TURNS = 8; // later turns are counted with the last one
+
+    /**
+     * The metrics the solvers record into.
+     */
+    public static final SolverMetrics GLOBAL = new SolverMetrics();
+
+    static {
+        if (ENABLED) {
+            GLOBAL.register(OBJECT_NAME);
+            long seconds = Long.getLong("wordle.metrics.dump", 0);
+            if (seconds > 0) GLOBAL.startDump(seconds, System.err);
+        }
+    }
+
+    private final Histogram filterNanos = new Histogram();
+    private final Histogram scoreNanos = new Histogram();
+    private final Histogram rankNanos = new Histogram();
+    private final Histogram[] candidatesByTurn = new Histogram[MAX_TURNS];
+    private final LongAdder dictionaryLoads = new LongAdder();
+    private volatile long dictionaryLoadNanos = 0; // the last load
+
+    public SolverMetrics() {
+        for (int t = 0; t < MAX_TURNS; t++) candidatesByTurn[t] = new Histogram();
+    }
+
+    public void recordFilter(long nanos) {
+        filterNanos.record(nanos);
+    }
+
+    public void recordScore(long nanos) {
+        scoreNanos.record(nanos);
+    }
+
+    public void recordRank(long nanos) {
+        rankNanos.record(nanos);
+    }
+
+    /**
+     * Records the number of candidates left after a guess (turn 0 is the first guess).
+     */
+    public void recordCandidates(int turn, int count) {
+        candidatesByTurn[Math.min(turn, MAX_TURNS - 1)].record(count);
+    }
+
+    public void recordDictionaryLoad(long nanos) {
+        dictionaryLoads.increment();
+        dictionaryLoadNanos = nanos;
+    }
+
+    public Histogram filterNanos() {
+        return filterNanos;
+    }
+
+    public Histogram scoreNanos() {
+        return scoreNanos;
+    }
+
+    public Histogram rankNanos() {
+        return rankNanos;
+    }
+
+    /**
+     * Returns the histogram of the candidates left after a guess (turn 0 is the first guess).
+     */
+    public Histogram candidates(int turn) {
+        return candidatesByTurn[Math.min(turn, MAX_TURNS - 1)];
+    }
+
+    /**
+     * Registers these metrics with the platform MBean server under the given name.
+     *
+     * @throws IllegalStateException if the name is taken or not valid
+     */
+    public void register(String name) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName(name));
+        } catch (JMException e) {
+            throw new IllegalStateException("Can't register the solver metrics as " + name, e);
+        }
+    }
+
+    /**
+     * Prints the report every so many seconds on a daemon thread, until the returned executor is shut down.
+     */
+    public ScheduledExecutorService startDump(long seconds, PrintStream out) {
+        ScheduledExecutorService dumper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "solver-metrics-dump");
+            thread.setDaemon(true);
+            return thread;
+        });
+        dumper.scheduleAtFixedRate(() -> out.println(getReport()), seconds, seconds, TimeUnit.SECONDS);
+        return dumper;
+    }
+
+    @Override
+    public String getReport() {
+        StringBuilder sb = new StringBuilder("Solver metrics (latencies in us)\n");
+        sb.append("  filter: ").append(filterNanos.summary(1000)).append('\n');
+        sb.append("  score:  ").append(scoreNanos.summary(1000)).append('\n');
+        sb.append("  rank:   ").append(rankNanos.summary(1000)).append('\n');
+        for (int t = 0; t < MAX_TURNS; t++) {
+            if (candidatesByTurn[t].count() == 0) continue;
+            sb.append("  candidates after guess ").append(t + 1).append(t == MAX_TURNS - 1 ? "+" : "").append(": ")
+                    .append(candidatesByTurn[t].summary(1)).append('\n');
+        }
+        sb.append(String.format(Locale.ROOT, "  dictionary loads: %d, last %.1f ms", getDictionaryLoads(), getDictionaryLoadMillis()));
+        return sb.toString();
+    }
+
+    @Override
+    public void reset() {
+        filterNanos.reset();
+        scoreNanos.reset();
+        rankNanos.reset();
+        for (Histogram h : candidatesByTurn) h.reset();
+    }
+
+    @Override
+    public long getFilterCount() {
+        return filterNanos.count();
+    }
+
+    @Override
+    public double getFilterMeanMicros() {
+        return filterNanos.mean() / 1000;
+    }
+
+    @Override
+    public double getFilterP50Micros() {
+        return filterNanos.percentile(50) / 1000.0;
+    }
+
+    @Override
+    public double getFilterP99Micros() {
+        return filterNanos.percentile(99) / 1000.0;
+    }
+
+    @Override
+    public double getFilterMaxMicros() {
+        return filterNanos.max() / 1000.0;
+    }
+
+    @Override
+    public long getScoreCount() {
+        return scoreNanos.count();
+    }
+
+    @Override
+    public double getScoreMeanMicros() {
+        return scoreNanos.mean() / 1000;
+    }
+
+    @Override
+    public double getScoreP50Micros() {
+        return scoreNanos.percentile(50) / 1000.0;
+    }
+
+    @Override
+    public double getScoreP99Micros() {
+        return scoreNanos.percentile(99) / 1000.0;
+    }
+
+    @Override
+    public double getScoreMaxMicros() {
+        return scoreNanos.max() / 1000.0;
+    }
+
+    @Override
+    public long getRankCount() {
+        return rankNanos.count();
+    }
+
+    @Override
+    public double getRankMeanMicros() {
+        return rankNanos.mean() / 1000;
+    }
+
+    @Override
+    public double getRankP50Micros() {
+        return rankNanos.percentile(50) / 1000.0;
+    }
+
+    @Override
+    public double getRankP99Micros() {
+        return rankNanos.percentile(99) / 1000.0;
+    }
+
+    @Override
+    public double getRankMaxMicros() {
+        return rankNanos.max() / 1000.0;
+    }
+
+    @Override
+    public double[] getCandidatesMeanByTurn() {
+        double[] means = new double[MAX_TURNS];
+        for (int t = 0; t < MAX_TURNS; t++) means[t] = candidatesByTurn[t].mean();
+        return means;
+    }
+
+    @Override
+    public long[] getCandidatesP50ByTurn() {
+        long[] medians = new long[MAX_TURNS];
+        for (int t = 0; t < MAX_TURNS; t++) medians[t] = candidatesByTurn[t].percentile(50);
+        return medians;
+    }
+
+    @Override
+    public long getDictionaryLoads() {
+        return dictionaryLoads.sum();
+    }
+
+    @Override
+    public double getDictionaryLoadMillis() {
+        return dictionaryLoadNanos / 1e6;
+    }
+}
@@ -0,0 +1,60 @@
+package project20280.wordle;
+
+/*
+ * The JMX view of SolverMetrics (a standard MBean, so this interface lists what is shown).
+ * Latencies are in microseconds and per call: filtering is applying one hint to the candidates,
+ * scoring is computing the scores of the guesses, ranking is picking the best one from them.
+ */
+
+public interface SolverMetricsMBean {
+    long getFilterCount();
+
+    double getFilterMeanMicros();
+
+    double getFilterP50Micros();
+
+    double getFilterP99Micros();
+
+    double getFilterMaxMicros();
+
+    long getScoreCount();
+
+    double getScoreMeanMicros();
+
+    double getScoreP50Micros();
+
+    double getScoreP99Micros();
+
+    double getScoreMaxMicros();
+
+    long getRankCount();
+
+    double getRankMeanMicros();
+
+    double getRankP50Micros();
+
+    double getRankP99Micros();
+
+    double getRankMaxMicros();
+
+    /**
+     * Returns the mean number of candidates left after each guess (the 1st, 2nd, ...).
+     */
+    double[] getCandidatesMeanByTurn();
+
+    /**
+     * Returns the median number of candidates left after each guess (the 1st, 2nd, ...).
+     */
+    long[] getCandidatesP50ByTurn();
+
+    long getDictionaryLoads();
+
+    double getDictionaryLoadMillis();
+
+    /**
+     * Returns everything above as text, as written by the periodic dump.
+     */
+    String getReport();
+
+    void reset();
+}
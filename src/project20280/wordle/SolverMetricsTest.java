@@ -0,0 +1,77 @@
+package project20280.wordle;
+
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SolverMetricsTest {
+
+    @Test
+    void testRecord() {
+        SolverMetrics metrics = new SolverMetrics();
+        for (int i = 1; i <= 100; i++) {
+            metrics.recordFilter(i * 1000L);
+            metrics.recordScore(i * 10_000L);
+        }
+        metrics.recordRank(5000);
+        metrics.recordCandidates(0, 120);
+        metrics.recordCandidates(0, 80);
+        metrics.recordCandidates(1, 6);
+        metrics.recordCandidates(20, 1); // counted with the last turn
+        metrics.recordDictionaryLoad(12_500_000);
+
+        assertEquals(100, metrics.getFilterCount());
+        assertEquals(50.5, metrics.getFilterMeanMicros(), 1e-9);
+        assertEquals(50, metrics.getFilterP50Micros(), 50 * 0.04);
+        assertEquals(1000, metrics.getScoreMaxMicros(), 1e-9);
+        assertEquals(1, metrics.getRankCount());
+        assertEquals(100, metrics.getCandidatesMeanByTurn()[0], 1e-9);
+        assertEquals(6, metrics.getCandidatesP50ByTurn()[1]);
+        assertEquals(1, metrics.candidates(SolverMetrics.MAX_TURNS - 1).count());
+        assertEquals(12.5, metrics.getDictionaryLoadMillis(), 1e-9);
+
+        String report = metrics.getReport();
+        assertTrue(report.contains("filter: n=100, mean 50.5"), report);
+        assertTrue(report.contains("candidates after guess 2: n=1"), report);
+        assertTrue(report.contains("candidates after guess 8+: n=1"), report);
+        assertFalse(report.contains("guess 3:"), report);
+
+        metrics.reset();
+        assertEquals(0, metrics.getFilterCount());
+    }
+
+    @Test
+    void testJmx() throws Exception {
+        SolverMetrics metrics = new SolverMetrics();
+        String name = "project20280.wordle:type=SolverMetrics,name=test";
+        metrics.register(name);
+        metrics.recordScore(2_000_000);
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName objectName = new ObjectName(name);
+        assertEquals(1L, server.getAttribute(objectName, "ScoreCount"));
+        assertEquals(2000.0, (Double) server.getAttribute(objectName, "ScoreMaxMicros"), 1e-9);
+        server.invoke(objectName, "reset", null, null);
+        assertEquals(0L, server.getAttribute(objectName, "ScoreCount"));
+        assertThrows(IllegalStateException.class, () -> metrics.register(name)); // taken
+        server.unregisterMBean(objectName);
+    }
+
+    @Test
+    void testDump() throws Exception {
+        SolverMetrics metrics = new SolverMetrics();
+        metrics.recordFilter(1000);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ScheduledExecutorService dumper = metrics.startDump(1, new PrintStream(bytes, true));
+        Thread.sleep(1500);
+        dumper.shutdownNow();
+        assertTrue(bytes.toString().startsWith("Solver metrics"), bytes.toString());
+    }
+}
@@ -0,0 +1,188 @@
+package project20280.wordle;
+
+import project20280.hashtable.ChainHashMap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntSupplier;
+
+/*
+ * The precomputed, read-only tables a solver needs for one dictionary:
+ * the pattern matrix, the bitset constraint index, the rankers, the letter counts and a trie of
+ * the guesses (for checking input and for pattern queries).
+ *
+ * The dictionary is one word list that is both the possible answers and the allowed guesses,
+ * or two lists: the answers, and the guesses allowed on top of them (the answers are always
+ * allowed, so they come first in the guess list and the other words after them). The answers
+ * can also have prior weights (see Priors), which the entropy and expected size rankings use.
+ *
+ * Each table is built the first time it is asked for, and after that it is only read,
+ * so one instance can be shared by any number of solvers (and threads).
+ * The word list must not change after it is passed in (Wordle's dictionary is read only).
+ * The pattern matrix is kept on the heap unless another PatternStorage is given.
+ *
+ * The scratch arrays the entropy ranking needs (about 30 KB for the extended dictionary) are also
+ * kept here and lent to one solver at a time, so a solver that is waiting for its next hint
+ * holds only its candidate bitset. That matters when there are thousands of games at once.
+ */
+
+public class SolverTables {
+    private final List<String> words;   // the answers
+    private final List<String> guesses; // the answers, then the other allowed guesses
+    private final double[] priors;      // weight of each answer, null if all equally likely
+    private final int wordLength;
+    private final PatternStorage storage;
+    private PatternMatrix patternMatrix = null;
+    private ConstraintIndex constraintIndex = null;
+    private ConstraintIndex guessConstraintIndex = null;
+    private WordTrie guessTrie = null;
+    private EntropyRanker entropyRanker = null;
+    private PartitionRanker partitionRanker = null;
+    private LetterStatistics letterStatistics = null;
+    private final int[] openingGuess = new int[RankingMode.values().length]; // guess index + 1, 0 if not ranked yet
+    private final ArrayList<Scratch> freeScratch = new ArrayList<>(); // returned scratch arrays, reused before allocating
+
+    public SolverTables(List<String> words) {
+        this(words, PatternStorage.heap());
+    }
+
+    public SolverTables(List<String> words, PatternStorage storage) {
+        this(words, words, null, storage);
+    }
+
+    /**
+     * Tables for separate answer and guess lists.
+     *
+     * @param answers the words that can be the target
+     * @param allowed the words that can be guessed, with or without the answers
+     * @param priors  weight of each answer (see Priors), or null if they are all equally likely
+     */
+    public SolverTables(List<String> answers, List<String> allowed, double[] priors, PatternStorage storage) {
+        if (priors != null && priors.length != answers.size()) {
+            throw new IllegalArgumentException("Expected " + answers.size() + " priors, got " + priors.length);
+        }
+        this.words = answers;
+        this.guesses = allowed == answers ? answers : guessList(answers, allowed);
+        this.priors = priors;
+        this.wordLength = Feedback.wordLength(guesses);
+        this.storage = storage;
+    }
+
+    // the answers followed by the allowed words that are not answers
+    private static List<String> guessList(List<String> answers, List<String> allowed) {
+        ChainHashMap<String, Boolean> seen = new ChainHashMap<>();
+        ArrayList<String> guesses = new ArrayList<>(answers);
+        for (String word : answers) seen.put(word, true);
+        for (String word : allowed) {
+            if (seen.get(word) == null) {
+                seen.put(word, true);
+                guesses.add(word);
+            }
+        }
+        return List.copyOf(guesses);
+    }
+
+    /**
+     * Returns the possible answers.
+     */
+    public List<String> getWords() {
+        return words;
+    }
+
+    /**
+     * Returns the allowed guesses (the same list as getWords() unless there is a separate guess list).
+     */
+    public List<String> getGuesses() {
+        return guesses;
+    }
+
+    /**
+     * Returns the prior weight of each answer (read only), or null if they are all equally likely.
+     */
+    public double[] getPriors() {
+        return priors;
+    }
+
+    public int wordLength() {
+        return wordLength;
+    }
+
+    public synchronized PatternMatrix getPatternMatrix() {
+        if (patternMatrix == null) patternMatrix = new PatternMatrix(guesses, words, storage);
+        return patternMatrix;
+    }
+
+    public synchronized ConstraintIndex getConstraintIndex() {
+        if (constraintIndex == null) constraintIndex = new ConstraintIndex(words);
+        return constraintIndex;
+    }
+
+    /**
+     * Returns the constraint index over the guesses (for hard mode), the answer index if they are the same words.
+     */
+    public synchronized ConstraintIndex getGuessConstraintIndex() {
+        if (guesses == words) return getConstraintIndex();
+        if (guessConstraintIndex == null) guessConstraintIndex = new ConstraintIndex(guesses);
+        return guessConstraintIndex;
+    }
+
+    /**
+     * Returns a trie of the guesses, which finds words by their guess index.
+     */
+    public synchronized WordTrie getGuessTrie() {
+        if (guessTrie == null) guessTrie = new WordTrie(guesses);
+        return guessTrie;
+    }
+
+    public synchronized EntropyRanker getEntropyRanker() {
+        if (entropyRanker == null) entropyRanker = new EntropyRanker(getPatternMatrix(), priors);
+        return entropyRanker;
+    }
+
+    public synchronized PartitionRanker getPartitionRanker() {
+        if (partitionRanker == null) partitionRanker = new PartitionRanker(getPatternMatrix(), priors);
+        return partitionRanker;
+    }
+
+    /**
+     * Returns the letter counts over all the words. Copy them before removing words.
+     */
+    public synchronized LetterStatistics getLetterStatistics() {
+        if (letterStatistics == null) letterStatistics = new LetterStatistics(words);
+        return letterStatistics;
+    }
+
+    /**
+     * Returns the opening guess for a ranking mode. It is the same for every game, so it is ranked
+     * (with the given function) only by the first solver that asks for it.
+     */
+    public int openingGuess(RankingMode mode, IntSupplier rank) {
+        synchronized (openingGuess) {
+            if (openingGuess[mode.ordinal()] == 0) openingGuess[mode.ordinal()] = rank.getAsInt() + 1;
+            return openingGuess[mode.ordinal()] - 1;
+        }
+    }
+
+    /**
+     * Lends out scratch arrays for ranking. Give them back with {@link #release} when done.
+     */
+    Scratch borrowScratch() {
+        synchronized (freeScratch) {
+            if (!freeScratch.isEmpty()) return freeScratch.remove(freeScratch.size() - 1);
+        }
+        PatternMatrix patterns = getPatternMatrix();
+        return new Scratch(new int[patterns.answerCount()], new double[patterns.guessCount()]);
+    }
+
+    void release(Scratch scratch) {
+        synchronized (freeScratch) {
+            freeScratch.add(scratch);
+        }
+    }
+
+    /**
+     * Arrays a solver needs only while it ranks guesses.
+     */
+    record Scratch(int[] candidateIds, double[] scores) {
+    }
+}
@@ -0,0 +1,91 @@
+package project20280.wordle;
+
+import project20280.interfaces.Entry;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/*
+ * Prints the best guesses after each turn through a buffered writer.
+ *
+ * Only the words kept by a TopK are printed, either all on one line (pageSize 0):
+ *   Best Guesses {2308 words} [crypt=3.503, knelt=3.369, ...]
+ * or split into pages of pageSize words, one page per line:
+ *   Best Guesses {2308 words, top 20}
+ *     1-10: [crypt=3.503, ...]
+ *    11-20: [...]
+ * When only the best guess is known (see PartitionRanker) it is printed on its own:
+ *   Best Guess {2308 words} crane (at most 12 words left)
+ */
+
+public class SuggestionPrinter {
+    private final BufferedWriter out;
+    private final int pageSize;
+
+    /**
+     * Creates a printer writing to standard output.
+     */
+    public SuggestionPrinter(int pageSize) {
+        this(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), pageSize);
+    }
+
+    public SuggestionPrinter(Writer out, int pageSize) {
+        this.out = out instanceof BufferedWriter buffered ? buffered : new BufferedWriter(out);
+        this.pageSize = Math.max(pageSize, 0);
+    }
+
+    /**
+     * Prints the words kept by top (emptying it) and flushes the output.
+     */
+    public <V extends Comparable<V>> void print(TopK<V> top) {
+        int total = top.offered();
+        List<Entry<V, String>> best = top.best();
+        try {
+            if (pageSize == 0) {
+                out.write("Best Guesses {" + total + " words} ");
+                writePage(best, 0, best.size());
+            } else {
+                out.write("Best Guesses {" + total + " words, top " + best.size() + "}");
+                out.newLine();
+                for (int start = 0; start < best.size(); start += pageSize) {
+                    int end = Math.min(start + pageSize, best.size());
+                    out.write(String.format("%6s: ", (start + 1) + "-" + end));
+                    writePage(best, start, end);
+                }
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Prints a single best guess with a note on how good it is, and flushes the output.
+     */
+    public void printBest(int total, String word, String note) {
+        try {
+            out.write("Best Guess {" + total + " words} " + word + " (" + note + ")");
+            out.newLine();
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private <V> void writePage(List<Entry<V, String>> best, int start, int end) throws IOException {
+        out.write('[');
+        for (int j = start; j < end; j++) {
+            if (j > start) out.write(", ");
+            out.write(best.get(j).getValue());
+            out.write('=');
+            out.write(String.valueOf(best.get(j).getKey()));
+        }
+        out.write(']');
+        out.newLine();
+    }
+}
@@ -0,0 +1,78 @@
+package project20280.wordle;
+
+import project20280.interfaces.Entry;
+import project20280.priorityqueue.HeapPriorityQueue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/*
+ * Keeps the K highest scored words out of a stream of (word, score) offers.
+ *
+ * The words are kept in a min-heap of at most K entries, so the root is the worst of the best K
+ * seen so far. A new word only goes in if it beats the root, which makes n offers O(n log K)
+ * instead of sorting all n scores. On equal scores the word offered first is kept, and listed first:
+ * each offer is numbered, and among equal scores the heap orders the later offers lower, so the
+ * root is always the one to drop.
+ */
+
+public class TopK<V extends Comparable<V>> {
+    private final int k;
+    private final HeapPriorityQueue<Offer<V>, String> heap = new HeapPriorityQueue<>(
+            (a, b) -> a.score.equals(b.score) ? Integer.compare(b.seq, a.seq) : a.score.compareTo(b.score));
+    private int offered = 0;
+
+    // a word offered, with its score and the number of offers before it
+    private record Offer<V>(V score, String word, int seq) implements Entry<V, String> {
+        @Override
+        public V getKey() {
+            return score;
+        }
+
+        @Override
+        public String getValue() {
+            return word;
+        }
+
+        @Override
+        public String toString() {
+            return String.valueOf(score);
+        }
+    }
+
+    /**
+     * @param k the number of words to keep (0 keeps every word)
+     */
+    public TopK(int k) {
+        this.k = k <= 0 ? Integer.MAX_VALUE : k;
+    }
+
+    public void offer(String word, V score) {
+        Offer<V> offer = new Offer<>(score, word, offered++);
+        if (heap.size() < k) {
+            heap.insert(offer, word);
+        } else if (score.compareTo(heap.min().getKey().score) > 0) {
+            heap.removeMin();
+            heap.insert(offer, word);
+        }
+    }
+
+    /**
+     * Returns the number of words offered so far (kept or not).
+     */
+    public int offered() {
+        return offered;
+    }
+
+    /**
+     * Removes the kept words and returns them from highest to lowest score (equal scores in the
+     * order they were offered), as entries with the score as key and the word as value.
+     */
+    public List<Entry<V, String>> best() {
+        List<Entry<V, String>> best = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) best.add(heap.removeMin().getKey());
+        Collections.reverse(best);
+        return best;
+    }
+}
@@ -0,0 +1,88 @@
+package project20280.wordle;
+
+import org.junit.jupiter.api.Test;
+import project20280.interfaces.Entry;
+
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TopKTest {
+
+    @Test
+    void testBest() {
+        TopK<Integer> top = new TopK<>(3);
+        String[] words = {"cigar", "rebut", "sissy", "humph", "awake", "blush", "focal"};
+        int[] scores = {35, 26, 15, 41, 33, 4, 26};
+        for (int i = 0; i < words.length; i++) top.offer(words[i], scores[i]);
+
+        assertEquals(7, top.offered());
+        List<Entry<Integer, String>> best = top.best();
+        assertEquals(3, best.size());
+        assertEquals("humph", best.get(0).getValue());
+        assertEquals("cigar", best.get(1).getValue());
+        assertEquals("awake", best.get(2).getValue());
+        assertEquals(33, best.get(2).getKey());
+    }
+
+    @Test
+    void testTiesKeepFirstOffered() {
+        TopK<Integer> top = new TopK<>(2);
+        top.offer("cigar", 10);
+        top.offer("rebut", 20);
+        top.offer("sissy", 10);
+        assertEquals(List.of("rebut", "cigar"), words(top.best()));
+
+        top = new TopK<>(2);
+        top.offer("cigar", 10);
+        top.offer("sissy", 10);
+        top.offer("rebut", 20);
+        assertEquals(List.of("rebut", "cigar"), words(top.best()));
+
+        top = new TopK<>(1);
+        top.offer("cigar", 10);
+        top.offer("sissy", 10);
+        assertEquals("cigar", top.best().get(0).getValue());
+
+        // equal scores come out in the order they were offered
+        top = new TopK<>(4);
+        for (String word : List.of("cigar", "rebut", "sissy", "humph", "awake")) top.offer(word, 7);
+        top.offer("blush", 9);
+        assertEquals(List.of("blush", "cigar", "rebut", "sissy"), words(top.best()));
+    }
+
+    private static List<String> words(List<Entry<Integer, String>> best) {
+        return best.stream().map(Entry::getValue).toList();
+    }
+
+    @Test
+    void testUnlimited() {
+        TopK<Double> top = new TopK<>(0);
+        for (int i = 0; i < 100; i++) top.offer("w" + i, (double) (i * 37 % 100));
+        List<Entry<Double, String>> best = top.best();
+        assertEquals(100, best.size());
+        for (int i = 0; i < 100; i++) assertEquals(99.0 - i, best.get(i).getKey());
+    }
+
+    @Test
+    void testPrinter() {
+        TopK<Integer> top = new TopK<>(3);
+        top.offer("cigar", 3);
+        top.offer("rebut", 2);
+        top.offer("sissy", 1);
+        top.offer("humph", 0);
+        StringWriter out = new StringWriter();
+        new SuggestionPrinter(out, 0).print(top);
+        assertEquals("Best Guesses {4 words} [cigar=3, rebut=2, sissy=1]" + System.lineSeparator(), out.toString());
+
+        top = new TopK<>(3);
+        top.offer("cigar", 3);
+        top.offer("rebut", 2);
+        top.offer("sissy", 1);
+        out = new StringWriter();
+        new SuggestionPrinter(out, 2).print(top);
+        String nl = System.lineSeparator();
+        assertEquals("Best Guesses {3 words, top 3}" + nl + "   1-2: [cigar=3, rebut=2]" + nl + "   3-3: [sissy=1]" + nl, out.toString());
+    }
+}
@@ -0,0 +1,72 @@
+package project20280.wordle;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/*
+ * FeedbackKernel using the Vector API: each lane holds one answer, so a 512-bit vector works out
+ * 16 hints at once.
+ *
+ * The guess letters are the same in every lane, so the rules of Feedback.compute become mask
+ * operations: a lane's position j is green when its letter equals the guess letter there, and for
+ * each other guess letter (left to right) the first target position that is not used yet and
+ * holds the letter is marked used and makes it yellow. No lane branches, so there are
+ * length x length compares per vector whatever the words are.
+ * The answers that don't fill a whole vector are done by the scalar kernel.
+ *
+ * Needs --add-modules jdk.incubator.vector to compile and run; FeedbackKernel.best() only loads
+ * this class when the module is there.
+ */
+
+final class VectorFeedbackKernel implements FeedbackKernel {
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    @Override
+    public void compute(int guess, int[] answers, int count, int length, int[] codes) {
+        int bound = SPECIES.loopBound(count);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            IntVector target = IntVector.fromArray(SPECIES, answers, i);
+
+            // bit j of a lane is set once its target letter j is used, greens first
+            IntVector used = IntVector.zero(SPECIES);
+            IntVector code = IntVector.zero(SPECIES);
+            for (int j = 0, weight = 1; j < length; j++, weight *= 3) {
+                VectorMask<Integer> green = letter(target, j).eq(letter(guess, j));
+                used = used.lanewise(VectorOperators.OR, 1 << j, green);
+                code = code.add(Feedback.GREEN * weight, green);
+            }
+            IntVector greens = used;
+
+            for (int k = 0, weight = 1; k < length; k++, weight *= 3) {
+                VectorMask<Integer> green = greens.and(1 << k).compare(VectorOperators.NE, 0);
+                VectorMask<Integer> found = green; // a green guess letter is not looked for
+                for (int j = 0; j < length; j++) {
+                    VectorMask<Integer> match = letter(target, j).eq(letter(guess, k))
+                            .and(used.and(1 << j).eq(0))
+                            .andNot(found);
+                    used = used.lanewise(VectorOperators.OR, 1 << j, match);
+                    found = found.or(match);
+                }
+                code = code.add(Feedback.YELLOW * weight, found.andNot(green));
+            }
+            code.intoArray(codes, i);
+        }
+        for (; i < count; i++) codes[i] = ScalarFeedbackKernel.compute(guess, answers[i], length);
+    }
+
+    private static IntVector letter(IntVector packed, int position) {
+        return packed.lanewise(VectorOperators.LSHR, position * PackedWord.BITS_PER_LETTER).and(PackedWord.LETTER_MASK);
+    }
+
+    private static int letter(int packed, int position) {
+        return packed >>> (position * PackedWord.BITS_PER_LETTER) & PackedWord.LETTER_MASK;
+    }
+
+    @Override
+    public String name() {
+        return "vector";
+    }
+}
@@ -0,0 +1,116 @@
+package project20280.wordle;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * A dictionary of words of different lengths (4 to 8 letters), for playing Wordle variants.
+ *
+ * The words are read once and split by length, each length into its own array of packed longs
+ * (PackedWord.packLong, in dictionary order). Nothing else is built up front: the SolverTables
+ * for a length (pattern matrix, index, ...) are created the first time a game of that length
+ * asks for them, from that length's words only. So a 5-letter game costs the same as with a
+ * 5-letter dictionary, and the other lengths take no more than their packed arrays.
+ */
+
+public class WordBank {
+    public static final int MIN_LENGTH = 4;
+    public static final int MAX_LENGTH = Feedback.MAX_WORD_LENGTH;
+
+    private final long[][] packed = new long[MAX_LENGTH + 1][]; // [length] -> words of that length
+    private final SolverTables[] tables = new SolverTables[MAX_LENGTH + 1]; // built on demand
+    private final int skipped; // words of other lengths or with other characters
+    private final PatternStorage storage;
+
+    /**
+     * Splits the words by length. Words that are not 4 to 8 lowercase letters are left out.
+     */
+    public WordBank(List<String> words) {
+        this(words, PatternStorage.heap());
+    }
+
+    /**
+     * Same as {@link #WordBank(List)}, keeping the pattern matrices in the given storage.
+     */
+    public WordBank(List<String> words, PatternStorage storage) {
+        this.storage = storage;
+        int[] counts = new int[MAX_LENGTH + 1];
+        for (String word : words) {
+            if (isPlayable(word)) counts[word.length()]++;
+        }
+        for (int length = MIN_LENGTH; length <= MAX_LENGTH; length++) packed[length] = new long[counts[length]];
+
+        int[] next = new int[MAX_LENGTH + 1];
+        int skipped = 0;
+        for (String word : words) {
+            if (isPlayable(word)) packed[word.length()][next[word.length()]++] = PackedWord.packLong(word);
+            else skipped++;
+        }
+        this.skipped = skipped;
+    }
+
+    private static boolean isPlayable(String word) {
+        if (word.length() < MIN_LENGTH || word.length() > MAX_LENGTH) return false;
+        for (int k = 0; k < word.length(); k++) {
+            char c = word.charAt(k);
+            if (c < 'a' || c > 'z') return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of words with the given length.
+     */
+    public int size(int length) {
+        return length < MIN_LENGTH || length > MAX_LENGTH ? 0 : packed[length].length;
+    }
+
+    /**
+     * Returns word number i of the given length, packed with PackedWord.packLong.
+     */
+    public long packed(int length, int i) {
+        return packed[length][i];
+    }
+
+    /**
+     * Returns the word lengths that have at least one word, shortest first.
+     */
+    public List<Integer> lengths() {
+        List<Integer> lengths = new ArrayList<>();
+        for (int length = MIN_LENGTH; length <= MAX_LENGTH; length++) {
+            if (packed[length].length > 0) lengths.add(length);
+        }
+        return lengths;
+    }
+
+    /**
+     * Returns the number of words that were left out (wrong length or not all letters).
+     */
+    public int skipped() {
+        return skipped;
+    }
+
+    /**
+     * Returns a new read-only list of the words with the given length, in dictionary order.
+     */
+    public List<String> words(int length) {
+        if (size(length) == 0) throw new IllegalArgumentException("No words of length " + length);
+        String[] words = new String[packed[length].length];
+        for (int i = 0; i < words.length; i++) words[i] = PackedWord.unpack(packed[length][i], length);
+        return List.of(words);
+    }
+
+    /**
+     * Returns the solver tables for the words of the given length, creating them on first use.
+     */
+    public synchronized SolverTables tables(int length) {
+        if (size(length) == 0) throw new IllegalArgumentException("No words of length " + length);
+        if (tables[length] == null) tables[length] = new SolverTables(words(length), storage);
+        return tables[length];
+    }
+
+    // true once the tables for the length have been asked for
+    synchronized boolean hasTables(int length) {
+        return tables[length] != null;
+    }
+}
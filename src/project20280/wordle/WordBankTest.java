@@ -0,0 +1,116 @@
+package project20280.wordle;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WordBankTest {
+
+    // a mixed-length word list made from the regular dictionary, plus some words that can't be played
+    private static List<String> mixedWords() {
+        List<String> five = new Wordle().getDictionary();
+        List<String> words = new ArrayList<>();
+        for (int i = 0; i < 700; i++) {
+            words.add(five.get(i) + "s");            // 6 letters
+            words.add(five.get(i * 3));              // 5 letters
+            if (i % 2 == 0) words.add(five.get(i).substring(1)); // 4 letters
+        }
+        words.addAll(List.of("ab", "abcdefghij", "don't", ""));
+        return words;
+    }
+
+    @Test
+    void testBucketsByLength() {
+        List<String> words = mixedWords();
+        WordBank bank = new WordBank(words);
+        assertEquals(List.of(4, 5, 6), bank.lengths());
+        assertEquals(350, bank.size(4));
+        assertEquals(700, bank.size(5));
+        assertEquals(700, bank.size(6));
+        assertEquals(0, bank.size(8));
+        assertEquals(4, bank.skipped());
+
+        // each length keeps the dictionary order
+        List<String> six = bank.words(6);
+        assertEquals(words.get(0), six.get(0));
+        assertEquals(words.get(3), six.get(1));
+        assertEquals(six.get(5), PackedWord.unpack(bank.packed(6, 5), 6));
+        assertThrows(IllegalArgumentException.class, () -> bank.words(7));
+        assertThrows(IllegalArgumentException.class, () -> bank.tables(9));
+    }
+
+    @Test
+    void testTablesOnDemand() {
+        WordBank bank = new WordBank(mixedWords());
+        assertFalse(bank.hasTables(5));
+        SolverTables six = bank.tables(6);
+        assertSame(six, bank.tables(6));
+        assertEquals(6, six.wordLength());
+        assertTrue(bank.hasTables(6));
+        assertFalse(bank.hasTables(4));
+        assertFalse(bank.hasTables(5)); // a game of one length builds nothing for the others
+    }
+
+    @Test
+    void testSixLetterPatterns() {
+        WordBank bank = new WordBank(mixedWords());
+        Wordle wordle = new Wordle(bank, 6);
+        PatternMatrix patterns = wordle.getPatternMatrix();
+        assertEquals(729, patterns.patternCount());
+        assertEquals(728, patterns.allGreen());
+
+        for (int g = 0; g < patterns.guessCount(); g += 7) {
+            for (int a = 0; a < patterns.answerCount(); a += 11) {
+                String[] expected = wordle.getHintsByLetterFreq(patterns.answer(a), patterns.guess(g));
+                assertArrayEquals(expected, Feedback.toHint(patterns.get(g, a), 6));
+                assertEquals(Feedback.fromHint(expected), patterns.get(g, a));
+            }
+        }
+        assertEquals(6, wordle.getHints("abbeys", "kebabs").length);
+    }
+
+    @Test
+    void testSolvesOtherLengths() {
+        WordBank bank = new WordBank(mixedWords());
+        for (int length : List.of(4, 6)) {
+            SolverTables tables = bank.tables(length);
+            List<String> words = tables.getWords();
+            for (RankingMode mode : RankingMode.values()) {
+                BitsetSolver solver = new BitsetSolver(tables, mode);
+                for (int t = 0; t < words.size(); t += 37) {
+                    String target = words.get(t);
+                    solver.reset();
+                    int turns = 0;
+                    String guess;
+                    do {
+                        assertTrue(++turns <= 20, mode + " " + target);
+                        guess = solver.suggest();
+                        int pattern = Feedback.compute(guess, target);
+                        if (pattern == Feedback.allGreen(length)) break;
+                        solver.apply(guess, pattern);
+                        for (int i = solver.getCandidates().nextSetBit(0); i >= 0; i = solver.getCandidates().nextSetBit(i + 1)) {
+                            assertEquals(pattern, Feedback.compute(guess, words.get(i)));
+                        }
+                    } while (true);
+                    assertEquals(target, guess);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testLongWords() {
+        assertEquals(6561, Feedback.patternCount(8));
+        String[] hint = {"+", "o", "_", "_", "+", "o", "o", "_"};
+        assertArrayEquals(hint, Feedback.toHint(Feedback.fromHint(hint), 8));
+        assertThrows(IllegalArgumentException.class, () -> Feedback.patternCount(9));
+
+        assertEquals("abstract", PackedWord.unpack(PackedWord.packLong("abstract"), 8));
+        assertEquals('t', PackedWord.letterAt(PackedWord.packLong("abstract"), 7));
+        assertThrows(IllegalArgumentException.class, () -> PackedWord.packLong("abcdefghijklm"));
+        assertThrows(IllegalArgumentException.class, () -> new PatternMatrix(List.of("abbey", "abbeys")));
+    }
+}
@@ -0,0 +1,261 @@
+package project20280.wordle;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/*
+ * Small query language over a word list, for questions such as "5 letters, r second, an e but not
+ * fourth, no s or t":
+ *
+ *   len=5 r@2 +e e!@4 -st
+ *
+ * Terms are separated by spaces or commas, and a word must match all of them. Positions count from 1.
+ *  -> len=N      the word has N letters
+ *  -> c?a?e      a pattern: the given letters at those positions, ? (or .) for any letter
+ *  -> r@2        r at position 2
+ *  -> e!@4       not e at position 4
+ *  -> +ae        contains a and e (a letter given twice, +ee, means at least two copies)
+ *  -> -st        contains neither s nor t
+ *  -> e=2 / e>=2 / e<=1   exactly / at least / at most that many copies of e
+ *
+ * A query is compiled onto a ConstraintIndex with the same operations applyHint uses (requireAt,
+ * excludeAt, requireAtLeast, excludeAtLeast), so each term is one AND or AND NOT over the bitset
+ * of words and a query takes microseconds whatever the list size. The Result is the bitset, and
+ * the words are only looked up as it is iterated.
+ */
+
+public final class WordQuery {
+    private static final int AT = 0, NOT_AT = 1, AT_LEAST = 2, FEWER_THAN = 3;
+
+    private record Term(int kind, char letter, int n) {
+    }
+
+    private final String text;
+    private final int length; // 0 if not given
+    private final List<Term> terms;
+
+    private WordQuery(String text, int length, List<Term> terms) {
+        this.text = text;
+        this.length = length;
+        this.terms = terms;
+    }
+
+    /**
+     * Parses a query (see the top of this file). Upper case letters are read as lower case.
+     *
+     * @throws IllegalArgumentException if a term can't be read, or two terms give different lengths
+     */
+    public static WordQuery parse(String query) {
+        List<Term> terms = new ArrayList<>();
+        int length = 0;
+        for (String term : query.toLowerCase().split("[\\s,]+")) {
+            if (term.isEmpty()) continue;
+            int n = 0;
+            if (term.startsWith("len=")) {
+                n = number(term, 4);
+                if (n <= 0) throw new IllegalArgumentException("Bad length: " + term);
+            } else if (term.charAt(0) == '+' || term.charAt(0) == '-') {
+                if (term.length() == 1) throw new IllegalArgumentException("No letters after " + term);
+                int[] copies = new int[ConstraintIndex.LETTERS];
+                for (int k = 1; k < term.length(); k++) copies[letter(term, k) - 'a']++;
+                for (int c = 0; c < copies.length; c++) {
+                    if (copies[c] == 0) continue;
+                    char letter = (char) ('a' + c);
+                    if (term.charAt(0) == '+') terms.add(new Term(AT_LEAST, letter, copies[c]));
+                    else terms.add(new Term(FEWER_THAN, letter, 1));
+                }
+            } else if (term.length() > 1 && !isPattern(term)) {
+                char letter = letter(term, 0);
+                if (term.startsWith("@", 1)) {
+                    terms.add(new Term(AT, letter, position(term, 2)));
+                } else if (term.startsWith("!@", 1)) {
+                    terms.add(new Term(NOT_AT, letter, position(term, 3)));
+                } else if (term.startsWith(">=", 1)) {
+                    terms.add(new Term(AT_LEAST, letter, number(term, 3)));
+                } else if (term.startsWith("<=", 1)) {
+                    terms.add(new Term(FEWER_THAN, letter, number(term, 3) + 1));
+                } else if (term.startsWith("=", 1)) {
+                    int copies = number(term, 2);
+                    terms.add(new Term(AT_LEAST, letter, copies));
+                    terms.add(new Term(FEWER_THAN, letter, copies + 1));
+                } else {
+                    throw new IllegalArgumentException("Can't read query term: " + term);
+                }
+            } else {
+                if (!isPattern(term)) throw new IllegalArgumentException("Can't read query term: " + term);
+                n = term.length();
+                for (int k = 0; k < n; k++) {
+                    char c = term.charAt(k);
+                    if (c != '?' && c != '.') terms.add(new Term(AT, c, k + 1));
+                }
+            }
+            if (n > 0) {
+                if (length != 0 && length != n) {
+                    throw new IllegalArgumentException("Query asks for both " + length + " and " + n + " letters");
+                }
+                length = n;
+            }
+        }
+        return new WordQuery(query, length, List.copyOf(terms));
+    }
+
+    /**
+     * Returns whether a line of input looks like a query rather than a single word or wildcard pattern
+     * (it has a space, a comma, or one of @ + - = < >).
+     */
+    public static boolean isQuery(String s) {
+        for (int k = 0; k < s.length(); k++) {
+            if (" ,@+-=<>".indexOf(s.charAt(k)) >= 0) return true;
+        }
+        return false;
+    }
+
+    private static boolean isPattern(String term) {
+        for (int k = 0; k < term.length(); k++) {
+            char c = term.charAt(k);
+            if (c != '?' && c != '.' && (c < 'a' || c > 'z')) return false;
+        }
+        return true;
+    }
+
+    private static char letter(String term, int k) {
+        char c = term.charAt(k);
+        if (c < 'a' || c > 'z') throw new IllegalArgumentException("Not a letter in query term " + term + ": " + c);
+        return c;
+    }
+
+    private static int number(String term, int from) {
+        try {
+            return Integer.parseInt(term.substring(from));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Expected a number in query term: " + term);
+        }
+    }
+
+    private static int position(String term, int from) {
+        int position = number(term, from);
+        if (position <= 0) throw new IllegalArgumentException("Positions start at 1: " + term);
+        return position;
+    }
+
+    /**
+     * Returns the word length the query asks for, or 0 if it doesn't say.
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Removes the words that don't match from the candidates (indices into the index's word list).
+     * If the query asks for another length than the index's words have, nothing is left.
+     *
+     * @throws IllegalArgumentException if a position is past the end of the words
+     */
+    public void apply(ConstraintIndex index, CandidateSet candidates) {
+        int wordLength = index.wordLength();
+        if (length != 0 && length != wordLength) {
+            candidates.clear();
+            return;
+        }
+        for (Term t : terms) {
+            if ((t.kind == AT || t.kind == NOT_AT) && t.n > wordLength) {
+                throw new IllegalArgumentException("Position " + t.n + " is past the end of a " + wordLength + "-letter word");
+            }
+        }
+        for (Term t : terms) {
+            switch (t.kind) {
+                case AT -> index.requireAt(t.n - 1, t.letter, candidates);
+                case NOT_AT -> index.excludeAt(t.n - 1, t.letter, candidates);
+                case AT_LEAST -> index.requireAtLeast(t.letter, t.n, candidates);
+                default -> index.excludeAtLeast(t.letter, t.n, candidates);
+            }
+        }
+    }
+
+    /**
+     * Runs the query over a word list, given its index.
+     */
+    public Result run(ConstraintIndex index, List<String> words) {
+        if (index.size() != words.size()) {
+            throw new IllegalArgumentException("Index of " + index.size() + " words for a list of " + words.size());
+        }
+        CandidateSet matches = index.all();
+        apply(index, matches);
+        return new Result(matches, words);
+    }
+
+    /**
+     * Runs the query over every word that can be guessed.
+     */
+    public Result run(SolverTables tables) {
+        return run(tables.getGuessConstraintIndex(), tables.getGuesses());
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+
+    /**
+     * The words matching a query, in the order of the word list. The matches are kept as a bitset,
+     * and a word is only looked up when the iterator gets to it.
+     */
+    public static final class Result implements Iterable<String> {
+        private final CandidateSet matches;
+        private final List<String> words;
+
+        Result(CandidateSet matches, List<String> words) {
+            this.matches = matches;
+            this.words = words;
+        }
+
+        /**
+         * Returns the number of matching words.
+         */
+        public int size() {
+            return matches.size();
+        }
+
+        public boolean isEmpty() {
+            return matches.isEmpty();
+        }
+
+        /**
+         * Returns the indices of the matching words (read only).
+         */
+        public CandidateSet getIndices() {
+            return matches;
+        }
+
+        @Override
+        public Iterator<String> iterator() {
+            return new Iterator<>() {
+                private int next = matches.nextSetBit(0);
+
+                @Override
+                public boolean hasNext() {
+                    return next >= 0;
+                }
+
+                @Override
+                public String next() {
+                    if (next < 0) throw new NoSuchElementException();
+                    String word = words.get(next);
+                    next = matches.nextSetBit(next + 1);
+                    return word;
+                }
+            };
+        }
+
+        /**
+         * Returns the first few matching words.
+         */
+        public List<String> first(int count) {
+            List<String> first = new ArrayList<>();
+            for (Iterator<String> it = iterator(); it.hasNext() && first.size() < count; ) first.add(it.next());
+            return first;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package project20280.wordle;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WordQueryTest {
+    private static final List<String> EXTENDED = new Wordle("project20280/wordle/resources/extended-dictionary.txt").getDictionary();
+    private static final ConstraintIndex INDEX = new ConstraintIndex(EXTENDED);
+
+    private static long count(String word, char letter) {
+        return word.chars().filter(c -> c == letter).count();
+    }
+
+    private static void check(String query, Predicate<String> expected) {
+        List<String> words = new ArrayList<>();
+        for (String w : WordQuery.parse(query).run(INDEX, EXTENDED)) words.add(w);
+        assertEquals(EXTENDED.stream().filter(expected).toList(), words, query);
+    }
+
+    @Test
+    void testQueries() {
+        check("len=5 r@2 +e e!@4 -st", w -> w.charAt(1) == 'r' && w.indexOf('e') >= 0 && w.charAt(3) != 'e'
+                && w.indexOf('s') < 0 && w.indexOf('t') < 0);
+        check("c?a?e", w -> w.charAt(0) == 'c' && w.charAt(2) == 'a' && w.charAt(4) == 'e');
+        check("c..n.", w -> w.charAt(0) == 'c' && w.charAt(3) == 'n');
+        check("+ee", w -> count(w, 'e') >= 2);
+        check("e=2, a>=1", w -> count(w, 'e') == 2 && count(w, 'a') >= 1);
+        check("o<=1 -aeiu", w -> count(w, 'o') <= 1 && w.matches("[^aeiu]*"));
+        check("  R@1   Y@5 ", w -> w.startsWith("r") && w.endsWith("y"));
+        check("", w -> true);
+        check("crane", w -> w.equals("crane"));
+        check("e=6", w -> false);
+        check("len=6", w -> false); // the words all have 5 letters
+    }
+
+    @Test
+    void testParseErrors() {
+        for (String bad : List.of("r@", "r@x", "r@0", "+", "-", "+1", "len=0", "len=5 abcdef", "r#2", "e>=", "1@2", "c?a*e")) {
+            assertThrows(IllegalArgumentException.class, () -> WordQuery.parse(bad), bad);
+        }
+        WordQuery pastTheEnd = WordQuery.parse("r@6");
+        assertThrows(IllegalArgumentException.class, () -> pastTheEnd.run(INDEX, EXTENDED));
+    }
+
+    @Test
+    void testSameAsHint() {
+        // a hint written as a query keeps the same candidates as applyHint
+        String guess = "crane";
+        int pattern = Feedback.compute(guess, "trace"); // c yellow, r a e green, n grey
+        CandidateSet hint = INDEX.all();
+        INDEX.applyHint(guess, pattern, hint);
+        WordQuery.Result query = WordQuery.parse("c!@1 r@2 a@3 e@5 +c -n").run(INDEX, EXTENDED);
+        assertEquals(hint, query.getIndices());
+        assertTrue(query.getIndices().contains(EXTENDED.indexOf("trace")));
+    }
+
+    @Test
+    void testResult() {
+        WordQuery.Result result = WordQuery.parse("+q -u").run(INDEX, EXTENDED);
+        assertEquals(EXTENDED.stream().filter(w -> w.indexOf('q') >= 0 && w.indexOf('u') < 0).count(), result.size());
+        assertEquals(result.size() == 0, result.isEmpty());
+        assertEquals(Math.min(3, result.size()), result.first(3).size());
+
+        Iterator<String> none = WordQuery.parse("zzzzz").run(INDEX, EXTENDED).iterator();
+        assertFalse(none.hasNext());
+        assertThrows(NoSuchElementException.class, none::next);
+        assertTrue(WordQuery.isQuery("r@2 +e"));
+        assertFalse(WordQuery.isQuery("c?a?e"));
+    }
+
+    @Test
+    void testSpeed() {
+        WordQuery query = WordQuery.parse("len=5 r@2 +e e!@4 -st");
+        int runs = 20000, total = 0;
+        for (int i = 0; i < runs; i++) total += query.run(INDEX, EXTENDED).size(); // warm up
+        long start = System.nanoTime();
+        for (int i = 0; i < runs; i++) total += query.run(INDEX, EXTENDED).size();
+        double micros = (System.nanoTime() - start) / 1000.0 / runs;
+        System.out.printf("Query over %d words: %.2f us (%d matches)%n", EXTENDED.size(), micros, total / (2 * runs));
+    }
+}
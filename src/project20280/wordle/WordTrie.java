@@ -0,0 +1,201 @@
+package project20280.wordle;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/*
+ * Trie over a word list (lowercase a-z), stored in three int arrays rather than node objects.
+ *
+ * The nodes are numbered in breadth-first order, so the children of a node are consecutive
+ * nodes. Each node keeps:
+ *  -> firstChild: the number of its first child
+ *  -> letters:    a 26-bit mask of the letters it has children for
+ *  -> word:       the index of the word that ends there, or -1
+ * The child for letter c is firstChild + (the number of mask bits below c), so each letter of a
+ * lookup is one AND and a bit count, and a lookup is O(length) whatever the number of words.
+ * That is 12 bytes per node, about 200 KB for the extended dictionary.
+ *
+ * Besides membership it answers:
+ *  -> prefix queries, every word starting with a prefix (in alphabetical order)
+ *  -> wildcard patterns such as c?a?e, where ? (or .) is any letter
+ *  -> letter masks, the set of letters allowed at each position, which is how the solver's
+ *     constraints (greens, letters ruled out of a position) are written
+ * A repeated word keeps the index of its first occurrence, the same as PatternMatrix.guessIndex.
+ */
+
+public final class WordTrie {
+    static final int ALL_LETTERS = (1 << 26) - 1;
+
+    private final int[] firstChild;
+    private final int[] letters;
+    private final int[] word;
+    private final int size; // number of distinct words
+
+    /**
+     * Builds the trie, with each word's index in the list.
+     *
+     * @throws IllegalArgumentException if a word has anything but the letters a-z
+     */
+    public WordTrie(List<String> words) {
+        String[] list = words.toArray(new String[0]);
+        int chars = 0;
+        for (String w : list) {
+            for (int k = 0; k < w.length(); k++) {
+                char c = w.charAt(k);
+                if (c < 'a' || c > 'z') throw new IllegalArgumentException("Not a lowercase word: " + w);
+            }
+            chars += w.length();
+        }
+
+        // indices sorted by word (then index), so every node is a range of them
+        Integer[] boxed = new Integer[list.length];
+        for (int i = 0; i < boxed.length; i++) boxed[i] = i;
+        Arrays.sort(boxed, (a, b) -> {
+            int byWord = list[a].compareTo(list[b]);
+            return byWord != 0 ? byWord : Integer.compare(a, b);
+        });
+        int[] order = new int[boxed.length];
+        for (int i = 0; i < order.length; i++) order[i] = boxed[i];
+
+        int max = chars + 1;
+        int[] firstChild = new int[max], letters = new int[max], word = new int[max];
+        int[] from = new int[max], to = new int[max], depth = new int[max]; // the range of each node
+        to[0] = order.length;
+        int nodes = 1, size = 0;
+        for (int node = 0; node < nodes; node++) {
+            int i = from[node], end = to[node], d = depth[node];
+            word[node] = -1;
+            // the words ending here sort first, the lowest index among them first
+            if (i < end && list[order[i]].length() == d) {
+                word[node] = order[i];
+                size++;
+                while (i < end && list[order[i]].length() == d) i++;
+            }
+            firstChild[node] = nodes;
+            while (i < end) {
+                char c = list[order[i]].charAt(d);
+                int j = i;
+                while (j < end && list[order[j]].charAt(d) == c) j++;
+                letters[node] |= 1 << (c - 'a');
+                from[nodes] = i;
+                to[nodes] = j;
+                depth[nodes] = d + 1;
+                nodes++;
+                i = j;
+            }
+        }
+        this.firstChild = Arrays.copyOf(firstChild, nodes);
+        this.letters = Arrays.copyOf(letters, nodes);
+        this.word = Arrays.copyOf(word, nodes);
+        this.size = size;
+    }
+
+    // the child of a node for a letter, or -1
+    private int child(int node, char c) {
+        if (c < 'a' || c > 'z') return -1;
+        int bit = 1 << (c - 'a');
+        int mask = letters[node];
+        if ((mask & bit) == 0) return -1;
+        return firstChild[node] + Integer.bitCount(mask & (bit - 1));
+    }
+
+    // the node a string leads to, or -1
+    private int find(CharSequence s) {
+        int node = 0;
+        for (int k = 0; k < s.length() && node >= 0; k++) node = child(node, s.charAt(k));
+        return node;
+    }
+
+    /**
+     * Returns the index of a word in the list, or -1 if it is not in it.
+     */
+    public int index(CharSequence s) {
+        int node = find(s);
+        return node < 0 ? -1 : word[node];
+    }
+
+    public boolean contains(CharSequence s) {
+        return index(s) >= 0;
+    }
+
+    /**
+     * Passes the index of every word starting with the prefix to the action, in alphabetical order.
+     */
+    public void forEachWithPrefix(CharSequence prefix, IntConsumer action) {
+        int node = find(prefix);
+        if (node >= 0) visitAll(node, action);
+    }
+
+    private void visitAll(int node, IntConsumer action) {
+        if (word[node] >= 0) action.accept(word[node]);
+        int children = Integer.bitCount(letters[node]);
+        for (int i = 0; i < children; i++) visitAll(firstChild[node] + i, action);
+    }
+
+    /**
+     * Passes the index of every word matching a pattern such as "c?a?e" to the action, in
+     * alphabetical order. A ? or . matches any letter, and only words of the pattern's length match.
+     */
+    public void forEachMatch(String pattern, IntConsumer action) {
+        forEachMatch(masks(pattern), action);
+    }
+
+    /**
+     * Passes the index of every word with one of the allowed letters at each position to the action,
+     * in alphabetical order. Bit c of letterMasks[k] allows letter 'a' + c at position k, and only
+     * words as long as the array match.
+     */
+    public void forEachMatch(int[] letterMasks, IntConsumer action) {
+        match(0, 0, letterMasks, action);
+    }
+
+    private void match(int node, int depth, int[] masks, IntConsumer action) {
+        if (depth == masks.length) {
+            if (word[node] >= 0) action.accept(word[node]);
+            return;
+        }
+        int mask = letters[node];
+        for (int m = mask & masks[depth]; m != 0; m &= m - 1) {
+            int bit = m & -m;
+            match(firstChild[node] + Integer.bitCount(mask & (bit - 1)), depth + 1, masks, action);
+        }
+    }
+
+    /**
+     * Returns the letter masks of a wildcard pattern (see {@link #forEachMatch(int[], IntConsumer)}).
+     *
+     * @throws IllegalArgumentException if the pattern has anything but a-z, ? and .
+     */
+    public static int[] masks(String pattern) {
+        int[] masks = new int[pattern.length()];
+        for (int k = 0; k < masks.length; k++) {
+            char c = pattern.charAt(k);
+            if (c == '?' || c == '.') masks[k] = ALL_LETTERS;
+            else if (c >= 'a' && c <= 'z') masks[k] = 1 << (c - 'a');
+            else throw new IllegalArgumentException("Not a letter or wildcard: " + c);
+        }
+        return masks;
+    }
+
+    /**
+     * Returns the indices of the words matching a wildcard pattern, in alphabetical order.
+     */
+    public List<Integer> matches(String pattern) {
+        List<Integer> matches = new ArrayList<>();
+        forEachMatch(pattern, matches::add);
+        return matches;
+    }
+
+    /**
+     * Returns the number of distinct words.
+     */
+    public int size() {
+        return size;
+    }
+
+    public int nodeCount() {
+        return word.length;
+    }
+}
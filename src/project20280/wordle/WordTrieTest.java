@@ -0,0 +1,72 @@
+package project20280.wordle;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WordTrieTest {
+    private static final List<String> EXTENDED = new Wordle("project20280/wordle/resources/extended-dictionary.txt").getDictionary();
+
+    @Test
+    void testIndex() {
+        PatternMatrix patterns = new PatternMatrix(List.of("abbey", "kebab", "babes", "abbey", "kayak"));
+        WordTrie trie = new WordTrie(List.of("abbey", "kebab", "babes", "abbey", "kayak"));
+        assertEquals(4, trie.size());
+        for (String word : List.of("abbey", "kebab", "babes", "kayak")) assertEquals(patterns.guessIndex(word), trie.index(word));
+        assertEquals(0, trie.index("abbey")); // a repeat keeps the first index
+        for (String word : List.of("abbe", "abbeys", "", "zebra", "ABBEY", "ab?ey")) assertEquals(-1, trie.index(word), word);
+        assertThrows(IllegalArgumentException.class, () -> new WordTrie(List.of("Abbey")));
+    }
+
+    @Test
+    void testDictionary() {
+        WordTrie trie = new WordTrie(EXTENDED);
+        for (int i = 0; i < EXTENDED.size(); i++) assertEquals(EXTENDED.indexOf(EXTENDED.get(i)), trie.index(EXTENDED.get(i)));
+        System.out.println("Trie of " + trie.size() + " words: " + trie.nodeCount() + " nodes, " + 12L * trie.nodeCount() / 1024 + " KB");
+    }
+
+    @Test
+    void testPrefix() {
+        WordTrie trie = new WordTrie(EXTENDED);
+        for (String prefix : List.of("", "c", "cr", "cra", "crane", "cranes", "zz")) {
+            List<String> expected = EXTENDED.stream().filter(w -> w.startsWith(prefix)).distinct().sorted().toList();
+            List<String> actual = new ArrayList<>();
+            trie.forEachWithPrefix(prefix, i -> actual.add(EXTENDED.get(i)));
+            assertEquals(expected, actual, prefix);
+        }
+    }
+
+    @Test
+    void testWildcards() {
+        WordTrie trie = new WordTrie(EXTENDED);
+        for (String pattern : List.of("c?a?e", "?????", "..i..", "crane", "xq???", "c?a?", "c?a?es")) {
+            Pattern regex = Pattern.compile(pattern.replace('?', '.'));
+            List<String> expected = EXTENDED.stream().filter(w -> regex.matcher(w).matches()).distinct().sorted().toList();
+            List<String> actual = trie.matches(pattern).stream().map(EXTENDED::get).toList();
+            assertEquals(expected, actual, pattern);
+        }
+        assertThrows(IllegalArgumentException.class, () -> WordTrie.masks("c*a"));
+        assertEquals(List.of("cease", "chafe", "chase", "crane", "crate", "crave", "craze"),
+                new Wordle().getMatchingWords("c?a?e").stream().filter(w -> w.startsWith("c")).limit(7).toList());
+    }
+
+    @Test
+    void testHardModeMasks() {
+        // the position constraints as masks, then the letter counts: exactly the legal guesses
+        SolverTables tables = new SolverTables(EXTENDED);
+        WordTrie trie = tables.getGuessTrie();
+        HardModeConstraints hard = new HardModeConstraints(tables.getConstraintIndex());
+        hard.apply("crane", Feedback.compute("crane", "react"));
+        CandidateSet legal = new CandidateSet(EXTENDED.size());
+        trie.forEachMatch(hard.letterMasks(), g -> {
+            if (hard.violation(EXTENDED.get(g)) == null) legal.add(g);
+        });
+        CandidateSet expected = hard.legalGuesses().copy();
+        for (int g = 0; g < EXTENDED.size(); g++) if (trie.index(EXTENDED.get(g)) != g) expected.remove(g); // repeats
+        assertEquals(expected, legal);
+    }
+}
@@ -1,12 +1,15 @@
 package project20280.wordle;
 
 import project20280.hashtable.ChainHashMap;
-import project20280.interfaces.Entry;
 
 import java.io.BufferedReader;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.net.URISyntaxException;
+import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
 
 /*
@@ -26,6 +29,14 @@ import java.util.*;
  *
  * You'll then get a list of the best words to guess next, with their scores sorted from highest to lowest
  * Continue picking the highest scored word until you win
+ * Instead of a guess you can type a pattern such as c?a?e (? for any letter) to list the words that match it,
+ * or a query such as "r@2 +e e!@4 -st" (r second, an e but not fourth, no s or t; see WordQuery).
+ * In hard mode (run with --hard) every guess has to use the green and yellow letters revealed so far.
+ * With --absurdle there is no fixed target: the game dodges every guess (see Absurdle) and you win
+ * once you corner it into a single word.
+ * By default the dictionary is both the possible targets and the allowed guesses. With
+ * --guesses=<file> more words can be guessed than can be the target, and with --priors=<file> the
+ * targets are weighted by how likely they are (see Priors) when the guesses are ranked.
  * Do note that this doesn't guarantee you correctly guess the word in all 6 guesses.
  *
  * Have fun!
@@ -35,9 +46,19 @@ import java.util.*;
 public class Wordle {
     Random rand = new Random();
 
-    String fileName = "project20280/wordle/resources/dictionary.txt";
+    static final String DEFAULT_DICTIONARY = "project20280/wordle/resources/dictionary.txt";
+    static final int QUERY_WORDS_SHOWN = 50; // the most matches of a query printed
+    String fileName = DEFAULT_DICTIONARY;
     //String fileName = "project20280/wordle/resources/extended-dictionary.txt";
-    static List<String> dictionary = null;
+    private final List<String> dictionary; // read only, shared with the solver tables
+    private final SolverTables tables; // pattern matrix, index etc. for the dictionary, built on first use
+    private final int wordLength; // 5, unless playing a variant from a WordBank
+    private BitsetSolver solver = null; // reused for every game
+    private Scanner input = null; // reads the guesses, created on the first one
+    private RankingMode rankingMode = RankingMode.LETTER_FREQUENCY;
+    private boolean hardMode = false;
+    private int suggestionLimit = 20; // number of best guesses printed after each turn
+    private SuggestionPrinter suggestionPrinter = new SuggestionPrinter(0);
 
     static final String winMessage = "CONGRATULATIONS! YOU WON! :)";
     static final String lostMessage = "YOU LOST :( THE WORD CHOSEN BY THE GAME IS: ";
@@ -46,99 +67,208 @@ public class Wordle {
 
     final int num_guesses = 6; // Number of attempts given to player
 
-    Wordle() {dictionary = readDictionary(fileName);}
+    Wordle() {
+        dictionary = readDictionary(fileName);
+        tables = new SolverTables(dictionary);
+        wordLength = tables.wordLength();
+    }
 
     Wordle(String fileName) {
         dictionary = readDictionary(fileName);
+        tables = new SolverTables(dictionary);
+        wordLength = tables.wordLength();
+    }
+
+    /**
+     * Plays with a list of possible targets, a list of the other allowed guesses and prior weights
+     * for the targets (see Priors). The guess and prior files are optional (null).
+     */
+    Wordle(String answersFile, String guessesFile, String priorsFile, PatternStorage storage) {
+        dictionary = readDictionary(answersFile);
+        List<String> allowed = guessesFile == null ? dictionary : readDictionary(guessesFile);
+        double[] priors = priorsFile == null ? null : Priors.parse(dictionary, readDictionary(priorsFile));
+        tables = new SolverTables(dictionary, allowed, priors, storage);
+        wordLength = tables.wordLength();
+    }
+
+    /**
+     * Plays with the words of one length from a dictionary that can have words of any length.
+     */
+    Wordle(String fileName, int wordLength) {
+        this(fileName, wordLength, PatternStorage.heap());
+    }
+
+    Wordle(String fileName, int wordLength, PatternStorage storage) {
+        tables = new WordBank(readDictionary(fileName), storage).tables(wordLength);
+        dictionary = tables.getWords();
+        this.wordLength = wordLength;
+    }
+
+    Wordle(WordBank words, int wordLength) {
+        tables = words.tables(wordLength);
+        dictionary = tables.getWords();
+        this.wordLength = wordLength;
     }
 
     public static void main(String[] args) {
-        Wordle game = new Wordle(); // load dictionary
+        String dictionaryFile = DEFAULT_DICTIONARY, guessesFile = null, priorsFile = null;
+        int length = 0, top = 20, pageSize = 0;
+        RankingMode mode = RankingMode.LETTER_FREQUENCY;
+        boolean hard = false, absurdle = false;
+        for (String arg : args) { // e.g. "entropy --top=30 --page=10 --hard", or "--length=6 --dictionary=words.txt"
+            if (arg.equals("--hard")) hard = true;
+            else if (arg.equals("--absurdle")) absurdle = true;
+            else if (arg.startsWith("--top=")) top = Integer.parseInt(arg.substring(6));
+            else if (arg.startsWith("--page=")) pageSize = Integer.parseInt(arg.substring(7));
+            else if (arg.startsWith("--length=")) length = Integer.parseInt(arg.substring(9));
+            else if (arg.startsWith("--dictionary=")) dictionaryFile = arg.substring(13);
+            else if (arg.startsWith("--guesses=")) guessesFile = arg.substring(10);
+            else if (arg.startsWith("--priors=")) priorsFile = arg.substring(9);
+            else mode = RankingMode.valueOf(arg.toUpperCase());
+        }
+
+        // load dictionary
+        Wordle game;
+        if (length != 0) game = new Wordle(dictionaryFile, length);
+        else if (guessesFile != null || priorsFile != null) game = new Wordle(dictionaryFile, guessesFile, priorsFile, PatternStorage.heap());
+        else game = new Wordle(dictionaryFile); // all words have the same length
+        game.setRankingMode(mode);
+        game.setHardMode(hard);
+        game.setSuggestionOutput(top, pageSize);
+        if (absurdle) {
+            game.playAbsurdle();
+            return;
+        }
         String target = game.getRandomTargetWord();
 //        System.out.println("target: " + target);
         game.play(target);
     }
 
     public void play(String target) {
-        List<String> dictionaryCurrent; // used to refresh dictionary after current guess
+        resetSolver();
 
 //        System.out.println("dict length: " + dictionary.size());
         System.out.println("dict: " + dictionary);
 
         for(int i = 0; i < num_guesses; ++i) {
-            dictionaryCurrent = dictionary; // copy of the dictionary (important for functions ahead)
             String guess = getGuess(); // get user's guess from STDIN
 
-            if(guess.equals(target)) { // you won!
-                win(target);
-                return;
-            }
-
-            // hashmap for frequency of each letter in the target & guess
-            ChainHashMap<Character,Integer> targetFreqCount = getLetterFreq(target);
-            ChainHashMap<Character,Integer> guessFreqCount = getLetterFreq(guess);
-
-            // Compute the hint string
-            String [] hint = {"_", "_", "_", "_", "_"};
-
-            // Set the arrays for green (which letters are correct)
-            int num_green = setGreenLetters(target, guess, hint, targetFreqCount, guessFreqCount);
+            // Look up the hint for this guess (a single base-3 pattern code, see Feedback)
+            int pattern = getPattern(target, guess);
 
             // Check for a win
-            if(num_green == 5) {
+            if(pattern == Feedback.allGreen(wordLength)) {
                 win(target);
                 return;
             }
 
-            // Set the arrays for yellow (whether letters appear in the word or not)
-            setYellowLetters(guess, targetFreqCount, hint);
-
-            // After setting the yellow and green positions, the remaining hint positions must be "not present" or "_"
-            System.out.println("hint: " + Arrays.toString(hint));
+            System.out.println("hint: " + Arrays.toString(Feedback.toHint(pattern, wordLength)));
 
             // Removing words that don't match the hint
-            dictionaryCurrent.removeIf(word -> !matchesHint(word, hint, guess));
+            solver.apply(guess, pattern);
 
-            // At this point we removed some words based on the hint, so store the score of the current dictionary
-            ChainHashMap<String,Integer> possible_words = buildWordHashmap(dictionaryCurrent);
+            // At this point we removed some words based on the hint, so print the best words to guess next
+            printSuggestions();
+        }
 
-            // To get the best guesses, we need to sort by highest score
-            List<Entry<String, Integer>> scoreList = new ArrayList<>();
-            for (Entry<String,Integer> entry : possible_words.entrySet()) {
-                scoreList.add(entry);
-            }
-            scoreList.sort((o1, o2) -> o2.getValue().compareTo(o1.getValue()));
+        lost(target); // No guess remaining at this point. So user loses.
+    }
+
+    /**
+     * Plays against the adversary: there is no target, each hint keeps as many words possible as it
+     * can (see Absurdle). There is no limit on the guesses, you win by cornering it into one word.
+     */
+    public void playAbsurdle() {
+        resetSolver();
+        Absurdle game = new Absurdle(getPatternMatrix());
 
-            // Print best guesses list (to give user some help)
-            System.out.print("Best Guesses {" + scoreList.size() + " words} [");
-            for (int j = 0; j < possible_words.size(); j++) {
-                System.out.print(scoreList.get(j).getKey()+"="+scoreList.get(j).getValue());
-                if (j < scoreList.size() - 1) System.out.print(", ");
+        System.out.println("dict: " + dictionary);
+        while (true) {
+            String guess = getGuess();
+            int pattern = game.guess(guess);
+            if (game.isWon()) {
+                win(guess);
+                System.out.println("Guesses: " + game.turns());
+                return;
             }
-            System.out.println("]");
+
+            System.out.println("hint: " + Arrays.toString(Feedback.toHint(pattern, wordLength)));
+            solver.apply(guess, pattern); // the solver's candidates are the adversary's
+            printSuggestions();
         }
+    }
 
-        lost(target); // No guess remaining at this point. So user loses.
+    // the solver keeps the words that can still be the target and ranks the next guesses
+    private void resetSolver() {
+        if (solver == null || solver.getRankingMode() != rankingMode) solver = new BitsetSolver(tables, rankingMode);
+        solver.setHardMode(hardMode);
+        solver.reset();
     }
 
-    private static int setGreenLetters(String target, String guess, String[] hint, ChainHashMap<Character, Integer> targetFreqCount, ChainHashMap<Character, Integer> guessFreqCount) {
-        int num_green = 0;
-        for (int k = 0; k < 5; k++) { // For each letter in the user's guess, check if it matches the letter in the target in the same position
-            if (guess.charAt(k) == target.charAt(k)) {
-                hint[k] = "+";
-                num_green++;
+    private void printSuggestions() {
+        if (rankingMode == RankingMode.ENTROPY) {
+            suggestionPrinter.print(topEntropyGuesses(solver.getCandidates()));
+        } else if (rankingMode == RankingMode.LETTER_FREQUENCY) {
+            suggestionPrinter.print(topLetterFreqGuesses(solver.getCandidates(), solver.getLetterStatistics()));
+        } else { // the partition rankers only find the best guess, they don't score the others
+            int best = solver.suggestIndex();
+            suggestionPrinter.printBest(solver.remaining(), getPatternMatrix().guess(best), describeCost(best, solver.getCandidates()));
+        }
+    }
 
-                char letter = guess.charAt(k);
-                targetFreqCount.put(letter, targetFreqCount.get(letter)-1);
-                guessFreqCount.put(letter, guessFreqCount.get(letter)-1);
+    /**
+     * Returns the best candidates by letter frequency score (only the top suggestionLimit are kept).
+     */
+    public TopK<Integer> topLetterFreqGuesses(CandidateSet candidates, LetterStatistics letterStats) {
+        PatternMatrix patterns = getPatternMatrix();
+        TopK<Integer> top = new TopK<>(suggestionLimit);
+        for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+            String word = dictionary.get(i);
+            if (patterns.answerIndex(word) != i) continue; // a repeat of a word earlier in the dictionary
+            top.offer(word, letterStats.score(i));
+        }
+        return top;
+    }
+
+    /**
+     * Returns the best guesses by entropy (only the top suggestionLimit are kept). Words that can't
+     * split the candidates (0 bits) are left out, unless they are candidates themselves.
+     * In hard mode only the legal guesses are scored.
+     */
+    public TopK<Double> topEntropyGuesses(CandidateSet candidates) {
+        PatternMatrix patterns = getPatternMatrix();
+        int[] indices = new int[candidates.universe()];
+        int count = candidates.toArray(indices);
+
+        double[] entropy = new double[patterns.guessCount()];
+        HardModeConstraints hard = solver == null ? null : solver.getHardModeConstraints();
+        getEntropyRanker().scoreAll(indices, count, entropy, hard == null ? null : hard.legalGuesses());
+        TopK<Double> top = new TopK<>(suggestionLimit);
+        for (int g = 0; g < entropy.length; g++) {
+            String word = patterns.guess(g);
+            if (patterns.guessIndex(word) != g) continue; // a repeat of a word earlier in the dictionary
+            int a = patterns.answerIndexOfGuess(g);
+            if (entropy[g] > 0 || (a >= 0 && candidates.contains(a))) {
+                top.offer(word, Math.round(entropy[g] * 1000) / 1000.0); // bits, 3 decimal places
             }
         }
-        return num_green;
+        return top;
+    }
+
+    /**
+     * Describes how many candidates a guess leaves in minimax or expected size mode.
+     */
+    private String describeCost(int guess, CandidateSet candidates) {
+        int[] indices = new int[candidates.universe()];
+        int count = candidates.toArray(indices);
+        double cost = tables.getPartitionRanker().cost(rankingMode, guess, indices, count);
+        if (rankingMode == RankingMode.MINIMAX) return "at most " + (int) cost + " words left";
+        return Math.round(cost * 1000) / 1000.0 + " words left on average"; // 3 decimal places
     }
 
     private void setYellowLetters(String guess, ChainHashMap<Character, Integer> targetFreqCount, String[] hint) {
         char letter;
-        for (int k = 0; k < 5; k++) {
+        for (int k = 0; k < guess.length(); k++) {
             if (hint[k].equals("+")) continue; // if hint == "+" (green) skip it
 
             letter = guess.charAt(k);
@@ -152,40 +282,24 @@ public class Wordle {
     }
 
     public static ChainHashMap<String, Integer> buildWordHashmap(List<String> dictionaryCurrent) {
+        return buildWordHashmap(dictionaryCurrent, new LetterStatistics(dictionaryCurrent));
+    }
+
+    /**
+     * Scores each word by the sum of the frequencies of its letters, using letter counts that are
+     * already kept for the current candidates (so nothing is recounted here).
+     */
+    public static ChainHashMap<String, Integer> buildWordHashmap(List<String> dictionaryCurrent, LetterStatistics letterStats) {
         ChainHashMap<String,Integer> wordHashmap = new ChainHashMap<>();
-        ChainHashMap<Character,Integer> dictionaryLetterFreq = calculateDictionary_LetterFreq(); // get hashmap that contains all letter frequencies in dictionary
-        int sumLetterFrequency;
 
         // calculate sum of letter frequencies for current word
         for (String word : dictionaryCurrent) {
-            sumLetterFrequency = 0;
-            for (char c : word.toCharArray()) {
-                if (dictionaryLetterFreq.get(c) != null) {
-                    sumLetterFrequency += dictionaryLetterFreq.get(c);
-                }
-            }
             // assign to that particular word in wordHashmap
-            wordHashmap.put(word, sumLetterFrequency);
+            wordHashmap.put(word, letterStats.score(word));
         }
         return wordHashmap;
     }
 
-    private static ChainHashMap<Character, Integer> calculateDictionary_LetterFreq() {
-        ChainHashMap<Character,Integer> letterFreq = new ChainHashMap<>();
-
-        // add the frequency of each letter in the word to the hashmap
-        for (String word : dictionary) {
-            for (char c : word.toCharArray()) {
-                if (letterFreq.get(c) == null) { // if the character hasn't been counted before, add it now
-                    letterFreq.put(c, 1);
-                } else {
-                    letterFreq.put(c, letterFreq.get(c) + 1); // else increment frequency
-                }
-            }
-        }
-        return letterFreq;
-    }
-
     private ChainHashMap<Character, Integer> getLetterFreq(String word) {
         ChainHashMap<Character, Integer> letterFreq = new ChainHashMap<>();
 
@@ -199,29 +313,6 @@ public class Wordle {
         return letterFreq;
     }
 
-    private boolean matchesHint(String word, String[] hint, String guess) {
-        for (int i = 0; i < 5; i++) {
-            char wordLetter = word.charAt(i);
-            char guessLetter = guess.charAt(i);
-
-            switch (hint[i]) {
-                case "_" -> { // gray hint - words with a letter that is not in the hint at all
-                    if (guessLetter == wordLetter) return false;
-                }
-                case "o" -> { // yellow hint
-                    if (guessLetter == wordLetter || !word.contains(String.valueOf(guessLetter))) return false;
-                    // if the guess letter is the same as the word letter, then that word contains the letter at the wrong place
-                    // meaning that that word is not correct.
-                }
-                case "+" -> { // green hint
-                    if (guessLetter != wordLetter) return false; // if the word and the guess letter don't match
-                }
-                default -> throw new IllegalArgumentException("Unknown letter found in hint String.");
-            }
-        }
-        return true;
-    }
-
     public void lost(String target) {
         System.out.println();
         System.out.println(lostMessage + target.toUpperCase() + ".");
@@ -236,36 +327,85 @@ public class Wordle {
     }
 
     public String getGuess() {
-        Scanner myScanner = new Scanner(System.in, StandardCharsets.UTF_8.displayName());  // Create a Scanner object
+        if (input == null) input = new Scanner(System.in, StandardCharsets.UTF_8.displayName());  // Create a Scanner object (once, it buffers the input)
         System.out.println("Guess:");
 
-        String userWord = myScanner.nextLine();  // Read user input
+        String userWord = input.nextLine();  // Read user input
         userWord = userWord.toLowerCase(); // covert to lowercase
 
         // check the length of the word and if it exists
-        while ((userWord.length() != 5) || !(dictionary.contains(userWord))) {
-            if ((userWord.length() != 5)) {
-                System.out.println("The word " + userWord + " does not have 5 letters.");
-            } else {
+        // (the word is looked up in the guess trie, and in hard mode in the legal guess bitset)
+        while ((userWord.length() != wordLength) || !isLegalGuess(userWord)) {
+            if (WordQuery.isQuery(userWord)) {
+                printQuery(userWord);
+            } else if (userWord.indexOf('?') >= 0 || userWord.indexOf('.') >= 0) {
+                System.out.println("Words matching " + userWord + ": " + getMatchingWords(userWord));
+            } else if ((userWord.length() != wordLength)) {
+                System.out.println("The word " + userWord + " does not have " + wordLength + " letters.");
+            } else if (tables.getGuessTrie().index(userWord) < 0) {
                 System.out.println("The word " + userWord + " is not in the word list.");
+            } else {
+                System.out.println("Hard mode: " + solver.getHardModeConstraints().violation(userWord) + ".");
             }
             // Ask for a new word
-            System.out.println("Please enter a new 5-letter word.");
-            userWord = myScanner.nextLine();
+            System.out.println("Please enter a new " + wordLength + "-letter word.");
+            userWord = input.nextLine().toLowerCase();
         }
         return userWord;
     }
+    private void printQuery(String query) {
+        try {
+            WordQuery.Result matches = WordQuery.parse(query).run(tables);
+            System.out.println(matches.size() + " words match " + query + ": " + matches.first(QUERY_WORDS_SHOWN)
+                    + (matches.size() > QUERY_WORDS_SHOWN ? " ..." : ""));
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+
+    private boolean isLegalGuess(String word) {
+        int g = tables.getGuessTrie().index(word);
+        HardModeConstraints hard = solver == null ? null : solver.getHardModeConstraints();
+        return g >= 0 && (hard == null || hard.isLegal(g));
+    }
+
+    /**
+     * Returns the words that can be guessed matching a pattern such as c?a?e (? or . for any letter),
+     * in alphabetical order. Nothing matches a pattern with other characters.
+     */
+    public List<String> getMatchingWords(String pattern) {
+        List<String> words = new ArrayList<>();
+        for (int k = 0; k < pattern.length(); k++) {
+            char c = pattern.charAt(k);
+            if (c != '?' && c != '.' && (c < 'a' || c > 'z')) return words;
+        }
+        tables.getGuessTrie().forEachMatch(pattern, g -> words.add(tables.getGuesses().get(g)));
+        return words;
+    }
+
     public String getRandomTargetWord() {
         // generate random values from 0 to dictionary size
         return dictionary.get(rand.nextInt(dictionary.size()));
     }
     public List<String> readDictionary(String fileName) {
+        long start = SolverMetrics.ENABLED ? System.nanoTime() : 0;
+        List<String> words = readWords(fileName);
+        if (SolverMetrics.ENABLED) SolverMetrics.GLOBAL.recordDictionaryLoad(System.nanoTime() - start);
+        return words;
+    }
+
+    private List<String> readWords(String fileName) {
         List<String> wordList = new ArrayList<>();
 
         try {
+            // Binary dictionaries (see DictionaryCompiler) are memory-mapped instead of read line by line
+            if (fileName.endsWith(MappedDictionary.EXTENSION)) {
+                return MappedDictionary.open(resolveFile(fileName)).asList();
+            }
+
             // Open and read the dictionary file
             InputStream in = this.getClass().getClassLoader().getResourceAsStream(fileName);
-            assert in != null;
+            if (in == null) in = Files.newInputStream(Path.of(fileName)); // not on the classpath, try it as a file
             BufferedReader reader = new BufferedReader(new InputStreamReader(in));
             String strLine;
 
@@ -279,17 +419,103 @@ public class Wordle {
         } catch (Exception e) {//Catch exception if any
             System.err.println("Error: " + e.getMessage());
         }
-        return wordList;
+        return List.copyOf(wordList); // read only, so it can be shared between games
+    }
+
+    // Finds a dictionary file on the classpath (if it is a plain file there) or else on the file system
+    private Path resolveFile(String fileName) throws URISyntaxException {
+        URL url = this.getClass().getClassLoader().getResource(fileName);
+        if (url != null && url.getProtocol().equals("file")) return Path.of(url.toURI());
+        return Path.of(fileName);
     }
 
     public String[] getHints(String target, String guess) {
-        String [] hint = {"_", "_", "_", "_", "_"};
+        return Feedback.toHint(getPattern(target, guess), guess.length());
+    }
+
+    /**
+     * Returns the hint for a guess as a pattern code (see Feedback). Words from the dictionary
+     * are looked up in the precomputed pattern matrix, anything else is computed directly.
+     */
+    public int getPattern(String target, String guess) {
+        int pattern = getPatternMatrix().get(guess, target);
+        return pattern >= 0 ? pattern : Feedback.compute(guess, target);
+    }
+
+    /**
+     * Returns the guess x answer pattern matrix for the dictionary, building it on first use.
+     */
+    public PatternMatrix getPatternMatrix() {
+        return tables.getPatternMatrix();
+    }
+
+    /**
+     * Returns the bitset index used to filter the dictionary by hints, building it on first use.
+     */
+    public ConstraintIndex getConstraintIndex() {
+        return tables.getConstraintIndex();
+    }
+
+    /**
+     * Returns the letter counts over the whole dictionary, building them on first use.
+     * Copy them before removing words.
+     */
+    public LetterStatistics getLetterStatistics() {
+        return tables.getLetterStatistics();
+    }
+
+    /**
+     * Returns the dictionary words whose indices are in the candidate set.
+     */
+    public List<String> getWords(CandidateSet candidates) {
+        List<String> words = new ArrayList<>(candidates.size());
+        for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+            words.add(dictionary.get(i));
+        }
+        return words;
+    }
+
+    public EntropyRanker getEntropyRanker() {
+        return tables.getEntropyRanker();
+    }
+
+    /**
+     * Returns the read-only tables for the dictionary, to share with other solvers.
+     */
+    public SolverTables getSolverTables() {
+        return tables;
+    }
+
+    /**
+     * Sets how many suggestions are printed after each guess (0 for all of them), and how many
+     * per page (0 to print them all on one line).
+     */
+    public void setSuggestionOutput(int limit, int pageSize) {
+        this.suggestionLimit = limit;
+        this.suggestionPrinter = new SuggestionPrinter(pageSize);
+    }
+
+    /**
+     * Turns hard mode on or off for the next game.
+     */
+    public void setHardMode(boolean hardMode) {
+        this.hardMode = hardMode;
+    }
+
+    public void setRankingMode(RankingMode rankingMode) {
+        this.rankingMode = rankingMode;
+    }
+
+    // Original hint computation (letter frequency hashmaps), kept as a reference for the pattern matrix
+    String[] getHintsByLetterFreq(String target, String guess) {
+        String [] hint = new String[target.length()];
+        Arrays.fill(hint, "_");
         // hashmap for frequency of each letter in the target
         ChainHashMap<Character,Integer> targetFreqCount = getLetterFreq(target);
         ChainHashMap<Character,Integer> guessFreqCount = getLetterFreq(guess);
 
         // set the arrays for green
-        for (int k = 0; k < 5; k++) {
+        for (int k = 0; k < target.length(); k++) {
             if (guess.charAt(k) == target.charAt(k)) {
                 hint[k] = "+";
                 char letter = guess.charAt(k);
@@ -304,6 +530,10 @@ public class Wordle {
         return hint;
     }
 
+    public int getWordLength() {
+        return wordLength;
+    }
+
     public List<String> getDictionary() {
         return dictionary;
     }
@@ -0,0 +1,175 @@
+package project20280.wordle;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/*
+ * Headless benchmark: plays every word of a dictionary as the target, always guessing the
+ * solver's top suggestion, and reports throughput, per-turn latency and how many guesses it took.
+ *
+ * Usage (all arguments optional):
+ *   java project20280.wordle.WordleBenchmark --dictionary=project20280/wordle/resources/extended-dictionary.txt
+ *        --mode=entropy --threads=1,2,4,8 --out=benchmark.json
+ *
+ * With --guesses=<file> the dictionary is only the targets, and the words in the file can be guessed
+ * too. With --priors=<file> the targets are weighted by how likely they are (see Priors) when ranking.
+ *
+ * With --tree=<file> (see DecisionTree) the guesses are looked up in a precomputed decision tree
+ * instead of being ranked each turn.
+ *
+ * A game counts as a failure if it is not won within the normal 6 guesses; it is still played on
+ * (up to --max-turns) so the guess distribution shows how far off it was.
+ * With --length=N the N-letter words of a mixed-length dictionary are played (see WordBank); this
+ * can't be combined with --guesses or --priors yet.
+ * With --matrix=off-heap or --matrix=<file> the pattern matrix is kept off the heap, and with
+ * --matrix=lazy:<megabytes> its rows are computed as needed into a cache of that size (see PatternStorage).
+ * The results are printed and also written as JSON to the --out file, with a checksum of every
+ * guess played so two runs can be compared.
+ *
+ * The games are played by a ParallelEvaluator. Given a list of thread counts (--threads=1,2,4,8) it
+ * plays every game once to warm up, then once at each count, and prints the speedup and scaling
+ * efficiency at each one (relative to the first). It stops if any run played different guesses
+ * from the first; the JSON is for the last run.
+ */
+
+public class WordleBenchmark {
+    static final String DEFAULT_DICTIONARY = "project20280/wordle/resources/dictionary.txt";
+    static final int NUM_GUESSES = 6; // same as Wordle.num_guesses
+
+    private WordleBenchmark() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        String dictionary = DEFAULT_DICTIONARY, guesses = null, priors = null;
+        RankingMode mode = RankingMode.ENTROPY;
+        int cores = Runtime.getRuntime().availableProcessors();
+        int[] threads = {cores};
+        int maxTurns = 20;
+        int length = 0;
+        Path out = Path.of("benchmark-result.json");
+        Path treeFile = null;
+        PatternStorage storage = PatternStorage.heap();
+
+        for (String arg : args) {
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (arg.startsWith("--dictionary=")) dictionary = value;
+            else if (arg.startsWith("--guesses=")) guesses = value;
+            else if (arg.startsWith("--priors=")) priors = value;
+            else if (arg.startsWith("--mode=")) mode = RankingMode.valueOf(value.toUpperCase());
+            else if (arg.startsWith("--threads=")) threads = Arrays.stream(value.split(",")).mapToInt(Integer::parseInt).toArray();
+            else if (arg.startsWith("--max-turns=")) maxTurns = Integer.parseInt(value);
+            else if (arg.startsWith("--length=")) length = Integer.parseInt(value);
+            else if (arg.startsWith("--out=")) out = Path.of(value);
+            else if (arg.startsWith("--tree=")) treeFile = Path.of(value);
+            else if (arg.startsWith("--matrix=")) storage = PatternStorage.parse(value);
+            else throw new IllegalArgumentException("Unknown argument: " + arg);
+        }
+
+        if (length != 0 && (guesses != null || priors != null)) {
+            throw new IllegalArgumentException("--guesses and --priors can't be used with --length yet");
+        }
+
+        long setupStart = System.nanoTime();
+        Wordle wordle = length == 0 ? new Wordle(dictionary, guesses, priors, storage) : new Wordle(dictionary, length, storage);
+        SolverTables tables = wordle.getSolverTables();
+        DecisionTree tree = null;
+        if (treeFile != null) {
+            tree = DecisionTree.load(treeFile, tables.getPatternMatrix());
+            mode = RankingMode.ENTROPY; // trees are built by entropy ranking
+        }
+        ParallelEvaluator evaluator = new ParallelEvaluator(tables, mode, maxTurns, tree);
+        long setupNanos = System.nanoTime() - setupStart;
+
+        ParallelEvaluator.Result result;
+        List<ParallelEvaluator.Result> scaling = new ArrayList<>();
+        if (threads.length == 1) {
+            result = evaluator.run(threads[0]);
+        } else {
+            evaluator.run(threads[0]); // warm up (and the opening guess is ranked once, then cached)
+            System.out.printf("%d targets, %s, %d cores%n", tables.getWords().size(), mode, cores);
+            System.out.println("threads   seconds   speedup   efficiency   mean guesses   checksum");
+            for (int n : threads) {
+                ParallelEvaluator.Result run = evaluator.run(n);
+                if (!scaling.isEmpty() && !run.sameGames(scaling.get(0))) {
+                    throw new IllegalStateException("Results with " + n + " threads differ from those with " + threads[0]);
+                }
+                scaling.add(run);
+                int k = scaling.size() - 1;
+                System.out.printf(Locale.ROOT, "%7d %9.2f %9.2f %11.0f%% %14.4f   %016x%n", n, run.elapsedNanos() / 1e9,
+                        speedup(scaling, k), 100 * efficiency(scaling, threads, k), run.meanGuesses(), run.checksum());
+            }
+            if (cores < Arrays.stream(threads).max().getAsInt()) {
+                System.out.println("(more threads than the " + cores + " cores, so the larger runs can't scale)");
+            }
+            result = scaling.get(scaling.size() - 1);
+        }
+
+        String json = toJson(result, dictionary, mode, tree != null, threads, scaling, setupNanos);
+        System.out.println(json);
+        Files.writeString(out, json, StandardCharsets.UTF_8);
+        System.out.println("Results written to " + out.toAbsolutePath());
+    }
+
+    /**
+     * Returns how many times faster run k of a scaling report was than the first run.
+     */
+    private static double speedup(List<ParallelEvaluator.Result> scaling, int k) {
+        return (double) scaling.get(0).elapsedNanos() / scaling.get(k).elapsedNanos();
+    }
+
+    /**
+     * Returns the speedup of run k per thread added, relative to the first run (1 = perfect scaling).
+     */
+    private static double efficiency(List<ParallelEvaluator.Result> scaling, int[] threads, int k) {
+        return speedup(scaling, k) * threads[0] / threads[k];
+    }
+
+    static String toJson(ParallelEvaluator.Result result, String dictionary, RankingMode mode, boolean decisionTree,
+                         int[] threads, List<ParallelEvaluator.Result> scaling, long setupNanos) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\n");
+        sb.append("  \"dictionary\": \"").append(dictionary).append("\",\n");
+        sb.append("  \"mode\": \"").append(mode).append("\",\n");
+        sb.append("  \"decisionTree\": ").append(decisionTree).append(",\n");
+        sb.append("  \"threads\": ").append(threads[threads.length - 1]).append(",\n");
+        sb.append("  \"games\": ").append(result.games()).append(",\n");
+        sb.append("  \"setupMillis\": ").append(format(setupNanos / 1e6)).append(",\n");
+        sb.append("  \"elapsedMillis\": ").append(format(result.elapsedNanos() / 1e6)).append(",\n");
+        sb.append("  \"gamesPerSecond\": ").append(format(result.gamesPerSecond())).append(",\n");
+        sb.append("  \"turns\": ").append(result.turns()).append(",\n");
+        sb.append("  \"meanTurnMicros\": ").append(format(result.meanTurnMicros())).append(",\n");
+        sb.append("  \"p99TurnMicros\": ").append(format(result.p99TurnMicros())).append(",\n");
+        sb.append("  \"meanGuesses\": ").append(format(result.meanGuesses())).append(",\n");
+        sb.append("  \"failures\": ").append(result.failures()).append(",\n");
+        sb.append("  \"failureRate\": ").append(format((double) result.failures() / result.games())).append(",\n");
+        sb.append("  \"guessDistribution\": {");
+        for (int k = 1; k <= result.maxGuesses(); k++) {
+            sb.append(k > 1 ? ", " : "").append('"').append(k).append("\": ").append(result.wonIn(k));
+        }
+        sb.append("},\n");
+        sb.append("  \"unsolved\": ").append(result.unsolved()).append(",\n");
+        if (!scaling.isEmpty()) {
+            sb.append("  \"scaling\": [");
+            for (int k = 0; k < scaling.size(); k++) {
+                sb.append(k > 0 ? ", " : "").append("{\"threads\": ").append(threads[k])
+                        .append(", \"elapsedMillis\": ").append(format(scaling.get(k).elapsedNanos() / 1e6))
+                        .append(", \"speedup\": ").append(format(speedup(scaling, k)))
+                        .append(", \"efficiency\": ").append(format(efficiency(scaling, threads, k))).append('}');
+            }
+            sb.append("],\n");
+        }
+        sb.append("  \"checksum\": \"").append(String.format("%016x", result.checksum())).append("\"\n");
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+}
@@ -0,0 +1,243 @@
+package project20280.wordle;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/*
+ * Load generator for WordleServer: starts many games at once, each on its own virtual thread,
+ * and plays them all to the end by always guessing the server's suggestion.
+ *
+ * The games are spread over a few connections (the protocol is multiplexed, see WordleServer),
+ * so 10000 concurrent games don't need 10000 sockets. Every request is timed from sending it to
+ * getting its reply, and the report gives the sessions per second and the latency percentiles.
+ *
+ * Usage (all arguments optional):
+ *   java project20280.wordle.WordleLoadGenerator --host=localhost --port=7777 --sessions=10000 --connections=8
+ *   java project20280.wordle.WordleLoadGenerator --local --dictionary=... --mode=entropy
+ * With --local the server is started in this JVM on a free port.
+ */
+
+public class WordleLoadGenerator {
+    private final String host;
+    private final int port;
+    private final int connections;
+
+    public WordleLoadGenerator(String host, int port, int connections) {
+        this.host = host;
+        this.port = port;
+        this.connections = connections;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        String host = "localhost";
+        int port = WordleServer.DEFAULT_PORT;
+        int sessions = 10000;
+        int connections = 8;
+        boolean local = false;
+        String dictionary = WordleBenchmark.DEFAULT_DICTIONARY;
+        RankingMode mode = RankingMode.ENTROPY;
+
+        for (String arg : args) {
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (arg.startsWith("--host=")) host = value;
+            else if (arg.startsWith("--port=")) port = Integer.parseInt(value);
+            else if (arg.startsWith("--sessions=")) sessions = Integer.parseInt(value);
+            else if (arg.startsWith("--connections=")) connections = Integer.parseInt(value);
+            else if (arg.equals("--local")) local = true;
+            else if (arg.startsWith("--dictionary=")) dictionary = value;
+            else if (arg.startsWith("--mode=")) mode = RankingMode.valueOf(value.toUpperCase());
+            else throw new IllegalArgumentException("Unknown argument: " + arg);
+        }
+
+        if (!local) {
+            System.out.println(new WordleLoadGenerator(host, port, connections).run(sessions));
+            return;
+        }
+        WordleServer server = new WordleServer(new Wordle(dictionary).getSolverTables(), mode, WordleBenchmark.NUM_GUESSES);
+        Thread serverThread;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            serverThread = Thread.ofVirtual().start(() -> {
+                try {
+                    server.serve(socket);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            System.out.println(new WordleLoadGenerator("localhost", socket.getLocalPort(), connections).run(sessions));
+        } // closing the socket stops the server
+        serverThread.join();
+    }
+
+    /**
+     * Plays the given number of games at the same time and waits for all of them to finish.
+     */
+    public Result run(int sessions) throws IOException, InterruptedException {
+        Client[] clients = new Client[connections];
+        for (int c = 0; c < connections; c++) clients[c] = new Client(new Socket(host, port));
+
+        long[][] latencies = new long[sessions][];
+        int[] guesses = new int[sessions]; // per session: guesses needed, negative if lost, 0 on error
+        long start = System.nanoTime();
+        try (ExecutorService games = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int s = 0; s < sessions; s++) {
+                int session = s;
+                games.submit(() -> {
+                    long[] nanos = new long[2 * WordleBenchmark.NUM_GUESSES + 2];
+                    guesses[session] = play(clients[session % connections], "s" + session, nanos);
+                    latencies[session] = nanos;
+                    return null;
+                });
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        for (Client client : clients) client.close();
+
+        return new Result(guesses, latencies, elapsed);
+    }
+
+    // plays one game, filling nanos with the round trip time of each request (0 after the last one)
+    private static int play(Client client, String id, long[] nanos) throws IOException, InterruptedException {
+        int n = 0;
+        try {
+            if (!client.request(id, "NEW", nanos, n++).startsWith("OK")) return 0;
+            while (n + 2 < nanos.length) {
+                String[] suggestion = client.request(id, "SUGGEST", nanos, n++).split(" ");
+                if (!suggestion[0].equals("SUGGEST")) return 0;
+                String[] reply = client.request(id, "GUESS " + suggestion[1], nanos, n++).split(" ");
+                switch (reply[0]) {
+                    case "WON":
+                        return Integer.parseInt(reply[1]);
+                    case "LOST":
+                        return -WordleBenchmark.NUM_GUESSES;
+                    case "HINT":
+                        break;
+                    default:
+                        return 0;
+                }
+            }
+            return 0;
+        } finally {
+            client.request(id, "QUIT", nanos, n);
+        }
+    }
+
+    // One connection, shared by many sessions. A reader thread hands each reply to its session.
+    private static class Client {
+        private final Socket socket;
+        private final BufferedWriter out;
+        private final ConcurrentHashMap<String, BlockingQueue<String>> replies = new ConcurrentHashMap<>();
+        private final Thread reader;
+
+        Client(Socket socket) throws IOException {
+            this.socket = socket;
+            this.out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            this.reader = Thread.ofVirtual().start(() -> {
+                try {
+                    String line;
+                    while ((line = in.readLine()) != null) {
+                        int space = line.indexOf(' ');
+                        BlockingQueue<String> queue = replies.get(line.substring(0, space));
+                        if (queue != null) queue.add(line.substring(space + 1));
+                    }
+                } catch (IOException e) {
+                    // the connection was closed
+                }
+            });
+        }
+
+        // sends one request and waits for its reply, timing the round trip into nanos[slot]
+        String request(String id, String request, long[] nanos, int slot) throws IOException, InterruptedException {
+            BlockingQueue<String> queue = replies.computeIfAbsent(id, k -> new LinkedBlockingQueue<>());
+            long start = System.nanoTime();
+            synchronized (out) {
+                out.write(id + " " + request);
+                out.newLine();
+                out.flush();
+            }
+            String reply = queue.take();
+            nanos[slot] = System.nanoTime() - start;
+            if (request.equals("QUIT")) replies.remove(id);
+            return reply;
+        }
+
+        void close() throws IOException, InterruptedException {
+            socket.shutdownOutput(); // the server ends the connection when its input ends
+            reader.join();
+            socket.close();
+        }
+    }
+
+    /**
+     * Aggregated results of a load run.
+     */
+    public static class Result {
+        final int sessions;
+        final int won;
+        final int lost;
+        final int errors;
+        final long requests;
+        final long elapsedNanos;
+        final long[] sortedLatencies; // round trip of every request, in nanoseconds
+
+        Result(int[] guesses, long[][] latencies, long elapsedNanos) {
+            this.sessions = guesses.length;
+            this.elapsedNanos = elapsedNanos;
+            int won = 0, lost = 0;
+            for (int g : guesses) {
+                if (g > 0) won++;
+                else if (g < 0) lost++;
+            }
+            this.won = won;
+            this.lost = lost;
+            this.errors = sessions - won - lost;
+
+            int count = 0;
+            long[] all = new long[sessions * (2 * WordleBenchmark.NUM_GUESSES + 2)];
+            for (long[] nanos : latencies) {
+                if (nanos == null) continue;
+                for (long t : nanos) if (t > 0) all[count++] = t;
+            }
+            this.requests = count;
+            this.sortedLatencies = Arrays.copyOf(all, count);
+            Arrays.sort(sortedLatencies);
+        }
+
+        double sessionsPerSecond() {
+            return sessions / (elapsedNanos / 1e9);
+        }
+
+        /**
+         * Returns the latency percentile (0-100) in microseconds.
+         */
+        double percentileMicros(double percentile) {
+            if (sortedLatencies.length == 0) return 0;
+            int i = (int) Math.ceil(sortedLatencies.length * percentile / 100) - 1;
+            return sortedLatencies[Math.max(0, Math.min(i, sortedLatencies.length - 1))] / 1000.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT,
+                    "Sessions: %d (won %d, lost %d, errors %d) in %.3f s%n" +
+                    "Sessions/s: %.1f%n" +
+                    "Requests: %d, latency (us) p50 %.1f, p90 %.1f, p99 %.1f, p99.9 %.1f, max %.1f",
+                    sessions, won, lost, errors, elapsedNanos / 1e9, sessionsPerSecond(), requests,
+                    percentileMicros(50), percentileMicros(90), percentileMicros(99), percentileMicros(99.9), percentileMicros(100));
+        }
+    }
+}
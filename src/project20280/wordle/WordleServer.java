@@ -0,0 +1,266 @@
+package project20280.wordle;
+
+import project20280.hashtable.ChainHashMap;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+
+/*
+ * Game server: hosts any number of Wordle games at once, each one on its own virtual thread.
+ *
+ * All games share one read-only dictionary and one SolverTables (pattern matrix, index, ...).
+ * A game only holds its target, its turn count and a BitsetSolver, which is a candidate bitset of
+ * one bit per dictionary word.
+ *
+ * The protocol is line based and multiplexed: every line starts with a session id picked by the
+ * client, so one connection can carry many games. Requests for different sessions can be
+ * interleaved, and the replies for each session come back in order:
+ *   <id> NEW [target]   ->  <id> OK <number of words>          (a random target if none is given)
+ *   <id> SUGGEST        ->  <id> SUGGEST <word> <remaining candidates>
+ *   <id> GUESS <word>   ->  <id> HINT <hint> <remaining>  or  <id> WON <guesses>  or  <id> LOST <target>
+ *   <id> QUIT           ->  <id> BYE
+ * Anything else is answered with <id> ERROR <message>. The hint is written as in the game, e.g. +o__o.
+ * An id can be used again after QUIT: the new session only starts once the old one has sent its BYE.
+ *
+ * Usage:
+ *   java project20280.wordle.WordleServer --port=7777 --dictionary=... --mode=entropy
+ *   java project20280.wordle.WordleServer --stdin    (a single connection on standard input/output)
+ * With --length=N the games use the N-letter words of a mixed-length dictionary (see WordBank).
+ * With --matrix=off-heap the pattern matrix is kept outside the heap, and with --matrix=<file> it
+ * is mapped from a cache file that any number of servers on the host can share (see PatternStorage).
+ * With --matrix=lazy:<megabytes> only the rows in use are computed and kept, up to that size.
+ */
+
+public class WordleServer {
+    static final int DEFAULT_PORT = 7777;
+
+    private final SolverTables tables;
+    private final PatternMatrix patterns;
+    private final RankingMode mode;
+    private final int numGuesses;
+
+    public WordleServer(SolverTables tables, RankingMode mode, int numGuesses) {
+        this.tables = tables;
+        this.patterns = tables.getPatternMatrix();
+        this.mode = mode;
+        this.numGuesses = numGuesses;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        String dictionary = WordleBenchmark.DEFAULT_DICTIONARY;
+        RankingMode mode = RankingMode.ENTROPY;
+        int port = DEFAULT_PORT;
+        int length = 0;
+        boolean stdin = false;
+        PatternStorage storage = PatternStorage.heap();
+
+        for (String arg : args) {
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (arg.startsWith("--dictionary=")) dictionary = value;
+            else if (arg.startsWith("--mode=")) mode = RankingMode.valueOf(value.toUpperCase());
+            else if (arg.startsWith("--port=")) port = Integer.parseInt(value);
+            else if (arg.startsWith("--length=")) length = Integer.parseInt(value);
+            else if (arg.equals("--stdin")) stdin = true;
+            else if (arg.startsWith("--matrix=")) storage = PatternStorage.parse(value);
+            else throw new IllegalArgumentException("Unknown argument: " + arg);
+        }
+
+        Wordle wordle = length == 0 ? new Wordle(dictionary, null, null, storage) : new Wordle(dictionary, length, storage);
+        WordleServer server = new WordleServer(wordle.getSolverTables(), mode, WordleBenchmark.NUM_GUESSES);
+        if (stdin) {
+            server.serve(new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8)),
+                    new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+        } else {
+            try (ServerSocket socket = new ServerSocket(port)) {
+                System.out.println("Listening on port " + socket.getLocalPort());
+                server.serve(socket);
+            }
+        }
+    }
+
+    /**
+     * Accepts connections until the socket is closed, serving each one on a virtual thread.
+     */
+    public void serve(ServerSocket socket) throws IOException {
+        try (ExecutorService connections = Executors.newVirtualThreadPerTaskExecutor()) {
+            while (true) {
+                Socket client;
+                try {
+                    client = socket.accept();
+                } catch (SocketException e) {
+                    return; // the socket was closed, close() waits for the open connections
+                }
+                connections.submit(() -> {
+                    try (client) {
+                        serve(new BufferedReader(new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8)),
+                                new OutputStreamWriter(client.getOutputStream(), StandardCharsets.UTF_8));
+                    }
+                    return null;
+                });
+            }
+        }
+    }
+
+    /**
+     * Serves one connection. Returns when the input ends and every game on it has finished.
+     */
+    public void serve(BufferedReader in, Writer out) throws IOException {
+        Connection connection = new Connection(out);
+        ChainHashMap<String, Session> sessions = new ChainHashMap<>(); // sessions still running, only used by this thread
+        ConcurrentLinkedQueue<Session> finished = new ConcurrentLinkedQueue<>(); // to be taken out of the map
+
+        try (ExecutorService games = Executors.newVirtualThreadPerTaskExecutor()) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty()) continue;
+                int space = line.indexOf(' ');
+                String id = space < 0 ? line : line.substring(0, space);
+                String request = space < 0 ? "" : line.substring(space + 1).trim();
+
+                for (Session done; (done = finished.poll()) != null; ) {
+                    if (sessions.get(done.id) == done) sessions.remove(done.id);
+                }
+                Session session = sessions.get(id);
+                if (session == null || session.quitting) {
+                    // a reused id waits for the session it replaces, so its replies come after the BYE
+                    session = new Session(id, connection, session, finished);
+                    sessions.put(id, session);
+                    games.submit(session);
+                }
+                session.requests.add(request);
+                if (request.equalsIgnoreCase("QUIT")) session.quitting = true;
+            }
+            for (Session session : sessions.values()) {
+                if (!session.quitting) session.requests.add("QUIT"); // the client has gone
+            }
+        } // waits for the games to finish
+    }
+
+    // The replies of every session on a connection, written one line at a time
+    private static class Connection {
+        private final BufferedWriter out;
+        private boolean closed = false;
+
+        Connection(Writer out) {
+            this.out = new BufferedWriter(out);
+        }
+
+        synchronized void send(String line) {
+            if (closed) return;
+            try {
+                out.write(line);
+                out.newLine();
+                out.flush();
+            } catch (IOException e) {
+                closed = true; // the client has gone, drop the rest of the replies
+            }
+        }
+    }
+
+    // One game, run on its own virtual thread. It takes the requests for its id in order.
+    private class Session implements Runnable {
+        final String id;
+        final Connection connection;
+        final LinkedBlockingQueue<String> requests = new LinkedBlockingQueue<>();
+        final CountDownLatch done = new CountDownLatch(1);
+        final ConcurrentLinkedQueue<Session> finished;
+        Session previous;           // the session this one replaces (same id), until it has finished
+        boolean quitting = false;   // QUIT has been queued (only used by the connection's thread)
+        BitsetSolver solver = null; // created by the first NEW, then reset for each game
+        int target = -1;            // answer index, -1 if there is no game in progress
+        int turns = 0;
+
+        Session(String id, Connection connection, Session previous, ConcurrentLinkedQueue<Session> finished) {
+            this.id = id;
+            this.connection = connection;
+            this.previous = previous;
+            this.finished = finished;
+        }
+
+        @Override
+        public void run() {
+            try {
+                if (previous != null) {
+                    previous.done.await();
+                    previous = null;
+                }
+                while (true) {
+                    String request = requests.take();
+                    boolean quit = request.equalsIgnoreCase("QUIT");
+                    connection.send(id + " " + (quit ? "BYE" : handle(request)));
+                    if (quit) return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                done.countDown();
+                finished.add(this);
+            }
+        }
+
+        String handle(String request) {
+            String[] args = request.split(" +");
+            try {
+                switch (args[0].toUpperCase()) {
+                    case "NEW":
+                        return newGame(args.length > 1 ? args[1].toLowerCase() : null);
+                    case "SUGGEST":
+                        if (target < 0) return "ERROR No game in progress, send NEW first.";
+                        return "SUGGEST " + solver.suggest() + " " + solver.remaining();
+                    case "GUESS":
+                        if (args.length < 2) return "ERROR GUESS needs a word.";
+                        return guess(args[1].toLowerCase());
+                    default:
+                        return "ERROR Unknown request: " + request;
+                }
+            } catch (RuntimeException e) { // the client always gets a reply, whatever went wrong
+                return "ERROR " + (e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+            }
+        }
+
+        String newGame(String word) {
+            int answer = word == null ? ThreadLocalRandom.current().nextInt(patterns.answerCount()) : patterns.answerIndex(word);
+            if (answer < 0) return "ERROR The word " + word + " is not in the word list.";
+            if (solver == null) solver = new BitsetSolver(tables, mode);
+            solver.reset();
+            target = answer;
+            turns = 0;
+            return "OK " + patterns.answerCount();
+        }
+
+        String guess(String word) {
+            if (target < 0) return "ERROR No game in progress, send NEW first.";
+            int guess = patterns.guessIndex(word);
+            if (guess < 0) return "ERROR The word " + word + " is not in the word list.";
+
+            int pattern = patterns.get(guess, target);
+            turns++;
+            if (pattern == patterns.allGreen()) {
+                target = -1;
+                return "WON " + turns;
+            }
+            solver.apply(guess, pattern);
+            if (turns >= numGuesses) {
+                String answer = patterns.answer(target);
+                target = -1;
+                return "LOST " + answer;
+            }
+            return "HINT " + Feedback.toString(pattern, patterns.wordLength()) + " " + solver.remaining();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package project20280.wordle;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WordleServerTest {
+
+    // runs the requests as one connection, returns the replies of one session in order
+    private static List<String> replies(WordleServer server, String requests, String id) throws Exception {
+        StringWriter out = new StringWriter();
+        server.serve(new BufferedReader(new StringReader(requests)), out);
+        List<String> replies = new ArrayList<>();
+        for (String line : out.toString().split("\\R")) {
+            if (line.startsWith(id + " ")) replies.add(line.substring(id.length() + 1));
+        }
+        return replies;
+    }
+
+    @Test
+    void testProtocol() throws Exception {
+        Wordle wordle = new Wordle();
+        WordleServer server = new WordleServer(wordle.getSolverTables(), RankingMode.ENTROPY, 6);
+        long sameHint = wordle.getDictionary().stream()
+                .filter(w -> Feedback.compute("lobby", w) == Feedback.compute("lobby", "kayak")).count();
+        String requests = String.join("\n",
+                "a NEW lobby", "b NEW kayak", "a SUGGEST", "b GUESS lobby", "a GUESS lobby",
+                "b GUESS zzzzz", "c SUGGEST", "b GUESS", "b QUIT", "d NEW notaword", "e FLY");
+
+        assertEquals(List.of("OK 2310", "SUGGEST raise 2310", "WON 1", "BYE"), replies(server, requests, "a"));
+        assertEquals(List.of("OK 2310", "HINT ____o " + sameHint, "ERROR The word zzzzz is not in the word list.",
+                "ERROR GUESS needs a word.", "BYE"), replies(server, requests, "b"));
+        assertEquals(List.of("ERROR No game in progress, send NEW first.", "BYE"), replies(server, requests, "c"));
+        assertEquals("ERROR The word notaword is not in the word list.", replies(server, requests, "d").get(0));
+        assertEquals("ERROR Unknown request: FLY", replies(server, requests, "e").get(0));
+    }
+
+    @Test
+    void testLostGame() throws Exception {
+        WordleServer server = new WordleServer(new Wordle().getSolverTables(), RankingMode.ENTROPY, 2);
+        List<String> replies = replies(server, "x NEW lobby\nx GUESS kayak\nx GUESS fungi\nx GUESS lobby", "x");
+        assertEquals("LOST lobby", replies.get(2));
+        assertTrue(replies.get(3).startsWith("ERROR"));
+    }
+
+    @Test
+    void testConcurrentSessions() throws Exception {
+        // many games at once over a few connections, sharing one set of tables
+        WordleServer server = new WordleServer(new Wordle().getSolverTables(), RankingMode.ENTROPY, 6);
+        Thread serverThread;
+        WordleLoadGenerator.Result result;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            serverThread = Thread.ofVirtual().start(() -> {
+                try {
+                    server.serve(socket);
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            result = new WordleLoadGenerator("localhost", socket.getLocalPort(), 3).run(300);
+        } // closing the socket stops the server
+        serverThread.join();
+
+        assertEquals(300, result.sessions);
+        assertEquals(0, result.errors);
+        assertEquals(300, result.won + result.lost);
+        assertTrue(result.percentileMicros(50) <= result.percentileMicros(99));
+    }
+
+    @Test
+    void testReusedId() throws Exception {
+        // a NEW right after QUIT with the same id starts a new game, after the old one's BYE
+        WordleServer server = new WordleServer(new Wordle().getSolverTables(), RankingMode.ENTROPY, 6);
+        StringBuilder requests = new StringBuilder();
+        // (the old session still has a ranking to do when the new NEW arrives)
+        for (int i = 0; i < 50; i++) requests.append("r NEW lobby\nr GUESS kayak\nr SUGGEST\nr QUIT\nr NEW kayak\nr GUESS kayak\nr QUIT\n");
+        List<String> replies = replies(server, requests.toString(), "r");
+        List<String> first = replies(server, "r NEW lobby\nr GUESS kayak\nr SUGGEST", "r");
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 50; i++) expected.addAll(List.of("OK 2310", first.get(1), first.get(2), "BYE", "OK 2310", "WON 1", "BYE"));
+        assertEquals(expected, replies);
+    }
+
+    @Test
+    void testUnexpectedError() throws Exception {
+        // any exception while handling a request is answered with ERROR, and the session goes on
+        SolverTables broken = new SolverTables(new Wordle().getDictionary()) {
+            @Override
+            public synchronized ConstraintIndex getConstraintIndex() {
+                throw new UnsupportedOperationException("no index");
+            }
+        };
+        WordleServer server = new WordleServer(broken, RankingMode.ENTROPY, 6);
+        assertEquals(List.of("ERROR no index", "ERROR no index", "BYE"), replies(server, "x NEW lobby\nx NEW lobby\nx QUIT", "x"));
+    }
+}
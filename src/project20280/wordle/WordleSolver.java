@@ -0,0 +1,44 @@
+package project20280.wordle;
+
+/*
+ * A Wordle solver that can be embedded anywhere: it does no I/O, it only suggests guesses and
+ * takes the hints back.
+ *
+ * A game goes suggest() -> play the guess -> apply(guess, hint) -> suggest() ... until the hint is
+ * all green. reset() starts a new game on the same solver, reusing its state.
+ */
+
+public interface WordleSolver {
+
+    /**
+     * Returns the guess this solver would play next.
+     *
+     * @throws IllegalStateException if no word in the dictionary matches the hints so far
+     */
+    String suggest();
+
+    /**
+     * Narrows the candidates with the hint given for a guess.
+     *
+     * @param guess    the word that was guessed (not necessarily the suggested one)
+     * @param feedback the hint as a pattern code (see Feedback)
+     */
+    void apply(String guess, int feedback);
+
+    /**
+     * Same as {@link #apply(String, int)} with the hint as +, o and _ strings.
+     */
+    default void apply(String guess, String[] hint) {
+        apply(guess, Feedback.fromHint(hint));
+    }
+
+    /**
+     * Forgets all hints, so the next suggestion is the opening guess again.
+     */
+    void reset();
+
+    /**
+     * Returns the number of dictionary words that still match every hint.
+     */
+    int remaining();
+}